@@ -50,17 +50,15 @@ public enum Key {
      * @return the value in map at KEY cast to {@link T}.
      * @param <T> The {@link Class} that is expected to be returned.
      */
+    @SuppressWarnings("unchecked")
     public <T> T getVal(Map<Key, Object> map, Class<T> type) {
+        if (type != CLASS) {return null;}
         Object object = map.get(this);
-        if (type.isInstance(object) && type.equals(CLASS)) {
-            try {
-                return type.cast(object);
-            } catch (ClassCastException e) {
-                // Should be caught with if statement, but left as is just in case.
-                return null;
-            }
+        if (map instanceof VehicleRecord) {
+            // The type was checked when the value was put.
+            return (T) object;
         }
-        return null;
+        return type.isInstance(object) ? type.cast(object) : null;
     }
 
     /**
@@ -70,7 +68,7 @@ public enum Key {
      * @param object The {@link Object} that is being checked.
      * @return Whether object is of the correct type.
      */
-    private boolean validObjectType(Object object) {
+    boolean isValidType(Object object) {
         return CLASS.isInstance(object);
     }
 
@@ -82,10 +80,12 @@ public enum Key {
      * @return weather object was added to the {@link Map}.
      */
     public boolean putValid(Map<Key, Object> map, Object object) {
-        if (validObjectType(object)) {
+        if (!isValidType(object)) {return false;}
+        if (map instanceof VehicleRecord record) {
+            record.putChecked(this, object);
+        } else {
             map.put(this, object);
-            return true;
         }
-        return false;
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package javafiles;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a single, shared copy of the {@link String}s that repeat across many Vehicles, such as
+ * vehicle types, manufacturers, models, price units and dealership IDs and names. Reading an
+ * inventory creates a new copy of each of these for every row; replacing them with the pooled copy
+ * lets the copies be garbage collected, so a million Vehicles of a few makes hold a few Strings.
+ * <p>
+ * Unlike {@link String#intern()}, the pool only holds the values passed to it, and stops growing at
+ * MAX_SIZE distinct values, after which new values are returned as they are. Safe to use from any thread.
+ */
+public final class StringPool {
+    private static final int MAX_SIZE = 1 << 16;
+    private static final Map<String, String> pool = new ConcurrentHashMap<>();
+
+    // The keys whose values have few distinct values. Vehicle IDs are unique and are never pooled.
+    private static final Key[] POOLED_KEYS = {Key.DEALERSHIP_ID, Key.DEALERSHIP_NAME, Key.VEHICLE_TYPE,
+            Key.VEHICLE_MANUFACTURER, Key.VEHICLE_MODEL, Key.VEHICLE_PRICE_UNIT};
+
+    private StringPool() {}
+
+    /**
+     * Returns the pooled copy of value, adding value to the pool if it is the first copy.
+     *
+     * @param value The {@link String} being pooled.
+     * @return A {@link String} equal to value, which is the same object for every equal value
+     *         while the pool is not full. null if value is null.
+     */
+    public static String canonical(String value) {
+        if (value == null) {return null;}
+        String pooled = pool.get(value);
+        if (pooled != null) {return pooled;}
+        if (pool.size() >= MAX_SIZE) {return value;}
+        pooled = pool.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    /**
+     * Replaces the {@link String} values of map that repeat across many Vehicles with their pooled copies.
+     *
+     * @param map The {@link Map} read for a single Vehicle, which is changed in place.
+     */
+    public static void canonicalize(Map<Key, Object> map) {
+        for (Key key : POOLED_KEYS) {
+            if (map.get(key) instanceof String value) {
+                map.put(key, canonical(value));
+            }
+        }
+    }
+}
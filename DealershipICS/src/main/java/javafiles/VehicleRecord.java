@@ -0,0 +1,75 @@
+package javafiles;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The data of a single Vehicle and its Dealership as it is read from or written to a file, with
+ * a fixed slot for the value of each {@link Key}. Every file reader and every data map of a
+ * Dealership or Vehicle is a VehicleRecord, in place of a {@link java.util.HashMap} with a node
+ * per value.
+ * <p>
+ * The type of each value is checked once, as it is put, so {@link Key#getVal(Map, Class)} only
+ * has to check the type that is asked for. Putting a value of the wrong type for its {@link Key}
+ * throws an {@link IllegalArgumentException}; use {@link Key#putValid(Map, Object)} to skip it instead.
+ */
+public final class VehicleRecord extends EnumMap<Key, Object> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates an empty VehicleRecord.
+     */
+    public VehicleRecord() {
+        super(Key.class);
+    }
+
+    /**
+     * Creates a VehicleRecord holding the same values as map.
+     *
+     * @param map The {@link Map} whose values are copied.
+     * @throws IllegalArgumentException Thrown if a value of map is of the wrong type for its {@link Key}.
+     */
+    public VehicleRecord(Map<Key, ?> map) {
+        super(Key.class);
+        putAll(map);
+    }
+
+    /**
+     * Puts value at key, once its type has been checked.
+     *
+     * @param key The {@link Key} whose slot is set.
+     * @param value The value being put, which may be null.
+     * @return The previous value at key, or null if there was none.
+     * @throws IllegalArgumentException Thrown if value is not of the type held at key.
+     */
+    @Override
+    public Object put(Key key, Object value) {
+        if (value != null && !key.isValidType(value)) {
+            throw new IllegalArgumentException(value.getClass().getName() + " is not a valid value of " +
+                    key + ", expected " + key.getClassName() + ".");
+        }
+        return super.put(key, value);
+    }
+
+    /**
+     * Puts value at key without checking its type, for values that have already been checked.
+     *
+     * @param key The {@link Key} whose slot is set.
+     * @param value The value being put, of the type held at key.
+     */
+    void putChecked(Key key, Object value) {
+        super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends Key, ?> map) {
+        if (map instanceof VehicleRecord) {
+            // Already checked, and copied slot by slot.
+            super.putAll(map);
+        } else {
+            for (Map.Entry<? extends Key, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
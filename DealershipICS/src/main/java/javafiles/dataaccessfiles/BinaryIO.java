@@ -0,0 +1,314 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.StringPool;
+import javafiles.VehicleRecord;
+import javafiles.customexceptions.ReadWriteException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A class that reads and writes to a compact, versioned binary inventory snapshot.
+ * <p>
+ * The file starts with the magic bytes "DINV" and a version number, followed by blocks of up
+ * to BLOCK_SIZE Vehicles and an empty block marking the end of the file. Each block holds:
+ * <ul>
+ *     <li>The number of Vehicles in the block.</li>
+ *     <li>The {@link String}s first used in this block, which are added to a dictionary shared
+ *         by the whole file. They are read as their {@link StringPool} copies.</li>
+ *     <li>A column of dictionary indexes for each of DICTIONARY_KEYS (-1 if absent).</li>
+ *     <li>A column of Vehicle IDs, which are unique and so are not put in the dictionary.</li>
+ *     <li>A column of longs for each of LONG_KEYS.</li>
+ *     <li>A column of flags marking which longs are present and the value of each of BOOLEAN_KEYS.</li>
+ * </ul>
+ * Only a single block is held in memory while reading or writing. Key.REASON_FOR_ERROR is not written.
+ */
+class BinaryIO extends FileIO {
+    private static final byte[] MAGIC = {'D', 'I', 'N', 'V'};
+    private static final short VERSION = 1;
+    private static final int BLOCK_SIZE = 4096;
+
+    private static final Key[] DICTIONARY_KEYS = {Key.DEALERSHIP_ID, Key.DEALERSHIP_NAME, Key.VEHICLE_TYPE,
+            Key.VEHICLE_MANUFACTURER, Key.VEHICLE_MODEL, Key.VEHICLE_PRICE_UNIT};
+    private static final Key[] LONG_KEYS = {Key.VEHICLE_PRICE, Key.VEHICLE_ACQUISITION_DATE};
+    private static final Key[] BOOLEAN_KEYS = {Key.DEALERSHIP_RECEIVING_STATUS,
+            Key.DEALERSHIP_RENTING_STATUS, Key.VEHICLE_RENTAL_STATUS};
+
+    /**
+     * Creates or opens a binary inventory file with name path in read ('r') or write ('w') mode.
+     * Read mode allows the reading, but not writing of files, write mode allows for the
+     * writing, but not reading of files.
+     *
+     * @param path The full path of the file to be opened or created.
+     * @param mode A char representation of the type of file this is (read 'r' or write 'w')
+     * @throws ReadWriteException Thrown if the mode is an invalid char.
+     */
+    public BinaryIO(String path, char mode) throws ReadWriteException {
+        super(path, mode);
+    }
+
+    /**
+     * Reads and returns the data stored in the file of this object.
+     *
+     * @return A {@link List} of {@link Map}<{@link Key}, {@link Object}>s that correspond
+     *         to the Vehicles stored in the file for this object.
+     * @throws ReadWriteException Thrown if not in read ('r') mode, or if the file can not be read.
+     */
+    public List<Map<Key, Object>> readInventory() throws ReadWriteException {
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        readInventory(maps::add);
+        return maps;
+    }
+
+    /**
+     * Reads the data stored in the file of this object one block at a time, passing each
+     * {@link Map}<{@link Key}, {@link Object}> to consumer.
+     *
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}> is passed to.
+     * @throws ReadWriteException Thrown if not in read ('r') mode, if the file is not a binary
+     *                            inventory of a supported version, if the file is corrupt, or if
+     *                            the file can not be read.
+     */
+    @Override
+    public void readInventory(Consumer<Map<Key, Object>> consumer) throws ReadWriteException {
+        if (mode != 'r') {
+            throw new ReadWriteException("Must be mode 'r', not mode '" + mode + "'.");
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new ReadWriteException("\"" + file + "\" is not a binary inventory file.");
+            }
+            short version = in.readShort();
+            if (version != VERSION) {
+                throw new ReadWriteException("Binary inventory version " + version + " is not supported.");
+            }
+
+            long fileSize = file.length();
+            List<String> dictionary = new ArrayList<>();
+            int rows = in.readInt();
+            while (rows != 0) {
+                readBlock(in, rows, dictionary, consumer, fileSize);
+                rows = in.readInt();
+            }
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        }
+    }
+
+    /**
+     * Reads a single block of rows Vehicles, passing the {@link Map} of each to consumer.
+     *
+     * @param in The {@link DataInputStream} positioned after the row count of the block.
+     * @param rows The number of Vehicles in the block.
+     * @param dictionary The {@link String}s of the previous blocks, which this block's are added to.
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}> is passed to.
+     * @param fileSize The size of the file in bytes, which no {@link String} in it can be longer than.
+     * @throws ReadWriteException Thrown if a count, length or dictionary index in the block is out of range.
+     * @throws IOException Thrown if the block can not be read.
+     */
+    private static void readBlock(DataInputStream in, int rows, List<String> dictionary,
+                                  Consumer<Map<Key, Object>> consumer, long fileSize)
+            throws ReadWriteException, IOException {
+        if (rows < 0 || rows > BLOCK_SIZE) {
+            throw new ReadWriteException("Corrupt binary inventory: block of " + rows + " Vehicles.");
+        }
+        int newStrings = in.readInt();
+        if (newStrings < 0 || newStrings > rows * DICTIONARY_KEYS.length) {
+            throw new ReadWriteException("Corrupt binary inventory: " + newStrings + " new Strings in a block.");
+        }
+        for (int i = 0; i < newStrings; i++) {
+            dictionary.add(StringPool.canonical(readString(in, fileSize)));
+        }
+
+        List<Map<Key, Object>> block = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            block.add(new VehicleRecord());
+        }
+
+        for (Key key : DICTIONARY_KEYS) {
+            for (Map<Key, Object> map : block) {
+                int index = in.readInt();
+                if (index < -1 || index >= dictionary.size()) {
+                    throw new ReadWriteException("Corrupt binary inventory: dictionary index " + index + ".");
+                }
+                if (index >= 0) {map.put(key, dictionary.get(index));}
+            }
+        }
+        for (Map<Key, Object> map : block) {
+            String vehicleId = readString(in, fileSize);
+            if (vehicleId != null) {map.put(Key.VEHICLE_ID, vehicleId);}
+        }
+        long[][] longs = new long[LONG_KEYS.length][rows];
+        for (long[] column : longs) {
+            for (int row = 0; row < rows; row++) {
+                column[row] = in.readLong();
+            }
+        }
+        for (int row = 0; row < rows; row++) {
+            Map<Key, Object> map = block.get(row);
+            short flags = in.readShort();
+            for (int i = 0; i < LONG_KEYS.length; i++) {
+                if ((flags & (1 << i)) != 0) {map.put(LONG_KEYS[i], longs[i][row]);}
+            }
+            for (int i = 0; i < BOOLEAN_KEYS.length; i++) {
+                int shift = LONG_KEYS.length + 2 * i;
+                if ((flags & (1 << shift)) != 0) {
+                    map.put(BOOLEAN_KEYS[i], (flags & (1 << (shift + 1))) != 0);
+                }
+            }
+            consumer.accept(map);
+        }
+    }
+
+    /**
+     * Takes a {@link List} of {@link Map}s to write to the file stored in this object.
+     *
+     * @param maps {@link List} of {@link Map}s to write to a file.
+     * @throws ReadWriteException Thrown if not in write ('w') mode, or if unable to write to the file.
+     */
+    public void writeInventory(List<Map<Key, Object>> maps) throws ReadWriteException {
+        writeInventory(maps.stream());
+    }
+
+    /**
+     * Writes the {@link Map}s of data to the file stored in this object in blocks of BLOCK_SIZE,
+     * as they are taken from the {@link Stream}.
+     *
+     * @param maps {@link Stream} of {@link Map}s to write to a file.
+     * @throws ReadWriteException Thrown if not in write ('w') mode, or if unable to write to the file.
+     */
+    @Override
+    public void writeInventory(Stream<Map<Key, Object>> maps) throws ReadWriteException {
+        if (mode != 'w') {
+            throw new ReadWriteException("Must be mode 'w', not mode '" + mode + "'.");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.write(MAGIC);
+            out.writeShort(VERSION);
+
+            Map<String, Integer> dictionary = new HashMap<>();
+            List<Map<Key, Object>> block = new ArrayList<>(BLOCK_SIZE);
+            Iterator<Map<Key, Object>> iterator = maps.iterator();
+            while (iterator.hasNext()) {
+                block.add(iterator.next());
+                if (block.size() == BLOCK_SIZE) {
+                    writeBlock(out, block, dictionary);
+                    block.clear();
+                }
+            }
+            if (!block.isEmpty()) {writeBlock(out, block, dictionary);}
+            out.writeInt(0);
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        }
+    }
+
+    /**
+     * Writes a single block of Vehicles, adding any {@link String}s not yet in the dictionary.
+     *
+     * @param out The {@link DataOutputStream} being written to.
+     * @param block The {@link Map}s of the Vehicles in the block.
+     * @param dictionary The index of each {@link String} written in previous blocks.
+     * @throws IOException Thrown if unable to write to the file.
+     */
+    private static void writeBlock(DataOutputStream out, List<Map<Key, Object>> block,
+                                   Map<String, Integer> dictionary) throws IOException {
+        List<String> newStrings = new ArrayList<>();
+        int[][] indexes = new int[DICTIONARY_KEYS.length][block.size()];
+        for (int i = 0; i < DICTIONARY_KEYS.length; i++) {
+            for (int row = 0; row < block.size(); row++) {
+                String value = DICTIONARY_KEYS[i].getVal(block.get(row), String.class);
+                if (value == null) {
+                    indexes[i][row] = -1;
+                    continue;
+                }
+                Integer index = dictionary.get(value);
+                if (index == null) {
+                    index = dictionary.size();
+                    dictionary.put(value, index);
+                    newStrings.add(value);
+                }
+                indexes[i][row] = index;
+            }
+        }
+
+        out.writeInt(block.size());
+        out.writeInt(newStrings.size());
+        for (String string : newStrings) {
+            writeString(out, string);
+        }
+        for (int[] column : indexes) {
+            for (int index : column) {
+                out.writeInt(index);
+            }
+        }
+        for (Map<Key, Object> map : block) {
+            writeString(out, Key.VEHICLE_ID.getVal(map, String.class));
+        }
+        for (Key key : LONG_KEYS) {
+            for (Map<Key, Object> map : block) {
+                Long value = key.getVal(map, Long.class);
+                out.writeLong(value == null ? 0 : value);
+            }
+        }
+        for (Map<Key, Object> map : block) {
+            int flags = 0;
+            for (int i = 0; i < LONG_KEYS.length; i++) {
+                if (LONG_KEYS[i].getVal(map, Long.class) != null) {flags |= 1 << i;}
+            }
+            for (int i = 0; i < BOOLEAN_KEYS.length; i++) {
+                Boolean value = BOOLEAN_KEYS[i].getVal(map, Boolean.class);
+                if (value == null) {continue;}
+                int shift = LONG_KEYS.length + 2 * i;
+                flags |= 1 << shift;
+                if (value) {flags |= 1 << (shift + 1);}
+            }
+            out.writeShort(flags);
+        }
+    }
+
+    /**
+     * Writes a {@link String} as its length in UTF-8 bytes followed by the bytes, or -1 if null.
+     *
+     * @param out The {@link DataOutputStream} being written to.
+     * @param string The {@link String} being written.
+     * @throws IOException Thrown if unable to write to the file.
+     */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a {@link String} written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in The {@link DataInputStream} being read.
+     * @param fileSize The size of the file in bytes, which the {@link String} can not be longer than.
+     * @return The {@link String} read, or null.
+     * @throws ReadWriteException Thrown if the length of the {@link String} is out of range.
+     * @throws IOException Thrown if unable to read the file.
+     */
+    private static String readString(DataInputStream in, long fileSize) throws ReadWriteException, IOException {
+        int length = in.readInt();
+        if (length < -1 || length > fileSize) {
+            throw new ReadWriteException("Corrupt binary inventory: String of length " + length + ".");
+        }
+        if (length == -1) {return null;}
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
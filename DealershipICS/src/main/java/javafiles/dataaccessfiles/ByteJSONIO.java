@@ -0,0 +1,435 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A {@link JSONIO} that reads by parsing the UTF-8 bytes of the file directly, instead of decoding
+ * the whole file through a {@link java.io.Reader}. Only the keys and values of the "car_inventory"
+ * objects are turned into {@link String}s; everything else in the file is skipped byte by byte.
+ * The file is read into a heap buffer one window of WINDOW bytes at a time as parsing moves
+ * through it.
+ * <p>
+ * Produces the same {@link Map}s as {@link JSONIO#readInventory(Consumer)}. The file is not
+ * memory-mapped, as a mapping stays open until it is garbage collected and would stop the file
+ * from being replaced on Windows, such as by {@link InventoryJournal#compact(java.util.List)}.
+ * The file is closed when reading returns. {@link JSONIOBuilder} only uses this class for large
+ * files.
+ */
+class ByteJSONIO extends JSONIO {
+    private static final int WINDOW = 1 << 20;
+
+    private FileChannel channel;
+    private ByteBuffer window;
+    private long windowStart;
+    private long size;
+    private int peeked = -1;
+    private byte[] bytes = new byte[64];
+
+    /**
+     * Creates or opens a JSON file with name filePath in read ('r') or write ('w') mode.
+     * Writing is done the same way as {@link JSONIO}.
+     *
+     * @param filePath The full path of the file to be opened or created.
+     * @param mode A char representation of the type of file this is (read 'r' or write 'w')
+     * @throws ReadWriteException Thrown if the mode is an invalid char.
+     */
+    public ByteJSONIO(String filePath, char mode) throws ReadWriteException {
+        super(filePath, mode);
+    }
+
+    /**
+     * Reads the data stored in the file of this object one object of the "car_inventory"
+     * {@link JSONArray} at a time, passing each to consumer as soon as it has been parsed.
+     *
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}> is passed to.
+     * @throws ReadWriteException Thrown if not in read ('r') mode, or if the file can not be parsed.
+     */
+    @Override
+    public void readInventory(Consumer<Map<Key, Object>> consumer) throws ReadWriteException {
+        if (mode != 'r') {
+            throw new ReadWriteException("Must be mode 'r', not mode '" + mode + "'.");
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            channel = fileChannel;
+            size = channel.size();
+            windowStart = 0;
+            window = null;
+            peeked = -1;
+
+            boolean foundInventory = false;
+            if (peek() == '{') {
+                next();
+                if (peek() != '}') {
+                    do {
+                        String key = parseString();
+                        expect(':');
+                        if (key.equals("car_inventory") && peek() == '[') {
+                            parseInventory(consumer);
+                            foundInventory = true;
+                        } else {
+                            skipValue();
+                        }
+                    } while (nextIs(','));
+                }
+                expect('}');
+            } else {
+                skipValue();
+            }
+            if (peek() != -1) {throw unexpected();}
+
+            if (!foundInventory) {
+                throw new ReadWriteException("No \"car_inventory\" array in " + file + ".");
+            }
+        } catch (IOException | ParseException e) {
+            throw new ReadWriteException(e);
+        } finally {
+            channel = null;
+            window = null;
+        }
+    }
+
+    /**
+     * Parses the "car_inventory" {@link JSONArray}, passing each object in it to consumer.
+     * Anything in the array that is not an object is skipped.
+     *
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}> is passed to.
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the array is not valid JSON.
+     */
+    private void parseInventory(Consumer<Map<Key, Object>> consumer) throws IOException, ParseException {
+        expect('[');
+        if (peek() != ']') {
+            do {
+                if (peek() == '{') {
+                    consumer.accept(readJSONObject((JSONObject) parseValue()));
+                } else {
+                    skipValue();
+                }
+            } while (nextIs(','));
+        }
+        expect(']');
+    }
+
+    /**
+     * Parses and returns the next value, in the same types that json-simple uses.
+     *
+     * @return The parsed {@link JSONObject}, {@link JSONArray}, {@link String}, {@link Long},
+     *         {@link Double}, {@link Boolean} or null.
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the value is not valid JSON.
+     */
+    @SuppressWarnings("unchecked")
+    private Object parseValue() throws IOException, ParseException {
+        int b = peek();
+        switch (b) {
+            case '{' -> {
+                next();
+                JSONObject jObj = new JSONObject();
+                if (peek() != '}') {
+                    do {
+                        String key = parseString();
+                        expect(':');
+                        jObj.put(key, parseValue());
+                    } while (nextIs(','));
+                }
+                expect('}');
+                return jObj;
+            }
+            case '[' -> {
+                next();
+                JSONArray jArray = new JSONArray();
+                if (peek() != ']') {
+                    do {
+                        jArray.add(parseValue());
+                    } while (nextIs(','));
+                }
+                expect(']');
+                return jArray;
+            }
+            case '"' -> {
+                return parseString();
+            }
+            default -> {
+                return parseLiteral();
+            }
+        }
+    }
+
+    /**
+     * Skips over the next value without creating any objects for it.
+     *
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the value is not valid JSON.
+     */
+    private void skipValue() throws IOException, ParseException {
+        int b = peek();
+        if (b == '{') {
+            next();
+            if (peek() != '}') {
+                do {
+                    skipString();
+                    expect(':');
+                    skipValue();
+                } while (nextIs(','));
+            }
+            expect('}');
+        } else if (b == '[') {
+            next();
+            if (peek() != ']') {
+                do {
+                    skipValue();
+                } while (nextIs(','));
+            }
+            expect(']');
+        } else if (b == '"') {
+            skipString();
+        } else {
+            readLiteralBytes();
+        }
+    }
+
+    /**
+     * Parses a true, false, null or number literal.
+     *
+     * @return The {@link Boolean}, null, {@link Long} or {@link Double} value of the literal.
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the literal is not valid JSON.
+     */
+    private Object parseLiteral() throws IOException, ParseException {
+        int length = readLiteralBytes();
+        String literal = new String(bytes, 0, length, StandardCharsets.US_ASCII);
+        switch (literal) {
+            case "true" -> {return Boolean.TRUE;}
+            case "false" -> {return Boolean.FALSE;}
+            case "null" -> {return null;}
+        }
+        try {
+            if (literal.indexOf('.') >= 0 || literal.indexOf('e') >= 0 || literal.indexOf('E') >= 0) {
+                return Double.valueOf(literal);
+            }
+            return Long.valueOf(literal);
+        } catch (NumberFormatException e) {
+            throw new ParseException(position(), ParseException.ERROR_UNEXPECTED_TOKEN, literal);
+        }
+    }
+
+    /**
+     * Reads the bytes of a literal into bytes, up to the next structural character or whitespace.
+     *
+     * @return The number of bytes read.
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if there is no literal.
+     */
+    private int readLiteralBytes() throws IOException, ParseException {
+        skipWhitespace();
+        int length = 0;
+        int b = rawPeek();
+        while (b != -1 && b != ',' && b != '}' && b != ']' && b != ':' && !isWhitespace(b)) {
+            appendByte(length++, rawNext());
+            b = rawPeek();
+        }
+        if (length == 0) {throw unexpected();}
+        return length;
+    }
+
+    /**
+     * Parses a {@link String}, decoding its UTF-8 bytes and escapes.
+     *
+     * @return The parsed {@link String}.
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the next value is not a valid JSON string.
+     */
+    private String parseString() throws IOException, ParseException {
+        expect('"');
+        StringBuilder escaped = null;
+        int length = 0;
+        while (true) {
+            int b = rawNext();
+            if (b == -1) {throw unexpected();}
+            if (b == '"') {break;}
+            if (b != '\\') {
+                appendByte(length++, b);
+                continue;
+            }
+
+            if (escaped == null) {escaped = new StringBuilder();}
+            escaped.append(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            length = 0;
+            int e = rawNext();
+            switch (e) {
+                case '"', '\\', '/' -> escaped.append((char) e);
+                case 'b' -> escaped.append('\b');
+                case 'f' -> escaped.append('\f');
+                case 'n' -> escaped.append('\n');
+                case 'r' -> escaped.append('\r');
+                case 't' -> escaped.append('\t');
+                case 'u' -> {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(rawNext(), 16);
+                        if (digit < 0) {throw unexpected();}
+                        code = (code << 4) | digit;
+                    }
+                    escaped.append((char) code);
+                }
+                default -> throw unexpected();
+            }
+        }
+        String tail = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        return escaped == null ? tail : escaped.append(tail).toString();
+    }
+
+    /**
+     * Skips over a {@link String} without decoding it.
+     *
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the next value is not a valid JSON string.
+     */
+    private void skipString() throws IOException, ParseException {
+        expect('"');
+        int b = rawNext();
+        while (b != '"') {
+            if (b == -1) {throw unexpected();}
+            if (b == '\\') {rawNext();}
+            b = rawNext();
+        }
+    }
+
+    /**
+     * Puts b at index of bytes, growing bytes if needed.
+     *
+     * @param index The index being written.
+     * @param b The byte being written.
+     */
+    private void appendByte(int index, int b) {
+        if (index == bytes.length) {
+            bytes = java.util.Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        bytes[index] = (byte) b;
+    }
+
+    /**
+     * Skips whitespace and consumes the next byte if it is c.
+     *
+     * @param c The expected character.
+     * @return Whether the next byte was c.
+     * @throws IOException Thrown if the file can not be read.
+     */
+    private boolean nextIs(char c) throws IOException {
+        if (peek() == c) {
+            next();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips whitespace and consumes the next byte, which must be c.
+     *
+     * @param c The expected character.
+     * @throws IOException Thrown if the file can not be read.
+     * @throws ParseException Thrown if the next byte is not c.
+     */
+    private void expect(char c) throws IOException, ParseException {
+        if (!nextIs(c)) {throw unexpected();}
+    }
+
+    /**
+     * Skips whitespace and returns the next byte without consuming it.
+     *
+     * @return The next byte, or -1 at the end of the file.
+     * @throws IOException Thrown if the file can not be read.
+     */
+    private int peek() throws IOException {
+        skipWhitespace();
+        return rawPeek();
+    }
+
+    /**
+     * Skips whitespace and consumes the next byte.
+     *
+     * @return The next byte, or -1 at the end of the file.
+     * @throws IOException Thrown if the file can not be read.
+     */
+    private int next() throws IOException {
+        skipWhitespace();
+        return rawNext();
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (isWhitespace(rawPeek())) {rawNext();}
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private int rawPeek() throws IOException {
+        if (peeked == -1) {peeked = readByte();}
+        return peeked;
+    }
+
+    private int rawNext() throws IOException {
+        int b = rawPeek();
+        peeked = -1;
+        return b;
+    }
+
+    /**
+     * Reads the next byte of the file, reading the next window of the file into the buffer if
+     * the current one has been used up.
+     *
+     * @return The next byte, or -1 at the end of the file.
+     * @throws IOException Thrown if the file can not be read.
+     */
+    private int readByte() throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            long start = window == null ? 0 : windowStart + window.limit();
+            if (start >= size) {return -1;}
+            if (window == null) {window = ByteBuffer.allocate((int) Math.min(WINDOW, size));}
+            windowStart = start;
+            window.clear();
+            while (window.hasRemaining() && channel.read(window, start + window.position()) >= 0) {
+                // Read until the window is full or the file ends.
+            }
+            window.flip();
+            if (!window.hasRemaining()) {return -1;}
+        }
+        return window.get() & 0xFF;
+    }
+
+    /**
+     * Returns the position in the file of the last byte read.
+     *
+     * @return The position in the file, capped to the largest int.
+     */
+    private int position() {
+        long position = window == null ? 0 : windowStart + window.position() - (peeked == -1 ? 0 : 1);
+        return (int) Math.min(Integer.MAX_VALUE, position);
+    }
+
+    /**
+     * Creates the {@link ParseException} for an unexpected byte at the current position.
+     *
+     * @return The {@link ParseException} to be thrown.
+     * @throws IOException Thrown if the file can not be read.
+     */
+    private ParseException unexpected() throws IOException {
+        int b = rawPeek();
+        Object found = b == -1 ? "end of file" : (char) b;
+        return new ParseException(position(), ParseException.ERROR_UNEXPECTED_CHAR, found);
+    }
+}
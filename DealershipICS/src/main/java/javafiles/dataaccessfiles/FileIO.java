@@ -1,11 +1,15 @@
 package javafiles.dataaccessfiles;
 
 import javafiles.Key;
+import javafiles.VehicleRecord;
 import javafiles.customexceptions.BadCharException;
 import javafiles.customexceptions.ReadWriteException;
 
 import java.io.File;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * An abstract class whose inheritors reads and writes to different file types.
@@ -17,7 +21,8 @@ public abstract class FileIO {
     protected char mode;
 
     /**
-     * Reads and returns the data stored in the file of the object.
+     * Reads and returns the data stored in the file of the object. Each {@link Map} read is a
+     * {@link VehicleRecord}.
      *
      * @return A List of {@link Map}<{@link Key}, {@link Object}>s that correspond to the
      *         data stored in the XML file for this object.
@@ -25,6 +30,21 @@ public abstract class FileIO {
      */
     public abstract List<Map<Key, Object>> readInventory() throws ReadWriteException;
 
+    /**
+     * Reads the data stored in the file of the object, passing each {@link Map} to consumer
+     * as it is read. Inheritors that can read one record at a time override this so that
+     * large files can be read without holding every record in memory.
+     *
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}>
+     *                 is passed to, in the order they are stored in the file.
+     * @throws ReadWriteException Thrown if unable to read the file.
+     */
+    public void readInventory(Consumer<Map<Key, Object>> consumer) throws ReadWriteException {
+        for (Map<Key, Object> map : readInventory()) {
+            consumer.accept(map);
+        }
+    }
+
     /**
      * Takes a {@link List} of {@link Map}s to write to the file stored in the object.
      *
@@ -33,6 +53,18 @@ public abstract class FileIO {
      */
     public abstract void writeInventory(List<Map<Key, Object>> maps) throws ReadWriteException;
 
+    /**
+     * Takes a {@link Stream} of {@link Map}s to write to the file stored in the object.
+     * Inheritors that can write one record at a time override this so that large inventories
+     * can be written without holding every record in memory.
+     *
+     * @param maps {@link Stream} of {@link Map}s to write to a file.
+     * @throws ReadWriteException Thrown if unable to write to the file.
+     */
+    public void writeInventory(Stream<Map<Key, Object>> maps) throws ReadWriteException {
+        writeInventory(maps.collect(Collectors.toList()));
+    }
+
     /**
      * Creates or opens a {@link File} with name path in read ('r') or write ('w') mode.
      * Read mode allows the reading, but not writing of {@link File}s, write mode allows for the
@@ -183,6 +183,7 @@ public abstract class FileIOBuilder {
         if (!instantiated) {
             BUILDERS.add(new JSONIOBuilder(new String[]{"json"}));
             BUILDERS.add(new XMLIOBuilder(new String[]{"xml"}));
+            BUILDERS.add(new BinaryIOBuilder(new String[]{"inv"}));
             instantiated = true;
         }
     }
@@ -0,0 +1,410 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * A write-ahead journal of changes made to an inventory snapshot file. Instead of rewriting the
+ * whole snapshot after every change, one compact record is appended to the journal per change.
+ * Records are written as one JSON object per line, using the same keys as {@link JSONIO}.
+ * <p>
+ * There are three kinds of records:
+ * <ul>
+ *     <li>"vehicle" - The full data of a Vehicle, replacing any Vehicle with the same ID.</li>
+ *     <li>"remove" - The ID of a Vehicle that no longer exists.</li>
+ *     <li>"dealer" - The attributes of a Dealership, applied to all of its Vehicles.</li>
+ * </ul>
+ * Every record can be applied more than once with the same result, so the journal can safely be
+ * replayed on top of a snapshot that already contains some of its records.
+ * <p>
+ * Appended records are forced to disk in batches of syncEvery records, and {@link #needsCompaction()}
+ * returns true once compactEvery records have been appended since the last {@link #compact(List)}.
+ */
+public class InventoryJournal {
+    private static final String OP = "op";
+    private static final String OP_VEHICLE = "vehicle";
+    private static final String OP_REMOVE = "remove";
+    private static final String OP_DEALER = "dealer";
+
+    private final String snapshotPath;
+    private final File journalFile;
+    private final int syncEvery;
+    private final int compactEvery;
+
+    private FileOutputStream journalStream;
+    private Writer journalWriter;
+    private int unsyncedRecords;
+    private int recordsSinceCompaction;
+
+    /**
+     * Creates a journal for the snapshot at snapshotPath, stored in a file next to it with the
+     * extension replaced by ".journal".
+     *
+     * @param snapshotPath The path of the snapshot file this journal belongs to.
+     * @param syncEvery The number of records appended before they are forced to disk.
+     * @param compactEvery The number of records appended before compaction is needed.
+     */
+    public InventoryJournal(String snapshotPath, int syncEvery, int compactEvery) {
+        this(snapshotPath, getJournalPath(snapshotPath), syncEvery, compactEvery);
+    }
+
+    /**
+     * Creates a journal for the snapshot at snapshotPath, stored at journalPath.
+     *
+     * @param snapshotPath The path of the snapshot file this journal belongs to.
+     * @param journalPath The path of the journal file.
+     * @param syncEvery The number of records appended before they are forced to disk.
+     * @param compactEvery The number of records appended before compaction is needed.
+     */
+    public InventoryJournal(String snapshotPath, String journalPath, int syncEvery, int compactEvery) {
+        this.snapshotPath = snapshotPath;
+        this.journalFile = new File(journalPath);
+        this.syncEvery = Math.max(1, syncEvery);
+        this.compactEvery = Math.max(1, compactEvery);
+    }
+
+    /**
+     * Returns the path of the journal of the given snapshot, which is the snapshot path with its
+     * extension replaced by ".journal".
+     *
+     * @param snapshotPath The path of the snapshot file.
+     * @return The path of the journal file.
+     */
+    static String getJournalPath(String snapshotPath) {
+        int dot = snapshotPath.lastIndexOf('.');
+        int separator = Math.max(snapshotPath.lastIndexOf('/'), snapshotPath.lastIndexOf('\\'));
+        if (dot <= separator) {
+            return snapshotPath + ".journal";
+        }
+        return snapshotPath.substring(0, dot) + ".journal";
+    }
+
+    /**
+     * Appends a record holding the full data of a single Vehicle and its Dealership.
+     *
+     * @param vehicleData The {@link Map} of the Vehicle's data.
+     * @throws ReadWriteException Thrown if unable to write to the journal.
+     */
+    @SuppressWarnings("unchecked")
+    public void recordVehicle(Map<Key, Object> vehicleData) throws ReadWriteException {
+        JSONObject jObj = JSONIO.makeJSONObject(vehicleData);
+        jObj.put(OP, OP_VEHICLE);
+        append(jObj);
+    }
+
+    /**
+     * Appends a record stating that the Vehicle with the given ID no longer exists.
+     *
+     * @param vehicleId The ID of the removed Vehicle.
+     * @throws ReadWriteException Thrown if unable to write to the journal.
+     */
+    @SuppressWarnings("unchecked")
+    public void recordRemoval(String vehicleId) throws ReadWriteException {
+        JSONObject jObj = new JSONObject();
+        jObj.put(OP, OP_REMOVE);
+        jObj.put(Key.VEHICLE_ID.getKey(), vehicleId);
+        append(jObj);
+    }
+
+    /**
+     * Appends a record holding the attributes of a Dealership (ID, name, receiving and renting status).
+     *
+     * @param dealerData The {@link Map} of the Dealership's data.
+     * @throws ReadWriteException Thrown if unable to write to the journal.
+     */
+    @SuppressWarnings("unchecked")
+    public void recordDealership(Map<Key, Object> dealerData) throws ReadWriteException {
+        JSONObject jObj = JSONIO.makeJSONObject(dealerData);
+        jObj.put(OP, OP_DEALER);
+        append(jObj);
+    }
+
+    /**
+     * Writes a single record to the journal, forcing the batch to disk if syncEvery records
+     * have been written since the last sync.
+     *
+     * @param record The record being appended.
+     * @throws ReadWriteException Thrown if unable to write to the journal.
+     */
+    private void append(JSONObject record) throws ReadWriteException {
+        try {
+            if (journalWriter == null) {
+                journalStream = new FileOutputStream(journalFile, true);
+                journalWriter = new BufferedWriter(new OutputStreamWriter(journalStream, StandardCharsets.UTF_8));
+            }
+            journalWriter.write(record.toJSONString());
+            journalWriter.write('\n');
+            unsyncedRecords++;
+            recordsSinceCompaction++;
+            if (unsyncedRecords >= syncEvery) {
+                sync();
+            }
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        }
+    }
+
+    /**
+     * Forces all appended records to disk.
+     *
+     * @throws ReadWriteException Thrown if unable to write to the journal.
+     */
+    public void sync() throws ReadWriteException {
+        if (journalWriter == null) {return;}
+        try {
+            journalWriter.flush();
+            journalStream.getFD().sync();
+            unsyncedRecords = 0;
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        }
+    }
+
+    /**
+     * Returns whether enough records have been appended that the journal should be compacted.
+     *
+     * @return Whether compactEvery or more records have been appended since the last compaction.
+     */
+    public boolean needsCompaction() {
+        return recordsSinceCompaction >= compactEvery;
+    }
+
+    /**
+     * Writes the full inventory to the snapshot file and then empties the journal. If the
+     * snapshot can not be written, the journal is left as is.
+     *
+     * @param data The {@link List} of {@link Map}s of the full inventory.
+     * @throws ReadWriteException Thrown if unable to write the snapshot or empty the journal.
+     */
+    public void compact(List<Map<Key, Object>> data) throws ReadWriteException {
+        compact(data.stream());
+    }
+
+    /**
+     * Writes the full inventory to the snapshot file as it is taken from the {@link Stream}
+     * and then empties the journal. The inventory is first written to a file next to the snapshot
+     * and forced to disk, then moved over the snapshot in a single step, so the snapshot on disk is
+     * always either the old or the new one. The journal is only emptied once the new snapshot is in
+     * place; if the snapshot can not be written, both the snapshot and the journal are left as is.
+     *
+     * @param data The {@link Stream} of {@link Map}s of the full inventory.
+     * @throws ReadWriteException Thrown if unable to write the snapshot or empty the journal.
+     */
+    public void compact(Stream<Map<Key, Object>> data) throws ReadWriteException {
+        sync();
+        Path snapshot = Paths.get(snapshotPath);
+        Path compacted = Paths.get(getCompactionPath(snapshotPath));
+        boolean moved = false;
+        try {
+            FileIO fileIO = FileIOBuilder.buildNewFileIO(compacted.toString(), 'w');
+            fileIO.writeInventory(data);
+            try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(compacted, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            moved = true;
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        } finally {
+            if (!moved) {deleteQuietly(compacted);}
+        }
+        syncDirectory(snapshot);
+
+        close();
+        try {
+            new FileOutputStream(journalFile, false).close();
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        }
+        recordsSinceCompaction = 0;
+    }
+
+    /**
+     * Returns the path the snapshot is written to while compacting, which is the snapshot path with
+     * ".compacting" put before its extension, so it is written in the same format.
+     *
+     * @param snapshotPath The path of the snapshot file.
+     * @return The path of the file the new snapshot is written to.
+     */
+    static String getCompactionPath(String snapshotPath) {
+        int dot = snapshotPath.lastIndexOf('.');
+        int separator = Math.max(snapshotPath.lastIndexOf('/'), snapshotPath.lastIndexOf('\\'));
+        if (dot <= separator) {
+            return snapshotPath + ".compacting";
+        }
+        return snapshotPath.substring(0, dot) + ".compacting" + snapshotPath.substring(dot);
+    }
+
+    /**
+     * Deletes a file if it exists, ignoring any failure to do so.
+     *
+     * @param file The file being deleted.
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Forces the directory holding the given file to disk, so a file just moved into it stays
+     * there after a crash. Not every platform can open a directory, in which case this does nothing.
+     *
+     * @param file The file whose directory is forced to disk.
+     */
+    private static void syncDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {return;}
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // Directories can't be opened on some platforms, such as Windows.
+        }
+    }
+
+    /**
+     * Forces all appended records to disk and closes the journal file. The file is reopened
+     * on the next append.
+     *
+     * @throws ReadWriteException Thrown if unable to write to the journal.
+     */
+    public void close() throws ReadWriteException {
+        if (journalWriter == null) {return;}
+        sync();
+        try {
+            journalWriter.close();
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        } finally {
+            journalWriter = null;
+            journalStream = null;
+        }
+    }
+
+    /**
+     * Reads the snapshot file and applies every record of the journal on top of it. A missing
+     * snapshot is treated as an empty inventory, and an unreadable final journal line (from a
+     * write that was cut off) is ignored.
+     *
+     * @return A {@link List} of {@link Map}s of the inventory as of the last journal record.
+     * @throws ReadWriteException Thrown if the snapshot or journal exist but can not be read.
+     */
+    public List<Map<Key, Object>> replay() throws ReadWriteException {
+        List<Map<Key, Object>> snapshot = new ArrayList<>();
+        if (new File(snapshotPath).exists()) {
+            snapshot = FileIOBuilder.buildNewFileIO(snapshotPath, 'r').readInventory();
+        }
+        return replay(snapshot);
+    }
+
+    /**
+     * Reads the snapshot file and applies every record of the journal on top of it, as
+     * {@link #replay()} does, telling rowsRead how many rows of the snapshot have been read so
+     * far as they are read.
+     *
+     * @param rowsRead Called with the number of snapshot rows read so far, after each row.
+     * @return A {@link List} of {@link Map}s of the inventory as of the last journal record.
+     * @throws ReadWriteException Thrown if the snapshot or journal exist but can not be read.
+     */
+    public List<Map<Key, Object>> replay(IntConsumer rowsRead) throws ReadWriteException {
+        List<Map<Key, Object>> snapshot = new ArrayList<>();
+        if (new File(snapshotPath).exists()) {
+            FileIOBuilder.buildNewFileIO(snapshotPath, 'r').readInventory(map -> {
+                snapshot.add(map);
+                rowsRead.accept(snapshot.size());
+            });
+        }
+        return replay(snapshot);
+    }
+
+    /**
+     * Applies every record of the journal on top of the given snapshot data.
+     *
+     * @param snapshot The {@link List} of {@link Map}s read from the snapshot.
+     * @return A {@link List} of {@link Map}s of the inventory as of the last journal record.
+     * @throws ReadWriteException Thrown if the journal exists but can not be read.
+     */
+    List<Map<Key, Object>> replay(List<Map<Key, Object>> snapshot) throws ReadWriteException {
+        if (!journalFile.exists()) {return snapshot;}
+
+        // Rows without a unique Vehicle ID can't be the target of a record, but are kept so they are still reported.
+        List<Map<Key, Object>> unkeyedRows = new ArrayList<>();
+        Map<String, Map<Key, Object>> rows = new LinkedHashMap<>();
+        Map<String, Map<Key, Object>> dealers = new HashMap<>();
+        for (Map<Key, Object> map : snapshot) {
+            String id = Key.VEHICLE_ID.getVal(map, String.class);
+            if (id == null || rows.containsKey(id)) {
+                unkeyedRows.add(map);
+            } else {
+                rows.put(id, map);
+            }
+        }
+
+        JSONParser parser = new JSONParser();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(journalFile), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String next = reader.readLine();
+                if (!line.isBlank()) {
+                    try {
+                        applyRecord((JSONObject) parser.parse(line), rows, dealers);
+                    } catch (ParseException | ClassCastException e) {
+                        if (next != null) {throw new ReadWriteException(e);}
+                    }
+                }
+                line = next;
+            }
+        } catch (IOException e) {
+            throw new ReadWriteException(e);
+        }
+
+        // Only the last record of each Dealership matters, so they are applied once at the end.
+        for (Map<Key, Object> row : rows.values()) {
+            Map<Key, Object> dealer = dealers.get(Key.DEALERSHIP_ID.getVal(row, String.class));
+            if (dealer != null) {
+                row.putAll(dealer);
+            }
+        }
+
+        List<Map<Key, Object>> maps = new ArrayList<>(rows.values());
+        maps.addAll(unkeyedRows);
+        return maps;
+    }
+
+    /**
+     * Applies a single journal record to the rows of the inventory.
+     *
+     * @param record The record read from the journal.
+     * @param rows The rows of the inventory, keyed by Vehicle ID.
+     * @param dealers The latest attributes of each Dealership, keyed by Dealership ID.
+     */
+    private void applyRecord(JSONObject record, Map<String, Map<Key, Object>> rows,
+                             Map<String, Map<Key, Object>> dealers) {
+        Object op = record.get(OP);
+        Map<Key, Object> map = JSONIO.readJSONObject(record);
+        String vehicleId = Key.VEHICLE_ID.getVal(map, String.class);
+
+        if (OP_VEHICLE.equals(op) && vehicleId != null) {
+            rows.put(vehicleId, map);
+        } else if (OP_REMOVE.equals(op) && vehicleId != null) {
+            rows.remove(vehicleId);
+        } else if (OP_DEALER.equals(op)) {
+            String dealerId = Key.DEALERSHIP_ID.getVal(map, String.class);
+            if (dealerId != null) {
+                dealers.put(dealerId, map);
+            }
+        }
+    }
+}
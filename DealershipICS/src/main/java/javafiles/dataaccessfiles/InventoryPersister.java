@@ -0,0 +1,332 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes changes to an {@link InventoryJournal} on a dedicated background thread, so that callers
+ * never wait on the disk. Changes are submitted to a bounded queue and the writer thread collects
+ * them for up to maxStalenessMillis before writing the whole burst and forcing it to disk once.
+ * <p>
+ * Changes must be submitted from a single thread, and every {@link Update} must only hold data
+ * captured at the time of submission, as it is run later on the writer thread. If the queue is
+ * full, the caller should use {@link #submitSnapshot(Supplier)} instead, which replaces everything
+ * still queued with a single compaction of the full inventory, read by the writer thread. If that compaction fails, the
+ * changes it replaced are written to the journal instead and {@link #needsCompaction()} stays
+ * true, so the next change submits another snapshot.
+ */
+public class InventoryPersister {
+    /**
+     * The state of the persisted inventory compared to the inventory in memory.
+     */
+    public enum Status {SAVED, DIRTY, FAILED}
+
+    /**
+     * A change to the inventory that can be written to the {@link InventoryJournal}.
+     */
+    @FunctionalInterface
+    public interface Update {
+        void write(InventoryJournal journal) throws ReadWriteException;
+    }
+
+    private final InventoryJournal journal;
+    private final BlockingQueue<Update> queue;
+    private final long maxStalenessMillis;
+    private final Consumer<Status> statusListener;
+    private final Thread writer;
+    // Held while adding to the queue, so a snapshot replaces exactly what was queued before it.
+    private final Object queueLock = new Object();
+
+    private volatile boolean running;
+    private volatile boolean flushRequested;
+    private volatile boolean compactionNeeded;
+
+    /**
+     * An {@link Update} that writes nothing, used to signal a waiting {@link #flush(long)} once
+     * every change queued before it has been forced to disk.
+     */
+    private static final class FlushMarker implements Update {
+        private final CountDownLatch written = new CountDownLatch(1);
+
+        @Override
+        public void write(InventoryJournal journal) {}
+    }
+
+    /**
+     * An {@link Update} compacting the journal with the full inventory, in place of the changes
+     * that were queued when it was submitted. Those changes are kept so they can still be written
+     * if the compaction fails, along with any {@link FlushMarker}s among them.
+     */
+    private static final class Compaction implements Update {
+        private final Supplier<Stream<Map<Key, Object>>> data;
+        private final List<Update> replaced = new ArrayList<>();
+
+        private Compaction(Supplier<Stream<Map<Key, Object>>> data) {
+            this.data = data;
+        }
+
+        /**
+         * Adds the queued changes this compaction replaces, taking over those of a replaced compaction.
+         *
+         * @param updates The changes removed from the queue, oldest first.
+         */
+        private void replace(List<Update> updates) {
+            for (Update update : updates) {
+                if (update instanceof Compaction compaction) {
+                    replaced.addAll(compaction.replaced);
+                } else {
+                    replaced.add(update);
+                }
+            }
+        }
+
+        @Override
+        public void write(InventoryJournal journal) throws ReadWriteException {
+            try {
+                journal.compact(data.get());
+            } catch (ReadWriteException | RuntimeException e) {
+                for (Update update : replaced) {
+                    try {
+                        update.write(journal);
+                    } catch (ReadWriteException ignored) {
+                        // Reported with the failed compaction.
+                    }
+                }
+                throw e instanceof ReadWriteException ? (ReadWriteException) e : new ReadWriteException(e);
+            }
+        }
+    }
+
+    /**
+     * Creates a persister writing to journal. The writer thread is not started until {@link #start()}.
+     *
+     * @param journal The {@link InventoryJournal} that changes are written to.
+     * @param capacity The maximum number of changes waiting to be written.
+     * @param maxStalenessMillis The longest time a change waits before being written.
+     * @param statusListener Called with the new {@link Status} whenever it changes. May be called
+     *                       from the writer thread.
+     */
+    public InventoryPersister(InventoryJournal journal, int capacity, long maxStalenessMillis,
+                              Consumer<Status> statusListener) {
+        this.journal = journal;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.maxStalenessMillis = Math.max(0, maxStalenessMillis);
+        this.statusListener = statusListener;
+        this.writer = new Thread(this::runWriter, "inventory-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        running = true;
+        writer.start();
+    }
+
+    /**
+     * Queues a change to be written to the journal.
+     *
+     * @param update The change being written.
+     * @return Whether the change was queued, false if the queue is full.
+     */
+    public boolean submit(Update update) {
+        // Reported first, so it can't arrive after the writer reports the change as saved.
+        statusListener.accept(Status.DIRTY);
+        synchronized (queueLock) {
+            return queue.offer(update);
+        }
+    }
+
+    /**
+     * Replaces all queued changes with a compaction of the journal with the given inventory.
+     *
+     * @param data The {@link List} of {@link Map}s of the full inventory.
+     * @see #submitSnapshot(Supplier)
+     */
+    public void submitSnapshot(List<Map<Key, Object>> data) {
+        submitSnapshot(data::stream);
+    }
+
+    /**
+     * Replaces all queued changes with a compaction of the journal with the full inventory. The
+     * inventory is only read when the compaction is written, by calling data on the writer thread,
+     * so the caller never waits on it. It must then hold every change that was queued. Any
+     * {@link #flush(long)} waiting on the replaced changes returns once the compaction has been written.
+     *
+     * @param data Returns a {@link Stream} of {@link Map}s of the full inventory, called on the writer thread.
+     */
+    public void submitSnapshot(Supplier<Stream<Map<Key, Object>>> data) {
+        compactionNeeded = false;
+        statusListener.accept(Status.DIRTY);
+        Compaction compaction = new Compaction(data);
+        List<Update> queued = new ArrayList<>();
+        synchronized (queueLock) {
+            // Only a flush adds to the queue without the lock, so its marker is taken over on a retry.
+            do {
+                queue.drainTo(queued);
+                compaction.replace(queued);
+                queued.clear();
+            } while (!queue.offer(compaction));
+        }
+    }
+
+    /**
+     * Returns whether the journal has grown large enough that a snapshot should be submitted.
+     *
+     * @return Whether a compaction is needed.
+     */
+    public boolean needsCompaction() {
+        return compactionNeeded;
+    }
+
+    /**
+     * Writes all queued changes as soon as possible and waits for them to reach the disk.
+     *
+     * @param timeoutMillis The longest time to wait.
+     * @return Whether all queued changes were written before the timeout.
+     */
+    public boolean flush(long timeoutMillis) {
+        if (!writer.isAlive()) {
+            // Nothing will take from the queue, so the changes are written on this thread instead.
+            List<Update> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            if (!batch.isEmpty()) {writeBatch(batch);}
+            return true;
+        }
+
+        FlushMarker marker = new FlushMarker();
+        try {
+            if (!queue.offer(marker, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            flushRequested = true;
+            writer.interrupt();
+            return marker.written.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes all queued changes, stops the writer thread and closes the journal.
+     *
+     * @param timeoutMillis The longest time to wait for queued changes to be written.
+     * @return Whether the writer thread has stopped, after which the journal may be used directly.
+     */
+    public boolean close(long timeoutMillis) {
+        flush(timeoutMillis);
+        if (!writer.isAlive()) {
+            try {
+                journal.close();
+            } catch (ReadWriteException e) {
+                statusListener.accept(Status.FAILED);
+            }
+            return true;
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !writer.isAlive();
+    }
+
+    /**
+     * The loop run by the writer thread. Waits for a change, collects every change that arrives
+     * within maxStalenessMillis of it and writes them all with a single sync.
+     */
+    private void runWriter() {
+        List<Update> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Update first = queue.poll(maxStalenessMillis + 100, TimeUnit.MILLISECONDS);
+                if (first == null) {continue;}
+                batch.add(first);
+
+                long deadline = System.currentTimeMillis() + maxStalenessMillis;
+                long remaining = maxStalenessMillis;
+                while (remaining > 0 && !flushRequested) {
+                    Update next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {break;}
+                    batch.add(next);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                // Interrupted to flush or stop, write what has been collected.
+            }
+            flushRequested = false;
+            queue.drainTo(batch);
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+
+        try {
+            journal.close();
+        } catch (ReadWriteException e) {
+            statusListener.accept(Status.FAILED);
+        }
+    }
+
+    /**
+     * Writes a batch of changes to the journal and forces them to disk.
+     *
+     * @param batch The changes being written.
+     */
+    private void writeBatch(List<Update> batch) {
+        if (batch.stream().allMatch(update -> update instanceof FlushMarker)) {
+            // Nothing was written, so the last reported status still holds.
+            batch.forEach(update -> ((FlushMarker) update).written.countDown());
+            return;
+        }
+
+        Status status = Status.SAVED;
+        boolean compactionFailed = false;
+        for (Update update : batch) {
+            try {
+                update.write(journal);
+            } catch (ReadWriteException e) {
+                status = Status.FAILED;
+                compactionFailed |= update instanceof Compaction;
+            }
+        }
+        try {
+            journal.sync();
+        } catch (ReadWriteException e) {
+            status = Status.FAILED;
+        }
+        compactionNeeded = compactionFailed || journal.needsCompaction();
+
+        if (status == Status.SAVED && !queue.isEmpty()) {
+            status = Status.DIRTY;
+        }
+        statusListener.accept(status);
+
+        for (Update update : batch) {
+            if (update instanceof FlushMarker marker) {
+                marker.written.countDown();
+            } else if (update instanceof Compaction compaction) {
+                for (Update replaced : compaction.replaced) {
+                    if (replaced instanceof FlushMarker marker) {marker.written.countDown();}
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package javafiles.dataaccessfiles;
 
 import javafiles.Key;
+import javafiles.StringPool;
+import javafiles.VehicleRecord;
 import javafiles.customexceptions.ReadWriteException;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
 import java.io.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * A class that reads and writes to JSON files
@@ -33,14 +40,15 @@ class JSONIO extends FileIO {
     }
 
     /**
-     * Takes a {@link JSONObject} and creates and returns a {@link Map}. Fills the {@link Map}
+     * Takes a {@link JSONObject} and creates and returns a {@link VehicleRecord}. Fills the {@link Map}
      * with the data from the {@link JSONObject} with the keys equal to {@link Key}.getKey().
+     * Repeated {@link String}s are replaced with their {@link StringPool} copies.
      *
      * @param jObj The {@link JSONObject}  that data is being extracted from.
      * @return A {@link Map} of all the key-value pairs found in the object.
      */
-    private Map<Key, Object> readJSONObject(JSONObject jObj) {
-        Map<Key, Object> map = new HashMap<>();
+    static Map<Key, Object> readJSONObject(JSONObject jObj) {
+        Map<Key, Object> map = new VehicleRecord();
 
         for (Key key : Key.values()) {
             Object dataPoint = jObj.get(key.getKey());
@@ -51,6 +59,7 @@ class JSONIO extends FileIO {
             }
 
         }
+        StringPool.canonicalize(map);
         return map;
     }
 
@@ -62,31 +71,155 @@ class JSONIO extends FileIO {
      * @throws ReadWriteException Thrown if not in read ('r') mode.
      */
     public List<Map<Key, Object>> readInventory() throws ReadWriteException {
+        List< Map<Key, Object> > maps = new ArrayList<>();
+        readInventory(maps::add);
+        return maps;
+    }
+
+    /**
+     * Reads the data stored in the file of this object one object of the "car_inventory"
+     * {@link JSONArray} at a time, passing each to consumer as soon as it has been parsed.
+     * Only the object currently being parsed is held in memory.
+     *
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}> is passed to.
+     * @throws ReadWriteException Thrown if not in read ('r') mode, or if the file can not be parsed.
+     */
+    @Override
+    public void readInventory(Consumer<Map<Key, Object>> consumer) throws ReadWriteException {
         if (mode != 'r') {
             throw new ReadWriteException("Must be mode 'r', not mode '" + mode + "'.");
         }
         JSONParser parser = new JSONParser();
-        Reader fileReader;
-        JSONObject jFile;
-        JSONArray jArray;
-        try {
-            fileReader = new FileReader(file);
-            jFile = (JSONObject) parser.parse(fileReader);
-            fileReader.close();
+        InventoryHandler handler = new InventoryHandler(consumer);
+        try (Reader fileReader = new BufferedReader(new FileReader(file))) {
+            parser.parse(fileReader, handler);
         } catch (ParseException | IOException e) {
             throw new ReadWriteException(e);
         }
 
-        jArray = (JSONArray)jFile.get("car_inventory");
+        if (!handler.foundInventory) {
+            throw new ReadWriteException("No \"car_inventory\" array in " + file + ".");
+        }
+    }
 
-        List< Map<Key, Object> > maps = new ArrayList<>();
+    /**
+     * A {@link ContentHandler} that builds each {@link JSONObject} of the top level "car_inventory"
+     * {@link JSONArray} from the parser's events and passes it to a {@link Consumer} once complete.
+     * Everything outside of the "car_inventory" {@link JSONArray} is skipped.
+     */
+    private static class InventoryHandler implements ContentHandler {
+        private final Consumer<Map<Key, Object>> consumer;
+        // The containers of the object being built, innermost first (empty between objects).
+        private final Deque<Object> containers = new ArrayDeque<>();
+        // The keys of the entries being read within the object being built, innermost first.
+        private final Deque<String> keys = new ArrayDeque<>();
+        private int depth;
+        private int inventoryDepth;
+        private String topLevelKey;
+        private boolean foundInventory;
 
-        for (Object jObj : jArray) {
-            Map<Key, Object> map = readJSONObject((JSONObject) jObj);
-            maps.add(map);
+        private InventoryHandler(Consumer<Map<Key, Object>> consumer) {
+            this.consumer = consumer;
         }
 
-        return maps;
+        /**
+         * Adds value to the innermost container of the object being built.
+         *
+         * @param value The value being added.
+         */
+        @SuppressWarnings("unchecked")
+        private void addValue(Object value) {
+            Object container = containers.peek();
+            if (container instanceof JSONObject jObj) {
+                jObj.put(keys.peek(), value);
+            } else if (container instanceof JSONArray jArray) {
+                jArray.add(value);
+            }
+        }
+
+        @Override
+        public void startJSON() {}
+
+        @Override
+        public void endJSON() {}
+
+        @Override
+        public boolean startObject() {
+            depth++;
+            if (!containers.isEmpty()) {
+                JSONObject jObj = new JSONObject();
+                addValue(jObj);
+                containers.push(jObj);
+            } else if (inventoryDepth != 0 && depth == inventoryDepth + 1) {
+                containers.push(new JSONObject());
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObject() {
+            if (!containers.isEmpty()) {
+                Object container = containers.pop();
+                if (containers.isEmpty()) {
+                    consumer.accept(readJSONObject((JSONObject) container));
+                }
+            }
+            depth--;
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(String key) {
+            if (!containers.isEmpty()) {
+                keys.push(key);
+            } else if (depth == 1) {
+                topLevelKey = key;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry() {
+            if (!containers.isEmpty()) {
+                keys.pop();
+            } else if (depth == 1) {
+                topLevelKey = null;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startArray() {
+            depth++;
+            if (!containers.isEmpty()) {
+                JSONArray jArray = new JSONArray();
+                addValue(jArray);
+                containers.push(jArray);
+            } else if (depth == 2 && "car_inventory".equals(topLevelKey)) {
+                inventoryDepth = depth;
+                foundInventory = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endArray() {
+            if (!containers.isEmpty()) {
+                containers.pop();
+            } else if (depth == inventoryDepth) {
+                inventoryDepth = 0;
+            }
+            depth--;
+            return true;
+        }
+
+        @Override
+        public boolean primitive(Object value) {
+            if (!containers.isEmpty()) {
+                addValue(value);
+            }
+            return true;
+        }
     }
 
     /**
@@ -97,7 +230,8 @@ class JSONIO extends FileIO {
      *             {@link Key}.getKey() corresponds to the key in the created {@link JSONObject}.
      * @return The newly created {@link JSONObject}.
      */
-    private JSONObject makeJSONObject(Map<Key, Object> data) {
+    @SuppressWarnings("unchecked")
+    static JSONObject makeJSONObject(Map<Key, Object> data) {
         JSONObject jObj = new JSONObject();
         for (Key key : Key.values()) {
             Object dataPoint = data.get(key);
@@ -114,25 +248,35 @@ class JSONIO extends FileIO {
      * @throws ReadWriteException Thrown if not in write ('w') mode.
      */
     public void writeInventory(List<Map<Key, Object>> data) throws ReadWriteException {
+        writeInventory(data.stream());
+    }
+
+    /**
+     * Writes each {@link Map} of data to the file stored in this object as it is taken from the
+     * {@link Stream}, so only the object currently being written is held in memory. The file is
+     * identical to the one written by building the whole "car_inventory" {@link JSONArray} first.
+     *
+     * @param data {@link Stream} of {@link Map}s to write to a file.
+     * @throws ReadWriteException Thrown if not in write ('w') mode, or if unable to write to the file.
+     */
+    @Override
+    public void writeInventory(Stream<Map<Key, Object>> data) throws ReadWriteException {
         if (mode != 'w') {
             throw new ReadWriteException("Must be mode 'w', not mode '" + mode + "'.");
         }
 
-        JSONArray jArray = new JSONArray();
-        for (Map<Key, Object> carData : data) {
-            JSONObject jObj = makeJSONObject(carData);
-            jArray.add(jObj);
-        }
-
-        Writer fileWriter;
-        JSONObject jFile = new JSONObject();
-        jFile.put("car_inventory", jArray);
-        try {
-            fileWriter = new FileWriter(file);
-            jFile.writeJSONString(fileWriter);
-            fileWriter.close();
+        try (Writer fileWriter = new BufferedWriter(new FileWriter(file))) {
+            fileWriter.write("{\"car_inventory\":[");
+            Iterator<Map<Key, Object>> iterator = data.iterator();
+            boolean first = true;
+            while (iterator.hasNext()) {
+                if (!first) {fileWriter.write(',');}
+                makeJSONObject(iterator.next()).writeJSONString(fileWriter);
+                first = false;
+            }
+            fileWriter.write("]}");
         } catch (IOException e) {
-            System.out.println(e.getMessage());
+            throw new ReadWriteException(e);
         }
     }
 }
\ No newline at end of file
@@ -2,13 +2,18 @@ package javafiles.dataaccessfiles;
 
 import javafiles.customexceptions.ReadWriteException;
 
+import java.io.File;
+
 class JSONIOBuilder extends FileIOBuilder {
+    private static final long BYTE_READ_THRESHOLD = Long.getLong("dealership.json.byteReadBytes", 16L << 20);
+
     JSONIOBuilder(String[] extensions) {
         super(extensions);
     }
 
     /**
-     * Creates and returns a new {@link JSONIO} with parameters (path, mode).
+     * Creates and returns a new {@link JSONIO} with parameters (path, mode). Files being read
+     * that are at least BYTE_READ_THRESHOLD bytes are read through a {@link ByteJSONIO}.
      *
      * @param path The path of the file to be opened or created.
      * @param mode A char representation of the type of file that is created (read 'r' or write 'w').
@@ -17,6 +22,9 @@ class JSONIOBuilder extends FileIOBuilder {
      */
     @Override
     protected JSONIO createFileIO(String path, char mode) throws ReadWriteException {
+        if (mode == 'r' && new File(path).length() >= BYTE_READ_THRESHOLD) {
+            return new ByteJSONIO(path, mode);
+        }
         return new JSONIO(path, mode);
     }
 
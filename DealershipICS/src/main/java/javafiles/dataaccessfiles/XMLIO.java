@@ -1,22 +1,35 @@
 package javafiles.dataaccessfiles;
 
 import javafiles.Key;
+import javafiles.StringPool;
+import javafiles.VehicleRecord;
 import javafiles.customexceptions.DuplicateKeyException;
 import javafiles.customexceptions.ReadWriteException;
 
-import org.w3c.dom.*;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Links the tag name of in the .xml file with the appropriate {@link Key}.
@@ -26,6 +39,8 @@ import java.util.Map;
 enum XMLKey {
     D_ID (Key.DEALERSHIP_ID, "id"),
     D_NAME (Key.DEALERSHIP_NAME,  "name"),
+    D_RECEIVING (Key.DEALERSHIP_RECEIVING_STATUS, "receiving"),
+    D_RENTING (Key.DEALERSHIP_RENTING_STATUS, "renting"),
 
     TYPE (Key.VEHICLE_TYPE, "type"),
     V_ID (Key.VEHICLE_ID, "id"),
@@ -36,6 +51,9 @@ enum XMLKey {
     MODEL (Key.VEHICLE_MODEL, "model"),
     MAKE (Key.VEHICLE_MANUFACTURER, "make"),
 
+    RENTED (Key.VEHICLE_RENTAL_STATUS, "rented"),
+    ACQUIRED (Key.VEHICLE_ACQUISITION_DATE, "acquired"),
+
     REASON (Key.REASON_FOR_ERROR, "reason");
 
     private final Key KEY;
@@ -51,17 +69,21 @@ enum XMLKey {
 }
 
 /**
- * A class that reads from XML files
+ * A class that reads and writes to XML files
  *
  * @author Dylan Browne
  */
 class XMLIO extends FileIO {
+    private static final XMLKey[] DEALER_KEYS = {XMLKey.D_ID, XMLKey.D_NAME,
+            XMLKey.D_RECEIVING, XMLKey.D_RENTING};
+    private static final XMLKey[] VEHICLE_KEYS = {XMLKey.TYPE, XMLKey.V_ID, XMLKey.PRICE,
+            XMLKey.PRICE_UNIT, XMLKey.MAKE, XMLKey.MODEL, XMLKey.RENTED, XMLKey.ACQUIRED};
+    private static final String INDENT = "    ";
+
     /**
      * Creates or opens an XML file with name path in read ('r') or write ('w') mode.
      * Read mode allows the reading, but not writing of files, write mode allows for the
-     * writing, but not reading of files. Writing is not enabled for {@link XMLIO} objects.
-     * A write mode {@link XMLIO} object can be created, but trying to call writeInventory
-     * will throw a {@link ReadWriteException}.
+     * writing, but not reading of files.
      *
      * @param path The full path of the file to be opened or created.
      * @param mode A char representation of the type of file this is (read 'r' or write 'w')
@@ -87,11 +109,10 @@ class XMLIO extends FileIO {
      *             from tagName.
      * @param map The {@link Map} that the nodeValue or Key.REASON_FOR_ERROR is appended on to,
      *            if the tagName is found.
-     * @param tagName The tag name of the {@link Node} that is being evaluated on this call.
-     * @param nodeValue The value of the {@link Node} that is being evaluated. If the node was
-     *                  originally an attribute, the nodeValue is just {@link XMLIO}.getNodeValue().
-     *                  Otherwise, the nodeValue is the {@link String} concatenation of all the
-     *                  child {@link Node}s with the getNodeName() of "#text".
+     * @param tagName The tag name of the element or attribute that is being evaluated on this call.
+     * @param nodeValue The value of the element or attribute that is being evaluated. If it is an
+     *                  attribute, the nodeValue is just the attribute's value. Otherwise, the
+     *                  nodeValue is the {@link String} concatenation of the element's own text.
      */
     private void parseNode(XMLKey[] keys, Map<Key, Object> map, String tagName, String nodeValue) {
         if (map == null || keys == null) {return;}
@@ -111,6 +132,13 @@ class XMLIO extends FileIO {
                         XMLKey.REASON.getKey().putValid(map, new ReadWriteException(e));
                         return;
                     }
+                } else if (key.getKey().getClassName().equals(Boolean.class.getName())) {
+                    if (!nodeValue.equalsIgnoreCase("true") && !nodeValue.equalsIgnoreCase("false")) {
+                        String reason = "[" + nodeValue + "] is not true or false.";
+                        XMLKey.REASON.getKey().putValid(map, new ReadWriteException(new IllegalArgumentException(reason)));
+                        return;
+                    }
+                    nodeValCast = Boolean.parseBoolean(nodeValue);
                 }
                 if (map.containsKey(key.getKey()) && !map.get(key.getKey()).equals(nodeValCast)) {
                     String reason = "[" + map.get(key.getKey()) + "] != [" + nodeValue + "].";
@@ -126,112 +154,113 @@ class XMLIO extends FileIO {
     }
 
     /**
-     * Calculates the value of a {@link Node} by taking a {@link NodeList} of their child
-     * {@link Node}s and {@link String} concatenating all of the {@link Node}s text content
-     * together, if the {@link Node}.getName() of the node starts with "#text".
-     *
-     * @param nodes The {@link NodeList} of child {@link Node}s being evaluated.
-     * @return A {@link String} concatenation of the text in the appropriate child {@link Node}s.
+     * The value of a single element or attribute within a Dealer or Vehicle, in the order that
+     * it is passed to {@link #parseNode(XMLKey[], Map, String, String)}. The value of an element
+     * is the {@link String} concatenation of its own text, not including the text of its child elements.
      */
-    private String parseNodeVal(NodeList nodes) {
-       StringBuilder nodeVal = new StringBuilder();
-       for (int i = 0; i < nodes.getLength(); i++) {
-           Node node = nodes.item(i);
-           if (node.getNodeName().startsWith("#text")) {
-               nodeVal.append(node.getTextContent());
-           }
-       }
-       return nodeVal.toString();
+    private static final class NodeEntry {
+        private final String name;
+        private final StringBuilder value;
+
+        private NodeEntry(String name, String value) {
+            this.name = name;
+            this.value = new StringBuilder(value);
+        }
     }
 
     /**
-     * Evaluates a {@link Node} node for the {@link Key}s in {@link XMLKey}.getKey() from the
-     * array of {@link XMLKey} keys. The function will evaluate all of its child {@link Node}s,
-     * and continue evaluating the child {@link Node}s of any child {@link Node}s evaluated until
-     * all child {@link Node}s have been evaluated or the {@link Node}.getNodeName() equals stopTag.
-     * If the {@link Node}.getNodeName() equals the stopTag, the {@link Node} that is being
-     * evaluated is added to {@link List}<{@link Node}> haltedNodes. If a {@link Node} has a
-     * {@link Key} being searched for, the calculated value of the {@link Node} is added to map
-     * with that {@link Key}. If there is an error with the found value, Key.REASON_FOR_ERROR is
-     * appended instead.
-     *
-     * @param node The {@link Node} that is being evaluated.
-     * @param keys The array of {@link XMLKey}s that correspond to the {@link Key}s being searched for.
-     * @param map The {@link Map}<{@link Key}, {@link Object}> where found keys and values are put.
-     * @param stopTag The {@link String} name of the tag name of {@link Node}s that stop being evaluated.
-     * @param haltedNodes All {@link Node}s that are stopped with stopTag are added to this {@link List}.
+     * Collects the elements and attributes of a single Dealer or Vehicle element as it is read,
+     * so that they can be parsed into a {@link Map} once the element has ended. Each element's own
+     * value is placed before its child elements, which are placed before its attributes.
+     * Attributes of an element are placed in order of their names.
      */
-    private void readXMLObject(Node node, XMLKey[] keys, Map<Key, Object> map, String stopTag, List<Node> haltedNodes) {
-        String tagName = node.getNodeName();
-        String nodeValue = parseNodeVal(node.getChildNodes());
-
-        if (tagName.startsWith("#text")) {return;}
+    private static final class XMLRecord {
+        private final XMLKey[] keys;
+        private final List<NodeEntry> entries = new ArrayList<>();
+        // The open elements of this record, innermost first, with the attributes placed after them.
+        private final Deque<NodeEntry> openEntries = new ArrayDeque<>();
+        private final Deque<List<NodeEntry>> openAttributes = new ArrayDeque<>();
+
+        private XMLRecord(XMLKey[] keys) {
+            this.keys = keys;
+        }
 
-        if (tagName.equalsIgnoreCase(stopTag)) {
-            if (haltedNodes != null) {
-                haltedNodes.add(node);
+        /**
+         * Places the element the reader is at the start of, and holds its attributes until it ends.
+         *
+         * @param reader The {@link XMLStreamReader} at a START_ELEMENT event.
+         */
+        private void startElement(XMLStreamReader reader) {
+            NodeEntry entry = new NodeEntry(getName(reader), "");
+            entries.add(entry);
+            openEntries.push(entry);
+
+            List<NodeEntry> attributes = new ArrayList<>();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String name = getAttributeName(reader, i);
+                attributes.add(new NodeEntry(name, reader.getAttributeValue(i)));
             }
-            return;
+            attributes.sort(Comparator.comparing(attribute -> attribute.name));
+            openAttributes.push(attributes);
         }
 
-        parseNode(keys, map, tagName, nodeValue);
-
-        if (node.getNodeType() == Node.ELEMENT_NODE) {
-            Element element = (Element) node;
+        /**
+         * Appends text to the value of the innermost open element.
+         *
+         * @param text The text found directly within the innermost open element.
+         */
+        private void text(String text) {
+            NodeEntry entry = openEntries.peek();
+            if (entry != null) {entry.value.append(text);}
+        }
 
-            NodeList childNodes = element.getChildNodes();
-            for (int i = 0; i < childNodes.getLength(); i++) {
-                Node newNode = childNodes.item(i);
-                readXMLObject(newNode, keys, map, stopTag, haltedNodes);
-            }
+        /**
+         * Ends the innermost open element, placing its attributes after its child elements.
+         *
+         * @return Whether the element of this record itself has ended.
+         */
+        private boolean endElement() {
+            openEntries.pop();
+            entries.addAll(openAttributes.pop());
+            return openEntries.isEmpty();
+        }
 
-            NamedNodeMap attributes = element.getAttributes();
-            for (int i = 0; i < attributes.getLength(); i++) {
-                Node atr = attributes.item(i);
-                parseNode(keys, map, atr.getNodeName(), atr.getNodeValue());
+        /**
+         * Parses every collected element and attribute into map.
+         *
+         * @param xmlIO The {@link XMLIO} whose {@link #parseNode(XMLKey[], Map, String, String)} is used.
+         * @param map The {@link Map}<{@link Key}, {@link Object}> where found keys and values are put.
+         */
+        private void parseInto(XMLIO xmlIO, Map<Key, Object> map) {
+            for (NodeEntry entry : entries) {
+                xmlIO.parseNode(keys, map, entry.name, entry.value.toString());
             }
         }
     }
 
     /**
-     * Parses the given {@link Document} in order to return a {@link List} of
-     * {@link Map}<{@link Key}, {@link Object}>s where each {@link Map} corresponds to the info
-     * held in a single Vehicle. If a tag name of a {@link Node} is not recognized, it is discarded
-     * but its child {@link Node}s are still evaluated. If a {@link Key} is found and an issue with
-     * the value is also found, the map is not discarded but rather a {@link Key}.REASON_FOR_ERROR
-     * is added instead.
+     * Returns the name of the element the reader is at, including its prefix if it has one.
      *
-     * @param document The {@link Document} that is being parsed.
-     * @return a {@link List}<{@link Map}>s where each {@link Map} corresponds to a single Vehicle.
+     * @param reader The {@link XMLStreamReader} at a START_ELEMENT event.
+     * @return The name of the element as written in the file.
      */
-    private List<Map<Key, Object>> parseDocument(Document document) {
-        List<Map<Key, Object>> maps = new ArrayList<>();
-
-        Element documentElement = document.getDocumentElement();
-
-        List<Node> haltedNodesDealer = new ArrayList<>();
-
-        readXMLObject(documentElement, null, null, "Dealer", haltedNodesDealer);
-
-        XMLKey[] dealerKeys = {XMLKey.D_ID, XMLKey.D_NAME};
-        XMLKey[] vehicleKeys = {XMLKey.TYPE, XMLKey.V_ID, XMLKey.PRICE,
-                XMLKey.PRICE_UNIT, XMLKey.MAKE, XMLKey.MODEL};
-
-        for (Node dealerNode : haltedNodesDealer) {
-
-            List<Node> haltedNodesVehicle = new ArrayList<>();
-            Map<Key, Object> dealerMap = new HashMap<>();
-            readXMLObject(dealerNode, dealerKeys, dealerMap, "Vehicle", haltedNodesVehicle);
-
-            for (Node vehicleNode : haltedNodesVehicle) {
-                Map<Key, Object> vehicleMap = new HashMap<>(dealerMap);
-                readXMLObject(vehicleNode, vehicleKeys, vehicleMap, null, null);
-                maps.add(vehicleMap);
-            }
-
-        }
+    private static String getName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        String name = reader.getLocalName();
+        return (prefix == null || prefix.isEmpty()) ? name : prefix + ":" + name;
+    }
 
-        return maps;
+    /**
+     * Returns the name of an attribute of the element the reader is at, including its prefix if it has one.
+     *
+     * @param reader The {@link XMLStreamReader} at a START_ELEMENT event.
+     * @param index The index of the attribute.
+     * @return The name of the attribute as written in the file.
+     */
+    private static String getAttributeName(XMLStreamReader reader, int index) {
+        String prefix = reader.getAttributePrefix(index);
+        String name = reader.getAttributeLocalName(index);
+        return (prefix == null || prefix.isEmpty()) ? name : prefix + ":" + name;
     }
 
     /**
@@ -242,32 +271,249 @@ class XMLIO extends FileIO {
      * @throws ReadWriteException Thrown if not in read ('r') mode.
      */
     public List<Map<Key, Object>> readInventory() throws ReadWriteException {
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        readInventory(maps::add);
+        return maps;
+    }
+
+    /**
+     * Reads the data stored in the file of this object in a single pass, passing a
+     * {@link Map}<{@link Key}, {@link Object}> for each Vehicle to consumer. Each {@link Map}
+     * holds the info of a single Vehicle and its Dealer. If a tag name is not recognized, it is
+     * discarded but the tags inside of it are still evaluated. If a {@link Key} is found and an
+     * issue with the value is also found, the map is not discarded but rather a
+     * {@link Key}.REASON_FOR_ERROR is added instead.
+     * </p>
+     * Dealer tags found inside of a Dealer are treated as part of the outer Dealer, and Vehicle tags
+     * found inside of a Vehicle as part of the outer Vehicle. Vehicle tags outside of a Dealer are
+     * discarded. As the info of a Dealer may come after its Vehicles, the Vehicles of a Dealer are
+     * passed to consumer once the Dealer has ended, so only a single Dealer is held in memory at once.
+     *
+     * @param consumer The {@link Consumer} that each {@link Map}<{@link Key}, {@link Object}> is passed to.
+     * @throws ReadWriteException Thrown if not in read ('r') mode, or if the file is not valid XML.
+     */
+    @Override
+    public void readInventory(Consumer<Map<Key, Object>> consumer) throws ReadWriteException {
         if (mode != 'r') {
             throw new ReadWriteException("Must be mode 'r', not mode '" + mode + "'.");
         }
 
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder;
-        Document document;
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+
+        try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
+            XMLStreamReader reader = factory.createXMLStreamReader(stream);
+            XMLRecord dealer = null;
+            XMLRecord vehicle = null;
+            List<Map<Key, Object>> dealerVehicles = new ArrayList<>();
+
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String tagName = getName(reader);
+                        if (dealer == null) {
+                            if (!tagName.equalsIgnoreCase("Dealer")) {continue;}
+                            dealer = new XMLRecord(DEALER_KEYS);
+                            dealer.startElement(reader);
+                        } else if (vehicle == null) {
+                            if (tagName.equalsIgnoreCase("Vehicle")) {
+                                vehicle = new XMLRecord(VEHICLE_KEYS);
+                                vehicle.startElement(reader);
+                            } else {
+                                dealer.startElement(reader);
+                            }
+                        } else {
+                            vehicle.startElement(reader);
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE -> {
+                        if (vehicle != null) {
+                            vehicle.text(reader.getText());
+                        } else if (dealer != null) {
+                            dealer.text(reader.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (vehicle != null) {
+                            if (vehicle.endElement()) {
+                                Map<Key, Object> vehicleMap = new VehicleRecord();
+                                vehicle.parseInto(this, vehicleMap);
+                                dealerVehicles.add(vehicleMap);
+                                vehicle = null;
+                            }
+                        } else if (dealer != null && dealer.endElement()) {
+                            Map<Key, Object> dealerMap = new VehicleRecord();
+                            dealer.parseInto(this, dealerMap);
+                            for (Map<Key, Object> vehicleMap : dealerVehicles) {
+                                // Vehicle keys never overlap Dealer keys, only a Vehicle's reason replaces the Dealer's.
+                                Map<Key, Object> map = new VehicleRecord(dealerMap);
+                                map.putAll(vehicleMap);
+                                StringPool.canonicalize(map);
+                                consumer.accept(map);
+                            }
+                            dealerVehicles.clear();
+                            dealer = null;
+                        }
+                    }
+                    default -> {}
+                }
+            }
+            reader.close();
+        } catch (XMLStreamException | IOException e) {
+            throw new ReadWriteException(e);
+        }
+    }
+
+    /**
+     * Takes a {@link List} of {@link Map}s to write to the file stored in this object.
+     *
+     * @param maps {@link List} of {@link Map}s to write to a file.
+     * @throws ReadWriteException Thrown if not in write ('w') mode, or if unable to write to the file.
+     */
+    public void writeInventory(List<Map<Key, Object>> maps) throws ReadWriteException {
+        writeInventory(maps.stream());
+    }
+
+    /**
+     * Writes each {@link Map} of data to the file stored in this object as it is taken from the
+     * {@link Stream}, in the same Dealers/Dealer/Vehicle structure that is read by
+     * {@link #readInventory(Consumer)}. Consecutive {@link Map}s with the same Dealer info share
+     * a single Dealer tag. Only the {@link Map} currently being written is held in memory.
+     * </p>
+     * Dealer info and the Vehicle's type, id, rental status and acquisition date are written as
+     * attributes, while the Vehicle's price, make and model are written as tags.
+     * Key.REASON_FOR_ERROR and null values are not written.
+     *
+     * @param maps {@link Stream} of {@link Map}s to write to a file.
+     * @throws ReadWriteException Thrown if not in write ('w') mode, or if unable to write to the file.
+     */
+    @Override
+    public void writeInventory(Stream<Map<Key, Object>> maps) throws ReadWriteException {
+        if (mode != 'w') {
+            throw new ReadWriteException("Must be mode 'w', not mode '" + mode + "'.");
+        }
+
+        XMLOutputFactory factory = XMLOutputFactory.newInstance();
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+            XMLStreamWriter writer = factory.createXMLStreamWriter(stream, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement("Dealers");
+
+            List<Object> openDealer = null;
+            Iterator<Map<Key, Object>> iterator = maps.iterator();
+            while (iterator.hasNext()) {
+                Map<Key, Object> map = iterator.next();
+                List<Object> dealer = new ArrayList<>();
+                for (XMLKey key : DEALER_KEYS) {dealer.add(map.get(key.getKey()));}
+
+                if (!dealer.equals(openDealer)) {
+                    if (openDealer != null) {
+                        writer.writeCharacters("\n" + INDENT);
+                        writer.writeEndElement();
+                    }
+                    writeDealerStart(writer, map);
+                    openDealer = dealer;
+                }
+                writeVehicle(writer, map);
+            }
 
-        try {
-            builder = factory.newDocumentBuilder();
-            document = builder.parse(file);
-        } catch (ParserConfigurationException | SAXException | IOException e) {
+            if (openDealer != null) {
+                writer.writeCharacters("\n" + INDENT);
+                writer.writeEndElement();
+            }
+            writer.writeCharacters("\n");
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException | IOException e) {
             throw new ReadWriteException(e);
         }
+    }
 
-        return parseDocument(document);
+    /**
+     * Writes the start of a Dealer tag holding the Dealer info in map, with the Dealer's
+     * name as a tag and the rest as attributes.
+     *
+     * @param writer The {@link XMLStreamWriter} being written to.
+     * @param map The {@link Map} holding the Dealer info.
+     * @throws XMLStreamException Thrown if unable to write.
+     */
+    private static void writeDealerStart(XMLStreamWriter writer, Map<Key, Object> map) throws XMLStreamException {
+        writer.writeCharacters("\n" + INDENT);
+        writer.writeStartElement("Dealer");
+        writeAttribute(writer, XMLKey.D_ID, map);
+        writeAttribute(writer, XMLKey.D_RECEIVING, map);
+        writeAttribute(writer, XMLKey.D_RENTING, map);
+        writeElement(writer, XMLKey.D_NAME, map, INDENT + INDENT);
     }
 
     /**
-     * Throws a {@link ReadWriteException} as {@link XMLIO} can not be used to write to files.
-     * Overrides {@link FileIO} abstract method.
+     * Writes a Vehicle tag holding the Vehicle info in map.
      *
-     * @param maps Discarded.
-     * @throws ReadWriteException Always thrown.
+     * @param writer The {@link XMLStreamWriter} being written to.
+     * @param map The {@link Map} holding the Vehicle info.
+     * @throws XMLStreamException Thrown if unable to write.
      */
-    public void writeInventory(List<Map<Key, Object>> maps) throws ReadWriteException {
-        throw new ReadWriteException("Can not write to XML Files.");
+    private static void writeVehicle(XMLStreamWriter writer, Map<Key, Object> map) throws XMLStreamException {
+        String indent = INDENT + INDENT + INDENT;
+        writer.writeCharacters("\n" + INDENT + INDENT);
+        writer.writeStartElement("Vehicle");
+        writeAttribute(writer, XMLKey.TYPE, map);
+        writeAttribute(writer, XMLKey.V_ID, map);
+        writeAttribute(writer, XMLKey.RENTED, map);
+        writeAttribute(writer, XMLKey.ACQUIRED, map);
+
+        if (map.get(XMLKey.PRICE.getKey()) != null) {
+            writer.writeCharacters("\n" + indent);
+            writer.writeStartElement("Price");
+            writeAttribute(writer, XMLKey.PRICE_UNIT, map);
+            writer.writeCharacters(String.valueOf(map.get(XMLKey.PRICE.getKey())));
+            writer.writeEndElement();
+        } else {
+            // Without a price the unit can't be an attribute of the price.
+            writeElement(writer, XMLKey.PRICE_UNIT, map, indent);
+        }
+        writeElement(writer, XMLKey.MAKE, map, indent);
+        writeElement(writer, XMLKey.MODEL, map, indent);
+
+        writer.writeCharacters("\n" + INDENT + INDENT);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes the value in map at key as an attribute of the current tag, if it is not null.
+     *
+     * @param writer The {@link XMLStreamWriter} being written to.
+     * @param key The {@link XMLKey} of the attribute.
+     * @param map The {@link Map} holding the value.
+     * @throws XMLStreamException Thrown if unable to write.
+     */
+    private static void writeAttribute(XMLStreamWriter writer, XMLKey key, Map<Key, Object> map)
+            throws XMLStreamException {
+        Object value = map.get(key.getKey());
+        if (value == null) {return;}
+        writer.writeAttribute(key.getName(), String.valueOf(value));
+    }
+
+    /**
+     * Writes the value in map at key as a tag on its own line, if it is not null. The tag name
+     * is the {@link XMLKey}'s name with the first letter capitalized.
+     *
+     * @param writer The {@link XMLStreamWriter} being written to.
+     * @param key The {@link XMLKey} of the tag.
+     * @param map The {@link Map} holding the value.
+     * @param indent The whitespace placed before the tag.
+     * @throws XMLStreamException Thrown if unable to write.
+     */
+    private static void writeElement(XMLStreamWriter writer, XMLKey key, Map<Key, Object> map, String indent)
+            throws XMLStreamException {
+        Object value = map.get(key.getKey());
+        if (value == null) {return;}
+        String name = key.getName();
+        writer.writeCharacters("\n" + indent);
+        writer.writeStartElement(Character.toUpperCase(name.charAt(0)) + name.substring(1));
+        writer.writeCharacters(String.valueOf(value));
+        writer.writeEndElement();
     }
 }
@@ -22,18 +22,14 @@ class XMLIOBuilder extends FileIOBuilder {
 
     /**
      * Returns a list o list of {@link String}s that correspond with the extensions of
-     * files that can be created with the given mode. Since {@link XMLIO} cannot write,
-     * an empty array is returned in write mode. Read mode returns EXTENSIONS.
+     * files that can be created with the given mode. {@link XMLIO} can both read and write,
+     * so EXTENSIONS is returned for either mode.
      *
      * @param mode A char representation of the mode associated with the extensions (read 'r' or write 'w').
      * @return an array of {@link String}s corresponding to the extensions that can be written with the mode.
      */
     @Override
     protected String[] getExtensions(char mode) {
-        if (mode == 'r') {
-            return EXTENSIONS;
-        } else {
-            return new String[]{};
-        }
+        return EXTENSIONS;
     }
 }
@@ -4,9 +4,18 @@ import javafiles.Key;
 import javafiles.customexceptions.*;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Represents a central manager for all dealerships within a vehicle dealership system.
@@ -16,17 +25,79 @@ import java.util.Map;
  * at dealerships, and transferring vehicles between rental and sales inventories. The class also handles
  * data import by mapping structured input into dealership inventories.
  * </p>
+ * A Company can be shared between threads. A Vehicle ID is claimed in vehicleOwners before the
+ * Vehicle is added to a Dealership, so two threads can never add the same Vehicle ID, and transfers
+ * hold the locks of both Dealerships so the Vehicle is never in both or neither of them.
  */
 public class Company {
-    private final ArrayList<Dealership> listDealerships;
+    // Number of rows a thread adds between reports to an ImportProgress.
+    private static final int PROGRESS_STEP = 4096;
+    // Read-only, replaced with a new List whenever a Dealership is added.
+    private volatile List<Dealership> listDealerships;
+    // Index of each Dealership in listDealerships, keyed by dealerId.
+    private final Map<String, Integer> dealershipIndexes;
+    // Owner of every Vehicle in the Company, keyed by normalized Vehicle ID.
+    private final Map<String, Dealership> vehicleOwners;
+    // Told of every Dealership added, after it has been added.
+    private final List<Consumer<Dealership>> dealershipListeners = new CopyOnWriteArrayList<>();
 
     public Company() {
-        this.listDealerships = new ArrayList<>();
+        this.listDealerships = List.of();
+        this.dealershipIndexes = new ConcurrentHashMap<>();
+        this.vehicleOwners = new ConcurrentHashMap<>();
     }
 
-    public void addDealership(Dealership dealership) {listDealerships.add(dealership);}
+    /**
+     * Adds a Dealership to the Company and registers every Vehicle already in its inventory
+     * as owned by that Dealership. Every listener added with
+     * {@link #addDealershipListener(Consumer)} is then told of it, on this thread.
+     *
+     * @param dealership The Dealership being added.
+     */
+    public void addDealership(Dealership dealership) {
+        synchronized (this) {
+            List<Dealership> dealerships = new ArrayList<>(listDealerships);
+            dealerships.add(dealership);
+            // Published before the index, so an index that is found always points into the List.
+            listDealerships = Collections.unmodifiableList(dealerships);
+            dealershipIndexes.putIfAbsent(dealership.getDealerId(), dealerships.size() - 1);
+            for (Vehicle vehicle : dealership.getInventorySnapshot()) {
+                if (vehicle.getVehicleId() != null) {
+                    vehicleOwners.put(Dealership.normalizeId(vehicle.getVehicleId()), dealership);
+                }
+            }
+        }
+        for (Consumer<Dealership> listener : dealershipListeners) {
+            listener.accept(dealership);
+        }
+    }
+
+    /**
+     * Adds a listener that is told of every Dealership added to the Company from now on, once it
+     * is in {@link #getListDealerships()}. Called on the thread that added the Dealership, without
+     * holding any lock, and must not block.
+     *
+     * @param listener The listener being added.
+     */
+    public void addDealershipListener(Consumer<Dealership> listener) {
+        dealershipListeners.add(Objects.requireNonNull(listener));
+    }
 
-    public ArrayList<Dealership> getListDealerships() {return listDealerships;}
+    /**
+     * Removes a listener added by {@link #addDealershipListener(Consumer)}.
+     *
+     * @param listener The listener being removed.
+     */
+    public void removeDealershipListener(Consumer<Dealership> listener) {
+        dealershipListeners.remove(listener);
+    }
+
+    /**
+     * Returns a copy of the List of every Dealership in the Company, in the order they were added.
+     *
+     * @return An ArrayList of every Dealership in the Company.
+     */
+    public ArrayList<Dealership> getListDealerships() {return new ArrayList<>(listDealerships);}
 
     /**
      * Takes a String representing a Dealership ID and returns the index of that
@@ -36,14 +107,7 @@ public class Company {
      * @return The index of the searched for Dealership in listDealerships (-1 if absent).
      */
     public int getDealershipIndex(String dealerId) {
-        Dealership dealership;
-        for (int i = 0; i < listDealerships.size(); i++) {
-            dealership = listDealerships.get(i);
-            if (dealership.getDealerId().equals(dealerId)) {
-                return i;
-            }
-        }
-        return -1;
+        return dealershipIndexes.getOrDefault(dealerId, -1);
     }
 
     /**
@@ -54,12 +118,11 @@ public class Company {
      * @return The Dealership target dealership (null if absent).
      */
     public Dealership findDealership(String dealerId) {
-        for (Dealership dealership : listDealerships) {
-            if (dealership.getDealerId().equals(dealerId)) {
-                return dealership;
-            }
+        int index = getDealershipIndex(dealerId);
+        if (index == -1) {
+            return null;
         }
-        return null;
+        return listDealerships.get(index);
     }
 
     /**
@@ -103,11 +166,33 @@ public class Company {
         Long acqDate = Key.VEHICLE_ACQUISITION_DATE.getVal(map, Long.class);
         String type = Key.VEHICLE_TYPE.getVal(map, String.class);
         String unit = Key.VEHICLE_PRICE_UNIT.getVal(map, String.class);
-        if (isVehicleInInventoryById(id)) {
+        String key = claimVehicleId(id, dealer);
+        boolean added = false;
+        try {
+            dealer.manualVehicleAdd(id, make, model, price, acqDate, type, unit);
+            added = true;
+        } finally {
+            if (!added && key != null) {vehicleOwners.remove(key, dealer);}
+        }
+    }
+
+    /**
+     * Claims a Vehicle ID for the given Dealership before the Vehicle is added to it. The claim
+     * must be released with vehicleOwners.remove(key, dealer) if the Vehicle is not added.
+     *
+     * @param id The id of the Vehicle being added.
+     * @param dealer The {@link Dealership} that will receive the Vehicle.
+     * @return The normalized Vehicle ID that was claimed.
+     * @throws VehicleAlreadyExistsException If a Dealership of the Company already holds the ID.
+     */
+    private String claimVehicleId(String id, Dealership dealer) throws VehicleAlreadyExistsException {
+        String key = Dealership.normalizeId(id);
+        if (key == null) {return null;}
+        if (vehicleOwners.putIfAbsent(key, dealer) != null) {
             throw new VehicleAlreadyExistsException("This vehicle is already located in the inventory. " +
                     "Vehicle ID: " + id + " was not added to dealership " + dealer.getDealerId() + ".");
         }
-        dealer.manualVehicleAdd(id, make, model, price, acqDate, type, unit);
+        return key;
     }
 
     /**
@@ -117,35 +202,367 @@ public class Company {
      * @return weather the Vehicle is in the company.
      */
     private boolean isVehicleInInventoryById(String id){
-        for (Dealership dealership : listDealerships) {
-            if (dealership.isVehicleInInventoryById(id)) {
-                return true;
+        return id != null && vehicleOwners.containsKey(Dealership.normalizeId(id));
+    }
+
+    /**
+     * Returns the {@link Dealership} that currently holds the Vehicle with the given ID.
+     *
+     * @param vehicleId The id of the Vehicle searched for.
+     * @return The Dealership holding the Vehicle (null if absent).
+     */
+    public Dealership findVehicleOwner(String vehicleId) {
+        if (vehicleId == null) {return null;}
+        return vehicleOwners.get(Dealership.normalizeId(vehicleId));
+    }
+
+    /**
+     * Retrieves the data for the Vehicle with the given ID, in the same form as each entry
+     * of {@link #getDataMap()}.
+     *
+     * @param vehicleId The id of the Vehicle searched for.
+     * @return A {@link Map} of the Vehicle's data (null if the Vehicle is not in the Company).
+     */
+    public Map<Key, Object> getVehicleDataMap(String vehicleId) {
+        Dealership owner = findVehicleOwner(vehicleId);
+        if (owner == null) {return null;}
+        Vehicle vehicle = owner.findVehicle(vehicleId);
+        if (vehicle == null) {return null;}
+        return owner.getDataMap(vehicle);
+    }
+
+    /**
+     * Adds a Vehicle to the given Dealership, so long as no Dealership in the Company already
+     * holds a Vehicle with the same ID.
+     * Calls {@link Dealership#addIncomingVehicle(Vehicle)}.
+     *
+     * @param dealer The {@link Dealership} that will receive the Vehicle.
+     * @param newVehicle The {@link Vehicle} being added.
+     * @throws DealershipNotAcceptingVehiclesException If the dealership is not currently accepting new vehicles.
+     * @throws VehicleAlreadyExistsException If the vehicle is already present in the Company.
+     */
+    public void addIncomingVehicle(Dealership dealer, Vehicle newVehicle)
+            throws DealershipNotAcceptingVehiclesException, VehicleAlreadyExistsException {
+        String key = claimVehicleId(newVehicle.getVehicleId(), dealer);
+        boolean added = false;
+        try {
+            dealer.addIncomingVehicle(newVehicle);
+            added = true;
+        } finally {
+            if (!added && key != null) {vehicleOwners.remove(key, dealer);}
+        }
+    }
+
+    /**
+     * Removes a Vehicle from the given Dealership's inventory.
+     * Calls {@link Dealership#removeVehicleFromInventory(Vehicle)}.
+     *
+     * @param dealer The {@link Dealership} the Vehicle is removed from.
+     * @param targetVehicle The vehicle to remove. Cannot be null.
+     * @return true if the dealership held the vehicle and it was removed, false otherwise.
+     * @throws IllegalArgumentException If the {@code targetVehicle} is null.
+     */
+    public boolean removeVehicleFromInventory(Dealership dealer, Vehicle targetVehicle) throws IllegalArgumentException {
+        // A Vehicle no longer held may share its ID with a newer Vehicle whose claim must stay.
+        boolean removed = dealer.removeVehicleFromInventory(targetVehicle);
+        if (removed && targetVehicle.getVehicleId() != null) {
+            vehicleOwners.remove(Dealership.normalizeId(targetVehicle.getVehicleId()), dealer);
+        }
+        return removed;
+    }
+
+    /**
+     * Transfers a Vehicle from one Dealership's inventory to another.
+     * Calls {@link Dealership#dealershipVehicleTransfer(Dealership, Vehicle)}.
+     * <p>
+     * Both Dealerships stay locked until the owner of the Vehicle has been updated, so other
+     * threads never see the owner and the Dealerships disagree.
+     *
+     * @param sender The {@link Dealership} sending the vehicle.
+     * @param receiver The {@link Dealership} receiving the vehicle.
+     * @param transferVehicle The vehicle to be transferred.
+     * @throws DuplicateSenderException If the sender and receiver dealership IDs are the same.
+     * @throws VehicleAlreadyExistsException If the receiving dealership already has the vehicle in its inventory.
+     * @throws DealershipNotAcceptingVehiclesException If the receiving dealership is not accepting vehicles.
+     * @throws VehicleNotFoundException If the sender does not hold the vehicle.
+     */
+    public void dealershipVehicleTransfer(Dealership sender, Dealership receiver, Vehicle transferVehicle)
+            throws DuplicateSenderException, VehicleAlreadyExistsException, DealershipNotAcceptingVehiclesException {
+        boolean senderFirst = sender.locksBefore(receiver);
+        try {
+            synchronized (senderFirst ? sender : receiver) {
+                synchronized (senderFirst ? receiver : sender) {
+                    sender.dealershipVehicleTransfer(receiver, transferVehicle);
+                    vehicleOwners.put(Dealership.normalizeId(transferVehicle.getVehicleId()), receiver);
+                }
             }
+        } finally {
+            // Not published by the Dealerships while this still held their locks.
+            sender.publishChanges();
+            receiver.publishChanges();
+        }
+    }
+
+    /**
+     * Transfers a batch of Vehicles from one Dealership's inventory to another.
+     * Calls {@link Dealership#dealershipVehicleTransfer(Dealership, Collection)}.
+     *
+     * @param sender The {@link Dealership} sending the vehicles.
+     * @param receiver The {@link Dealership} receiving the vehicles.
+     * @param transferVehicles The vehicles to be transferred.
+     * @return A {@link Map} from each vehicle that was not transferred to the reason why.
+     * @throws DuplicateSenderException If the sender and receiver dealership are the same.
+     */
+    public Map<Vehicle, Exception> transferVehicles(Dealership sender, Dealership receiver,
+                                                    Collection<Vehicle> transferVehicles)
+            throws DuplicateSenderException {
+        boolean senderFirst = sender.locksBefore(receiver);
+        try {
+            synchronized (senderFirst ? sender : receiver) {
+                synchronized (senderFirst ? receiver : sender) {
+                    Map<Vehicle, Exception> failures = sender.dealershipVehicleTransfer(receiver, transferVehicles);
+                    for (Vehicle vehicle : transferVehicles) {
+                        if (!failures.containsKey(vehicle)) {
+                            vehicleOwners.put(Dealership.normalizeId(vehicle.getVehicleId()), receiver);
+                        }
+                    }
+                    return failures;
+                }
+            }
+        } finally {
+            // Not published by the Dealerships while this still held their locks.
+            sender.publishChanges();
+            receiver.publishChanges();
         }
-        return false;
     }
 
     /**
      * Takes a List of Map<Key, Object>s representing a List of Vehicle information
      * and writes the data in each map to the corresponding Dealership.
+     * <p>
+     * The import runs in three stages. Every Vehicle is first created in parallel, as creation
+     * does not depend on the Company. Each row is then checked in order, resolving its Dealership
+     * and claiming its Vehicle ID, so bad rows are found exactly as if added one at a time.
+     * Finally, the rows of each Dealership are added to it, with different Dealerships in parallel.
      *
      * @param data The List of Maps containing Vehicle information to be added to inventory.
+     * @return A List of the Maps that could not be added to the inventory, in the order given.
      */
     public List<Map<Key, Object>> dataToInventory(List<Map<Key, Object>> data) {
+        return dataToInventory(data, null);
+    }
+
+    /**
+     * Told how far {@link #dataToInventory(List, ImportProgress)} has got, such as to show the
+     * progress of a large inventory imported in the background.
+     */
+    public interface ImportProgress {
+        /**
+         * Called once every Dealership of the import has been added to the Company, before their
+         * Vehicles are. Their receiving and renting statuses are not yet set.
+         */
+        void dealershipsAdded();
+
+        /**
+         * Called as the Vehicles of the import are added, possibly from several threads at once.
+         *
+         * @param added The number of rows added to a Dealership so far, including rows that failed.
+         * @param total The number of rows being added.
+         */
+        void vehiclesAdded(int added, int total);
+    }
+
+    /**
+     * Takes a List of Map<Key, Object>s representing a List of Vehicle information and writes
+     * the data in each map to the corresponding Dealership, as {@link #dataToInventory(List)}
+     * does, telling progress how far it has got.
+     *
+     * @param data The List of Maps containing Vehicle information to be added to inventory.
+     * @param progress Told of each stage of the import, or null if no one is told.
+     * @return A List of the Maps that could not be added to the inventory, in the order given.
+     */
+    public List<Map<Key, Object>> dataToInventory(List<Map<Key, Object>> data, ImportProgress progress) {
+        if (data == null) {return new ArrayList<>();}
+
+        ImportRow[] rows = data.parallelStream().map(ImportRow::new).toArray(ImportRow[]::new);
+
+        Map<Dealership, Map<Key, Object>> newDealershipStat = new HashMap<>();
+        Map<Dealership, List<ImportRow>> shards = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            Dealership dealership = resolveImportRow(row, newDealershipStat);
+            if (dealership != null) {
+                shards.computeIfAbsent(dealership, dealer -> new ArrayList<>()).add(row);
+            }
+        }
+
+        int total = shards.values().stream().mapToInt(List::size).sum();
+        AtomicInteger added = new AtomicInteger();
+        if (progress != null) {progress.dealershipsAdded();}
+        shards.entrySet().parallelStream().forEach(shard -> {
+            int unreported = 0;
+            for (ImportRow row : shard.getValue()) {
+                try {
+                    shard.getKey().addIncomingVehicle(row.vehicle);
+                } catch (VehicleAlreadyExistsException | DealershipNotAcceptingVehiclesException e) {
+                    Key.REASON_FOR_ERROR.putValid(row.map, new ReadWriteException(e));
+                    row.bad = true;
+                }
+                if (progress != null && ++unreported == PROGRESS_STEP) {
+                    progress.vehiclesAdded(added.addAndGet(unreported), total);
+                    unreported = 0;
+                }
+            }
+            if (progress != null && unreported > 0) {
+                progress.vehiclesAdded(added.addAndGet(unreported), total);
+            }
+        });
+
         List<Map<Key, Object>> badInventoryMaps = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (!row.bad) {continue;}
+            badInventoryMaps.add(row.map);
+            if (row.vehicle != null) {
+                vehicleOwners.remove(Dealership.normalizeId(row.vehicle.getVehicleId()), row.dealership);
+            }
+        }
+        applyNewDealershipStatuses(newDealershipStat);
+        return badInventoryMaps;
+    }
+
+    /**
+     * A single row of {@link #dataToInventory(List)}, holding the Vehicle created from its
+     * Map, or the reason it could not be created.
+     */
+    private static class ImportRow {
+        private final Map<Key, Object> map;
+        private Vehicle vehicle;
+        private Exception creationFailure;
+        private Dealership dealership;
+        private boolean bad;
+
+        /**
+         * Creates the Vehicle of map, unless map is already known to be bad.
+         *
+         * @param map The Map containing Vehicle information to be added to inventory.
+         */
+        private ImportRow(Map<Key, Object> map) {
+            this.map = map;
+            if (map.containsKey(Key.REASON_FOR_ERROR) || Key.DEALERSHIP_ID.getVal(map, String.class) == null) {
+                return;
+            }
+            try {
+                vehicle = VehicleCreator.getInstance().createVehicle(map);
+            } catch (InvalidVehicleTypeException | InvalidPriceException | MissingCriticalInfoException e) {
+                creationFailure = e;
+            }
+        }
+    }
 
-        if (data == null) {return badInventoryMaps;}
+    /**
+     * Checks a row of {@link #dataToInventory(List)} in the same order as {@link InventoryLoader},
+     * creating its Dealership if needed. If the Vehicle can be added, its ID is claimed for the
+     * Dealership so that later rows see it as a duplicate.
+     *
+     * @param row The row being checked.
+     * @param newDealershipStat The first Map of each Dealership created during the import.
+     * @return The Dealership the Vehicle is added to (null if the row is bad).
+     */
+    private Dealership resolveImportRow(ImportRow row, Map<Dealership, Map<Key, Object>> newDealershipStat) {
+        Map<Key, Object> map = row.map;
+        row.bad = true;
+        if (map.containsKey(Key.REASON_FOR_ERROR)) {return null;}
+
+        String id = Key.DEALERSHIP_ID.getVal(map, String.class);
+        if (id == null) {
+            MissingCriticalInfoException cause = new MissingCriticalInfoException("No dealerID.");
+            Key.REASON_FOR_ERROR.putValid(map, new ReadWriteException(cause));
+            return null;
+        }
+
+        String v_id = Key.VEHICLE_ID.getVal(map, String.class);
+        if (v_id != null && isVehicleInInventoryById(v_id)) {
+            VehicleAlreadyExistsException cause = new VehicleAlreadyExistsException("Duplicate Vehicle ID in inventory");
+            Key.REASON_FOR_ERROR.putValid(map, new ReadWriteException(cause));
+            row.vehicle = null;
+            return null;
+        }
+
+        Dealership dealership = findDealership(id);
+        if (dealership == null) {
+            dealership = new Dealership(id, Key.DEALERSHIP_NAME.getVal(map, String.class));
+            addDealership(dealership);
+            newDealershipStat.put(dealership, map);
+        }
+
+        if (row.creationFailure != null) {
+            Key.REASON_FOR_ERROR.putValid(map, new ReadWriteException(row.creationFailure));
+            return null;
+        }
+
+        row.dealership = dealership;
+        if (dealership.getStatusAcquiringVehicle()
+                && vehicleOwners.putIfAbsent(Dealership.normalizeId(v_id), dealership) != null) {
+            // Claimed by another thread since the duplicate check above.
+            VehicleAlreadyExistsException cause = new VehicleAlreadyExistsException("Duplicate Vehicle ID in inventory");
+            Key.REASON_FOR_ERROR.putValid(map, new ReadWriteException(cause));
+            row.vehicle = null;
+            return null;
+        }
+        row.bad = false;
+        return dealership;
+    }
+
+    /**
+     * Applies the receiving and renting statuses of every Dealership created while loading.
+     * They are applied last, so that the Vehicles of a new Dealership are added regardless of them.
+     *
+     * @param newDealershipStat The first Map of each Dealership created while loading.
+     */
+    private static void applyNewDealershipStatuses(Map<Dealership, Map<Key, Object>> newDealershipStat) {
+        for (Dealership dealership : newDealershipStat.keySet()) {
+            Map<Key, Object> map = newDealershipStat.get(dealership);
+            dealership.setReceivingVehicle(Key.DEALERSHIP_RECEIVING_STATUS.getVal(map, Boolean.class));
+            dealership.setRentingVehicles(Key.DEALERSHIP_RENTING_STATUS.getVal(map, Boolean.class));
+        }
+        newDealershipStat.clear();
+    }
+
+    /**
+     * Returns an {@link InventoryLoader} that adds Vehicle information to this Company one
+     * Map at a time, so that inventories can be read and added without holding every Map at once.
+     *
+     * @return A new {@link InventoryLoader} for this Company.
+     */
+    public InventoryLoader inventoryLoader() {
+        return new InventoryLoader();
+    }
+
+    /**
+     * Adds Maps of Vehicle information to the Company as they are accepted, with the same
+     * result as passing all of them to {@link #dataToInventory(List)}. {@link #finish()}
+     * must be called once every Map has been accepted.
+     */
+    public class InventoryLoader implements Consumer<Map<Key, Object>> {
+        private final List<Map<Key, Object>> badInventoryMaps = new ArrayList<>();
 
         // Used to ensure that the cars for new Dealerships are
         // added before considering rental or receiving statuses.
         // Assumes that all Vehicles from the same dealership have
         // the same rental and receiving statuses.
-        Map<Dealership, Map<Key, Object>> newDealershipStat = new HashMap<>();
+        private final Map<Dealership, Map<Key, Object>> newDealershipStat = new HashMap<>();
 
-        for (Map<Key, Object> map: data) {
+        private InventoryLoader() {}
+
+        /**
+         * Writes the data in map to the corresponding Dealership, creating it if needed.
+         *
+         * @param map The Map containing Vehicle information to be added to inventory.
+         */
+        @Override
+        public void accept(Map<Key, Object> map) {
             if (map.containsKey(Key.REASON_FOR_ERROR)) {
                 badInventoryMaps.add(map);
-                continue;
+                return;
             }
 
             String id = Key.DEALERSHIP_ID.getVal(map, String.class);
@@ -156,7 +573,7 @@ public class Company {
                 ReadWriteException exception = new ReadWriteException(cause);
                 Key.REASON_FOR_ERROR.putValid(map, exception);
                 badInventoryMaps.add(map);
-                continue;
+                return;
             }
 
             String v_id = Key.VEHICLE_ID.getVal(map, String.class);
@@ -166,7 +583,7 @@ public class Company {
                     ReadWriteException exception = new ReadWriteException(cause);
                     Key.REASON_FOR_ERROR.putValid(map, exception);
                     badInventoryMaps.add(map);
-                    continue;
+                    return;
                 }
             }
 
@@ -178,18 +595,29 @@ public class Company {
                 newDealershipStat.put(dealership, map);
             }
 
+            String key = Dealership.normalizeId(v_id);
+            if (key != null && vehicleOwners.putIfAbsent(key, dealership) != null) {
+                // Claimed by another thread since the duplicate check above.
+                VehicleAlreadyExistsException cause = new VehicleAlreadyExistsException("Duplicate Vehicle ID in inventory");
+                Key.REASON_FOR_ERROR.putValid(map, new ReadWriteException(cause));
+                badInventoryMaps.add(map);
+                return;
+            }
             if ( !dealership.dataToInventory(map) ) {
+                if (key != null) {vehicleOwners.remove(key, dealership);}
                 badInventoryMaps.add(map);
             }
         }
 
-        for (Dealership dealership : newDealershipStat.keySet()) {
-            Map<Key, Object> map = newDealershipStat.get(dealership);
-            dealership.setReceivingVehicle(Key.DEALERSHIP_RECEIVING_STATUS.getVal(map, Boolean.class));
-            dealership.setRentingVehicles(Key.DEALERSHIP_RENTING_STATUS.getVal(map, Boolean.class));
+        /**
+         * Applies the receiving and renting statuses of every Dealership created while loading.
+         *
+         * @return A List of the accepted Maps that could not be added to the inventory.
+         */
+        public List<Map<Key, Object>> finish() {
+            applyNewDealershipStatuses(newDealershipStat);
+            return badInventoryMaps;
         }
-
-        return badInventoryMaps;
     }
 
     /**
@@ -213,6 +641,18 @@ public class Company {
         return list;
     }
 
+    /**
+     * Returns a {@link Stream} of the same Maps as {@link #getDataMap()}, in the same order,
+     * where each Map is only created once it is reached. Used to write the full inventory
+     * without holding the data of every Vehicle at once. The Company must not change while
+     * the {@link Stream} is in use.
+     *
+     * @return A {@link Stream} of {@link Map} Objects, each representing a Vehicle.
+     */
+    public Stream<Map<Key, Object>> streamDataMap() {
+        return listDealerships.stream().flatMap(Dealership::streamDataMap);
+    }
+
     /**
      * Generates a formatted list of Dealership IDs.
      * <p>
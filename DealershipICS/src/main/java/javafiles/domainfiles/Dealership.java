@@ -2,8 +2,13 @@ package javafiles.domainfiles;
 
 import javafiles.customexceptions.*;
 import javafiles.Key;
+import javafiles.VehicleRecord;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Represents a dealership that manages vehicle sales and rentals.
@@ -12,20 +17,53 @@ import java.util.*;
  * sales and rental inventories. It also allows for enabling and disabling vehicle acquisition
  * and rental services.
  * <p>
- * The dealership is identified by a unique dealer ID and maintains separate inventories for
- * vehicles available for sale and rental.
+ * The dealership is identified by a unique dealer ID and keeps its vehicles available for sale
+ * and rental in a single {@link VehicleInventory}, partitioned by rental status. A columnar
+ * inventory also keeps the attributes of its vehicles in {@link VehicleColumns}, which takes a
+ * fraction of the memory of a Vehicle holding its own, for very large inventories.
+ * <p>
+ * A Dealership can be shared between threads. Every change to its inventory is made while
+ * holding the Dealership's lock (its monitor), and {@link #getInventorySnapshot()} can be read
+ * without locking. The read-only lists returned by {@link #getSaleVehicles()},
+ * {@link #getRentalVehicles()} and {@link #getTotalInventory()} are views of the inventory itself,
+ * and must only be used where the Dealership is not shared.
+ * <p>
+ * Every change to the inventory is also published to the Dealership's {@link InventoryListener}s,
+ * so a view of the inventory can follow it change by change instead of copying it again, see
+ * {@link #addInventoryListener(InventoryListener)}. The changes are taken while holding the lock
+ * and published in order once it is released, so listeners never run while it is held.
  * <p>
  * Authors: Patrick McLucas, Christopher Engelhart
  */
 
 public class Dealership {
+    // Whether Dealerships created without saying so keep a columnar inventory.
+    private static final boolean COLUMNAR_BY_DEFAULT = Boolean.getBoolean("dealership.inventory.columnar");
+    private static final AtomicLong nextLockOrder = new AtomicLong();
+    // Dealerships that are locked together are locked in order of dealer ID, then of creation.
+    private static final Comparator<Dealership> LOCK_ORDER = Comparator
+            .comparing((Dealership dealership) -> dealership.dealerId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(dealership -> dealership.lockOrder);
+
     private final String dealerId;
-    private String name;
-    private final ArrayList<Vehicle> salesInventory;
-    private final ArrayList<Vehicle> rentalInventory;
+    private volatile String name;
+    private final VehicleInventory inventory;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
     private static final VehicleFactory vehicleFactory = VehicleCreator.getInstance(); // Singleton
-    private boolean receivingVehicle;
-    private boolean rentingVehicles;
+    private volatile boolean receivingVehicle;
+    private volatile boolean rentingVehicles;
+    // Breaks ties in LOCK_ORDER between Dealerships with the same dealer ID.
+    private final long lockOrder = nextLockOrder.getAndIncrement();
+    // Read-only copy of the full inventory, rebuilt on the next read after a change (null when stale).
+    private volatile List<Vehicle> inventorySnapshot;
+    // Rental strategies replacing the shared ones of a vehicle type, by normalized type. Replaced, never changed.
+    private volatile Map<String, RentalStrategy> rentalStrategies = Map.of();
+    // The listeners told of each change, replaced rather than changed.
+    private volatile List<InventoryListener> inventoryListeners = List.of();
+    // Changes taken while holding the lock that are waiting to be published, oldest first.
+    private final Queue<Runnable> pendingPublications = new ConcurrentLinkedQueue<>();
+    // Held while publishing, so changes reach the listeners in the order they were made.
+    private final Object publishLock = new Object();
 
     /**
      * Constructs a new Dealership with the specified dealer ID and name.
@@ -34,6 +72,19 @@ public class Dealership {
      * @param name     The name of the dealership.
      */
     public Dealership(String dealerId, String name) {
+        this(dealerId, name, COLUMNAR_BY_DEFAULT);
+    }
+
+    /**
+     * Constructs a new Dealership with the specified dealer ID and name, choosing whether its
+     * inventory is columnar.
+     *
+     * @param dealerId The unique identifier for the dealership.
+     * @param name     The name of the dealership.
+     * @param columnarInventory Whether the attributes of the dealership's vehicles are kept in
+     *                          {@link VehicleColumns} while it holds them.
+     */
+    public Dealership(String dealerId, String name, boolean columnarInventory) {
         // necessary
         this.dealerId = dealerId;
 
@@ -42,8 +93,7 @@ public class Dealership {
         this.receivingVehicle = true;
         this.rentingVehicles = false;
 
-        salesInventory = new ArrayList<>();
-        rentalInventory = new ArrayList<>();
+        inventory = new VehicleInventory(columnarInventory);
     }
 
     // Getters:
@@ -51,8 +101,8 @@ public class Dealership {
     public String getDealerName () {return name;}
     public boolean getStatusAcquiringVehicle() {return receivingVehicle;}
     public boolean getRentingVehicles() {return rentingVehicles;}
-    public ArrayList<Vehicle> getSaleVehicles() {return salesInventory;}
-    public ArrayList<Vehicle> getRentalVehicles() {return rentalInventory;}
+    public List<Vehicle> getSaleVehicles() {return inventory.sales();}
+    public List<Vehicle> getRentalVehicles() {return inventory.rental();}
 
     // Setters:
     public void setName(String name) {this.name = name;}
@@ -63,6 +113,158 @@ public class Dealership {
         rentingVehicles = Objects.requireNonNullElse(status, false);
     }
 
+    /**
+     * Replaces the rental strategy of a vehicle type for this dealership's vehicles only, such as a
+     * seasonal policy or a cap on the number of vehicles rented at once. One strategy is used for
+     * every vehicle of the type, and is only called while holding the dealership's lock.
+     *
+     * @param vehicleType The type of vehicle whose rental strategy is replaced.
+     * @param strategy The strategy used for vehicles of the type, or null to go back to the shared
+     *                 strategy of each vehicle from the {@link RentalStrategyRegistry}.
+     */
+    public synchronized void setRentalStrategy(String vehicleType, RentalStrategy strategy) {
+        Map<String, RentalStrategy> strategies = new HashMap<>(rentalStrategies);
+        if (strategy == null) {
+            strategies.remove(RentalStrategyRegistry.normalizeType(vehicleType));
+        } else {
+            strategies.put(RentalStrategyRegistry.normalizeType(vehicleType), strategy);
+        }
+        rentalStrategies = Map.copyOf(strategies);
+    }
+
+    /**
+     * Adds a listener that is told of every later change to the inventory, each as a list of
+     * {@link InventoryChange}s that turns {@link #getTotalInventory()} as it was into the
+     * inventory as it is. Changes are only recorded while there is a listener.
+     *
+     * @param listener The {@link InventoryListener} being added.
+     * @return A read-only copy of the inventory as it was when the listener was added, which the
+     *         first changes published to it apply to.
+     */
+    public synchronized List<Vehicle> addInventoryListener(InventoryListener listener) {
+        List<InventoryListener> listeners = new ArrayList<>(inventoryListeners);
+        listeners.add(Objects.requireNonNull(listener));
+        inventoryListeners = List.copyOf(listeners);
+        inventory.setRecording(true);
+        return getInventorySnapshot();
+    }
+
+    /**
+     * Removes a listener added by {@link #addInventoryListener(InventoryListener)}. Changes made
+     * before it was removed may still be published to it.
+     *
+     * @param listener The {@link InventoryListener} being removed.
+     */
+    public synchronized void removeInventoryListener(InventoryListener listener) {
+        List<InventoryListener> listeners = new ArrayList<>(inventoryListeners);
+        listeners.remove(listener);
+        inventoryListeners = List.copyOf(listeners);
+        if (listeners.isEmpty()) {
+            inventory.setRecording(false);
+        }
+    }
+
+    /**
+     * Marks the inventory snapshot as stale after a change to the inventory, and takes the changes
+     * made since the last call to be published to the current {@link InventoryListener}s by
+     * {@link #publishChanges()}. Must be called while holding the Dealership's lock.
+     */
+    private void inventoryChanged() {
+        inventorySnapshot = null;
+        List<InventoryChange> changes = inventory.takeChanges();
+        if (changes.isEmpty()) {return;}
+        List<InventoryChange> published = Collections.unmodifiableList(changes);
+        List<InventoryListener> listeners = inventoryListeners;
+        pendingPublications.add(() -> {
+            for (InventoryListener listener : listeners) {
+                listener.inventoryChanged(this, published);
+            }
+        });
+    }
+
+    /**
+     * Publishes every change taken by {@link #inventoryChanged()} to its listeners, oldest first.
+     * Must be called after releasing the Dealership's lock. While the calling thread still holds
+     * it, such as inside a transfer, nothing is published, and the caller that releases it last
+     * publishes the changes instead.
+     */
+    void publishChanges() {
+        if (pendingPublications.isEmpty() || Thread.holdsLock(this)) {return;}
+        synchronized (publishLock) {
+            Runnable publication;
+            while ((publication = pendingPublications.poll()) != null) {
+                publication.run();
+            }
+        }
+    }
+
+    /**
+     * Returns whether this Dealership must be locked before other when locking both.
+     *
+     * @param other The other Dealership being locked.
+     * @return true if this Dealership is locked first, false otherwise.
+     */
+    boolean locksBefore(Dealership other) {
+        return LOCK_ORDER.compare(this, other) < 0;
+    }
+
+    /**
+     * Returns a read-only copy of the full inventory, sales Vehicles first, that does not change
+     * when the Dealership does. Unless the inventory has changed since the last call, the same
+     * copy is returned without locking, so it can be read freely from any thread.
+     *
+     * @return A read-only {@link List} of every Vehicle in the Dealership.
+     */
+    public List<Vehicle> getInventorySnapshot() {
+        List<Vehicle> snapshot = inventorySnapshot;
+        if (snapshot != null) {return snapshot;}
+        synchronized (this) {
+            if (inventorySnapshot == null) {
+                inventorySnapshot = List.copyOf(inventory.all());
+            }
+            return inventorySnapshot;
+        }
+    }
+
+    /**
+     * Takes a Vehicle ID and returns the normalized form used as the key of the inventory
+     * indexes. Whitespace is removed and the ID is lowercased, so two IDs are considered
+     * the same Vehicle if they only differ in whitespace or case.
+     *
+     * @param vehicleId The ID of the Vehicle to normalize.
+     * @return The normalized Vehicle ID (null if vehicleId is null).
+     */
+    static String normalizeId(String vehicleId) {
+        if (vehicleId == null) {return null;}
+        return WHITESPACE.matcher(vehicleId).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the Vehicle in the sales or rental inventory with exactly the given ID.
+     *
+     * @param vehicleID The ID of the vehicle to retrieve.
+     * @param rental Whether the rental inventory is searched, rather than the sales inventory.
+     * @return The Vehicle with the ID (null if absent).
+     */
+    private Vehicle getIndexedVehicle(String vehicleID, boolean rental) {
+        Vehicle vehicle = inventory.get(normalizeId(vehicleID));
+        if (vehicle != null && vehicle.getVehicleId().equals(vehicleID) && inventory.isRental(vehicle) == rental) {
+            return vehicle;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves a vehicle from either inventory by its ID. Unlike
+     * {@link #getVehicleFromSalesInventory(String)}, the ID is normalized before searching.
+     *
+     * @param vehicleID The ID of the vehicle to retrieve.
+     * @return The Vehicle object (null if absent).
+     */
+    public synchronized Vehicle findVehicle(String vehicleID) {
+        return inventory.get(normalizeId(vehicleID));
+    }
+
     /**
      * Retrieves a vehicle from the sales inventory by its ID.
      *
@@ -70,11 +272,10 @@ public class Dealership {
      * @return The Vehicle object.
      * @throws VehicleNotFoundException if the vehicle is not found.
      */
-    public Vehicle getVehicleFromSalesInventory(String vehicleID) throws VehicleNotFoundException {
-        for (Vehicle vehicle : salesInventory) {
-            if (vehicle.getVehicleId()!= null && vehicle.getVehicleId().equals(vehicleID)) {
-                return vehicle;
-            }
+    public synchronized Vehicle getVehicleFromSalesInventory(String vehicleID) throws VehicleNotFoundException {
+        Vehicle vehicle = getIndexedVehicle(vehicleID, false);
+        if (vehicle != null) {
+            return vehicle;
         }
         throw new VehicleNotFoundException("Vehicle with ID: " + vehicleID + " not found in sales inventory.");
     }
@@ -86,34 +287,26 @@ public class Dealership {
      * @return The Vehicle object.
      * @throws VehicleNotFoundException if the vehicle is not found.
      */
-    public Vehicle getVehicleFromRentalInventory(String vehicleID) throws VehicleNotFoundException {
-        for (Vehicle vehicle : rentalInventory) {
-            if (vehicle.getVehicleId()!= null && vehicle.getVehicleId().equals(vehicleID)) {
-                return vehicle;
-            }
+    public synchronized Vehicle getVehicleFromRentalInventory(String vehicleID) throws VehicleNotFoundException {
+        Vehicle vehicle = getIndexedVehicle(vehicleID, true);
+        if (vehicle != null) {
+            return vehicle;
         }
         throw new VehicleNotFoundException("Vehicle with ID: " + vehicleID + " not found in rental inventory.");
     }
 
     /**
-     * Checks if a vehicle is already present in the given inventory.
+     * Checks if a vehicle with the same ID is already present in the given inventory.
      *
      * @param newVehicle The vehicle to check for in the inventory.
-     * @param inventory The inventory (list) where the vehicle might be located.
+     * @param rental Whether the rental inventory is checked, rather than the sales inventory.
      * @return {@code true} if the vehicle is found in the inventory, {@code false} otherwise.
      *
      * @author Christopher Engelhart
      */
-    private boolean isVehicleInInventory(Vehicle newVehicle, List<Vehicle> inventory) {
-
-        for (Vehicle vehicle : inventory)
-        {
-            if (vehicle.getVehicleId().equals(newVehicle.getVehicleId()))
-            {
-                return true;
-            }
-        }
-        return false;
+    private boolean isVehicleInInventory(Vehicle newVehicle, boolean rental) {
+        Vehicle held = inventory.get(normalizeId(newVehicle.getVehicleId()));
+        return held != null && inventory.isRental(held) == rental;
     }
 
     /**
@@ -122,15 +315,8 @@ public class Dealership {
      * @param newId The id of the {@link Vehicle} to check for in the inventory.
      * @return {@code true} if the {@link Vehicle} is found in the inventory, {@code false} otherwise.
      */
-    protected boolean isVehicleInInventoryById(String newId) {
-        newId = newId.trim().replaceAll("\\s+", "");
-        for (Vehicle vehicle : getTotalInventory()) {
-            String existingVehicleId = vehicle.getVehicleId().trim().replaceAll("\\s+", "");
-            if (existingVehicleId.equalsIgnoreCase(newId)) {
-                return true;
-            }
-        }
-        return false;
+    protected synchronized boolean isVehicleInInventoryById(String newId) {
+        return inventory.containsKey(normalizeId(newId));
     }
 
     /**
@@ -147,7 +333,27 @@ public class Dealership {
     public void addIncomingVehicle(Vehicle newVehicle) throws DealershipNotAcceptingVehiclesException,
             VehicleAlreadyExistsException
     {
+        synchronized (this) {
+            checkCanReceive(newVehicle);
+
+            inventory.add(newVehicle, false);
+            inventoryChanged();
+        }
+        publishChanges();
+    }
 
+    /**
+     * Checks that {@link #addIncomingVehicle(Vehicle)} would accept the given Vehicle, without
+     * changing the inventory. Must be called while holding the Dealership's lock for the result
+     * to still hold when the Vehicle is added.
+     *
+     * @param newVehicle The {@link Vehicle} object that would be added to the inventory.
+     * @throws DealershipNotAcceptingVehiclesException If the dealership is not currently accepting new vehicles.
+     * @throws VehicleAlreadyExistsException If the vehicle is already present in either the sales or rental inventory.
+     */
+    synchronized void checkCanReceive(Vehicle newVehicle) throws DealershipNotAcceptingVehiclesException,
+            VehicleAlreadyExistsException
+    {
         // Checks if the dealership is not accepting new vehicles
         if (!receivingVehicle) {
             throw new DealershipNotAcceptingVehiclesException("Dealership " + this.dealerId + " is not accepting new " +
@@ -155,20 +361,17 @@ public class Dealership {
                     " was not added to Dealership: " + this.dealerId + ".");
         }
 
-        if (isVehicleInInventory(newVehicle, salesInventory))
+        if (isVehicleInInventory(newVehicle, false))
         {
             throw new VehicleAlreadyExistsException("This vehicle is already located in the sales inventory. Vehicle ID: "
                     + newVehicle.getVehicleId() + " was not added to dealership " + this.dealerId + ".");
         }
 
-        if (isVehicleInInventory(newVehicle, rentalInventory))
+        if (isVehicleInInventory(newVehicle, true))
         {
             throw new VehicleAlreadyExistsException("This vehicle is already located in the rental inventory. Vehicle ID: "
                     + newVehicle.getVehicleId() + " was not added to dealership " + this.dealerId + ".");
         }
-
-
-        this.salesInventory.add(newVehicle);
     }
 
     /**
@@ -200,16 +403,26 @@ public class Dealership {
 
     /**
      * Gets the complete inventory of dealership. A sum of all vehicles in rental and
-     * sales inventory.
+     * sales inventory, sales vehicles first.
+     * <p>
+     * The returned list is a read-only view of the inventory, not a copy, so it follows later
+     * changes to the dealership. Use {@link #getInventorySnapshot()} for a copy that doesn't.
      *
      * @return totalInventory a total collection of target dealership's sales and rental inventory
      */
-    public ArrayList<Vehicle> getTotalInventory()
+    public List<Vehicle> getTotalInventory()
     {
-        ArrayList<Vehicle> totalInventory = new ArrayList<>();
-        totalInventory.addAll(this.getSaleVehicles());
-        totalInventory.addAll(this.getRentalVehicles());
-        return totalInventory;
+        return inventory.all();
+    }
+
+    /**
+     * Returns the index of a Vehicle in {@link #getTotalInventory()}.
+     *
+     * @param vehicle The Vehicle being found, compared by identity.
+     * @return The index of the Vehicle, or -1 if this Dealership does not hold it.
+     */
+    public synchronized int indexOf(Vehicle vehicle) {
+        return inventory.positionOf(vehicle);
     }
 
 
@@ -262,36 +475,94 @@ public class Dealership {
     /**
      * Updates the rental status of a vehicle within a dealership and moves it between
      * the dealership's sales and rental inventories based on the updated rental status.
+     * Whether the status may change is left to the rental strategy of the vehicle's type, see
+     * {@link #setRentalStrategy(String, RentalStrategy)}; a strategy that leaves the status as it
+     * was leaves the vehicle where it is.
      *
      * @param vehicle       The vehicle object with the updated rental status. This is the same vehicle object that
      * is present in the dealership's inventory (either sales or rental).
-     * @throws RentalException       If the vehicle is a sports car, which is not rentable.
+     * @throws RentalException       If the rental strategy does not allow the change, such as for a sports car.
+     * @throws VehicleNotFoundException If the vehicle is not in this dealership.
      */
     public void updateVehicleRental(Vehicle vehicle) throws RentalException {
-        // Update the vehicle's rental status
-        if (!vehicle.getVehicleType().equalsIgnoreCase("Sports car")) {
-            if(vehicle.getRentalStatus())
-            {
-                vehicle.disableRental();
+        synchronized (this) {
+            if (!inventory.contains(vehicle)) {
+                throw new VehicleNotFoundException("Vehicle " + vehicle.getVehicleId() +
+                        " is not in dealership " + dealerId + ".");
             }
-            else
-            {
-                vehicle.enableRental();
+
+            // Update the vehicle's rental status, then move it if its status changed
+            toggleRental(vehicle);
+            if (vehicle.getRentalStatus() != inventory.isRental(vehicle)) {
+                inventory.flip(vehicle);
+                inventoryChanged();
             }
         }
+        publishChanges();
+    }
 
-        else {
-            throw new VehicleNotRentableException("Sports car types are not currently rentable");
+    /**
+     * Toggles the rental status of a vehicle with the rental strategy this dealership uses for its
+     * type, without moving it between inventories.
+     *
+     * @param vehicle The vehicle whose rental status is toggled.
+     * @throws RentalException If the rental strategy does not allow the change.
+     */
+    private void toggleRental(Vehicle vehicle) throws RentalException {
+        RentalStrategy strategy = vehicle.getVehicleType() == null ? null
+                : rentalStrategies.get(RentalStrategyRegistry.normalizeType(vehicle.getVehicleType()));
+        if (strategy == null) {
+            if (vehicle.getRentalStatus()) {
+                vehicle.disableRental();
+            } else {
+                vehicle.enableRental();
+            }
+        } else if (vehicle.getRentalStatus()) {
+            strategy.disableRental(vehicle);
+        } else {
+            strategy.enableRental(vehicle);
         }
+    }
 
-        // Remove from the source inventory and add vehicle to opposite inventory
-        if (this.getSaleVehicles().contains(vehicle)) {
-            this.getSaleVehicles().remove(vehicle);
-            this.getRentalVehicles().add(vehicle);
-        } else {
-            this.getRentalVehicles().remove(vehicle);
-            this.getSaleVehicles().add(vehicle);
+    /**
+     * Toggles the rental status of a batch of vehicles, with the same rules as
+     * {@link #updateVehicleRental(Vehicle)}, and moves every vehicle whose status changed to the
+     * opposite inventory. The dealership is locked once for the whole batch, and each vehicle is moved
+     * in constant time. A vehicle that can not be changed is left as it is.
+     *
+     * @param vehicles The vehicles whose rental status is toggled, each at most once.
+     * @return A {@link Map} from each vehicle that was not changed to the reason why, in the
+     *         order given. Every other vehicle was changed.
+     */
+    public Map<Vehicle, Exception> updateVehicleRentals(Collection<Vehicle> vehicles) {
+        Map<Vehicle, Exception> failures = new LinkedHashMap<>();
+        synchronized (this) {
+            Set<Vehicle> toggled = Collections.newSetFromMap(new IdentityHashMap<>());
+            boolean moved = false;
+            for (Vehicle vehicle : vehicles) {
+                if (toggled.contains(vehicle)) {continue;}
+                try {
+                    if (!inventory.contains(vehicle)) {
+                        throw new VehicleNotFoundException("Vehicle " + vehicle.getVehicleId() +
+                                " is not in dealership " + dealerId + ".");
+                    }
+                    toggleRental(vehicle);
+                } catch (RentalException | VehicleNotFoundException e) {
+                    failures.put(vehicle, e);
+                    continue;
+                }
+                toggled.add(vehicle);
+                if (vehicle.getRentalStatus() != inventory.isRental(vehicle)) {
+                    inventory.flip(vehicle);
+                    moved = true;
+                }
+            }
+            if (moved) {
+                inventoryChanged();
+            }
         }
+        publishChanges();
+        return failures;
     }
 
     /**
@@ -300,7 +571,7 @@ public class Dealership {
      * @param rental The vehicle to add to the rental inventory. Cannot be null.
      *
      * @throws IllegalArgumentException If the rental parameter is null.
-     * @throws VehicleAlreadyExistsException If the vehicle is already in the rental inventory.
+     * @throws VehicleAlreadyExistsException If the vehicle is already in the sales or rental inventory.
      * @throws DealershipNotRentingException If the dealership does not currently provide rental services.
      * @throws VehicleNotRentableException If the vehicle is not currently rentable.
      *
@@ -313,19 +584,27 @@ public class Dealership {
             throw new IllegalArgumentException("Rental vehicle is null.");
         }
 
-        if (!this.getRentingVehicles()) {
-            throw new DealershipNotRentingException("Dealership " + this.getDealerId() + " is not currently providing rental services.");
-        }
+        synchronized (this) {
+            if (!this.getRentingVehicles()) {
+                throw new DealershipNotRentingException("Dealership " + this.getDealerId() + " is not currently providing rental services.");
+            }
 
-        if (!rental.getRentalStatus()) {
-            throw new VehicleNotRentableException("Vehicle " + rental.getVehicleId() + " is not currently rentable.");
-        }
+            if (!rental.getRentalStatus()) {
+                throw new VehicleNotRentableException("Vehicle " + rental.getVehicleId() + " is not currently rentable.");
+            }
 
-        if (this.isVehicleInInventory(rental,this.rentalInventory)) {
-            throw new VehicleAlreadyExistsException("Vehicle " + rental.getVehicleId() + " is already in the rental inventory.");
-        }
+            if (this.isVehicleInInventory(rental, true)) {
+                throw new VehicleAlreadyExistsException("Vehicle " + rental.getVehicleId() + " is already in the rental inventory.");
+            }
 
-        this.rentalInventory.add(rental);
+            if (this.isVehicleInInventory(rental, false)) {
+                throw new VehicleAlreadyExistsException("Vehicle " + rental.getVehicleId() + " is already in the sales inventory.");
+            }
+
+            inventory.add(rental, true);
+            inventoryChanged();
+        }
+        publishChanges();
     }
 
     /**
@@ -342,43 +621,75 @@ public class Dealership {
     public List<Map<Key, Object>> getDataMap() {
         List<Map<Key, Object>> list = new ArrayList<>();
 
-        List<Vehicle> fullInventory = this.getTotalInventory();
+        List<Vehicle> fullInventory = this.getInventorySnapshot();
 
         for (Vehicle vehicle: fullInventory) {
-            Map<Key, Object> map = new HashMap<>();
-            Key.DEALERSHIP_ID.putValid(map, dealerId);
-            Key.DEALERSHIP_NAME.putValid(map, name);
-            Key.DEALERSHIP_RECEIVING_STATUS.putValid(map, receivingVehicle);
-            Key.DEALERSHIP_RENTING_STATUS.putValid(map, rentingVehicles);
-            vehicle.getDataMap(map);
-            list.add(map);
+            list.add(getDataMap(vehicle));
         }
         return list;
     }
 
+    /**
+     * Returns a {@link Stream} of the same Maps as {@link #getDataMap()}, in the same order,
+     * where each Map is only created once it is reached.
+     *
+     * @return {@link Stream} of {@link Map} Objects where each Map object holds a specific vehicle
+     *         and its data.
+     */
+    public Stream<Map<Key, Object>> streamDataMap() {
+        return getInventorySnapshot().stream().map(this::getDataMap);
+    }
+
+    /**
+     * Retrieves the data for a single Vehicle held by the Dealership, in the same form as
+     * each entry of {@link #getDataMap()}.
+     *
+     * @param vehicle The Vehicle whose data is being retrieved.
+     * @return A {@link Map} holding the Dealership's and the Vehicle's data.
+     */
+    public Map<Key, Object> getDataMap(Vehicle vehicle) {
+        Map<Key, Object> map = new VehicleRecord();
+        getDealershipDataMap(map);
+        vehicle.getDataMap(map);
+        return map;
+    }
+
+    /**
+     * Fills a Map with the Dealership's own attributes (dealership ID, name, receiving
+     * status and renting status), without any Vehicle data.
+     *
+     * @param map The Map to be filled with data from the Dealership.
+     */
+    public void getDealershipDataMap(Map<Key, Object> map) {
+        Key.DEALERSHIP_ID.putValid(map, dealerId);
+        Key.DEALERSHIP_NAME.putValid(map, name);
+        Key.DEALERSHIP_RECEIVING_STATUS.putValid(map, receivingVehicle);
+        Key.DEALERSHIP_RENTING_STATUS.putValid(map, rentingVehicles);
+    }
+
     /**
      * Removes a vehicle from the dealership's inventory, including sales and rental.
      * Returns true if vehicle is removed and false otherwise.
      *
      * @param targetVehicle The vehicle to remove. Cannot be null.
+     * @return true if the vehicle was held and removed, false otherwise.
      * @throws IllegalArgumentException If the {@code targetVehicle} is null.
      * @author Christopher Engelhart
      */
-    public void removeVehicleFromInventory(Vehicle targetVehicle) throws IllegalArgumentException {
+    public boolean removeVehicleFromInventory(Vehicle targetVehicle) throws IllegalArgumentException {
         if (targetVehicle == null) {
             throw new IllegalArgumentException("Target vehicle is null.");
         }
 
-        if (getSaleVehicles().contains(targetVehicle))
-        {
-            this.getSaleVehicles().remove(targetVehicle);
-        }
-
-        if (getRentalVehicles().contains(targetVehicle))
-
-        {
-            this.getRentalVehicles().remove(targetVehicle);
+        boolean removed;
+        synchronized (this) {
+            removed = inventory.remove(targetVehicle);
+            if (removed) {
+                inventoryChanged();
+            }
         }
+        publishChanges();
+        return removed;
     }
 
     /**
@@ -386,12 +697,17 @@ public class Dealership {
      * </p>
      * Calls the {@link Dealership#addIncomingVehicle(Vehicle)} method
      * to add the transfer vehicle to the receving dealership.
+     * <p>
+     * The transfer either fully happens or leaves both dealerships unchanged. Both dealerships
+     * are locked in a global order, the receiver is checked before the vehicle leaves this
+     * dealership, and the vehicle is put back in its old inventory if adding it still fails.
      *
      * @param receivingDealer The {@link Dealership} receiving the vehicle.
      * @param transferVehicle The vehicle to be transferred.
      * @throws DuplicateSenderException         If the sender and receiver dealership IDs are the same.
      * @throws VehicleAlreadyExistsException    If the receiving dealership already has the vehicle in its inventory.
      * @throws DealershipNotAcceptingVehiclesException If the receiving dealership is not accepting vehicles.
+     * @throws VehicleNotFoundException If this dealership does not hold the vehicle.
      */
     public void dealershipVehicleTransfer(Dealership receivingDealer, Vehicle transferVehicle)
             throws DuplicateSenderException, VehicleAlreadyExistsException, DealershipNotAcceptingVehiclesException
@@ -400,8 +716,90 @@ public class Dealership {
             throw new DuplicateSenderException("Sender and receiver dealership can not be the same");
         }
 
-        this.removeVehicleFromInventory(transferVehicle);
-        receivingDealer.addIncomingVehicle(transferVehicle);
+        boolean senderFirst = locksBefore(receivingDealer);
+        try {
+            synchronized (senderFirst ? this : receivingDealer) {
+                synchronized (senderFirst ? receivingDealer : this) {
+                    if (findVehicle(transferVehicle.getVehicleId()) != transferVehicle) {
+                        throw new VehicleNotFoundException("Vehicle " + transferVehicle.getVehicleId() +
+                                " is not in dealership " + dealerId + ".");
+                    }
+                    receivingDealer.checkCanReceive(transferVehicle);
+
+                    boolean wasRental = inventory.isRental(transferVehicle);
+                    this.removeVehicleFromInventory(transferVehicle);
+                    boolean added = false;
+                    try {
+                        receivingDealer.addIncomingVehicle(transferVehicle);
+                        added = true;
+                    } finally {
+                        if (!added) {
+                            inventory.add(transferVehicle, wasRental);
+                            inventoryChanged();
+                        }
+                    }
+                }
+            }
+        } finally {
+            publishChanges();
+            receivingDealer.publishChanges();
+        }
+    }
+
+    /**
+     * Transfers a batch of vehicles from this dealership's inventory to another, locking both
+     * dealerships once for the whole batch. Every vehicle is checked before any of them is
+     * moved, and the vehicles that pass are then removed together in a single pass over the
+     * inventory. A vehicle that fails its check is left where it is.
+     *
+     * @param receivingDealer The {@link Dealership} receiving the vehicles.
+     * @param transferVehicles The vehicles to be transferred, in the order they are checked.
+     * @return A {@link Map} from each vehicle that was not transferred to the reason why, in the
+     *         order given. Every other vehicle was transferred.
+     * @throws DuplicateSenderException If the sender and receiver dealership are the same.
+     */
+    public Map<Vehicle, Exception> dealershipVehicleTransfer(Dealership receivingDealer,
+                                                             Collection<Vehicle> transferVehicles)
+            throws DuplicateSenderException
+    {
+        if (this.equals(receivingDealer)) {
+            throw new DuplicateSenderException("Sender and receiver dealership can not be the same");
+        }
+
+        Map<Vehicle, Exception> failures = new LinkedHashMap<>();
+        boolean senderFirst = locksBefore(receivingDealer);
+        synchronized (senderFirst ? this : receivingDealer) {
+            synchronized (senderFirst ? receivingDealer : this) {
+                Set<Vehicle> moving = Collections.newSetFromMap(new IdentityHashMap<>());
+                List<Vehicle> moved = new ArrayList<>();
+                for (Vehicle vehicle : transferVehicles) {
+                    if (moving.contains(vehicle)) {continue;}
+                    try {
+                        if (findVehicle(vehicle.getVehicleId()) != vehicle) {
+                            throw new VehicleNotFoundException("Vehicle " + vehicle.getVehicleId() +
+                                    " is not in dealership " + dealerId + ".");
+                        }
+                        receivingDealer.checkCanReceive(vehicle);
+                        moving.add(vehicle);
+                        moved.add(vehicle);
+                    } catch (VehicleNotFoundException | VehicleAlreadyExistsException |
+                             DealershipNotAcceptingVehiclesException e) {
+                        failures.put(vehicle, e);
+                    }
+                }
+                if (moving.isEmpty()) {return failures;}
+
+                inventory.removeAll(moving);
+                for (Vehicle vehicle : moved) {
+                    receivingDealer.inventory.add(vehicle, false);
+                }
+                inventoryChanged();
+                receivingDealer.inventoryChanged();
+            }
+        }
+        publishChanges();
+        receivingDealer.publishChanges();
+        return failures;
     }
 
     /**
@@ -412,11 +810,11 @@ public class Dealership {
      *
      * @return A string representation of the dealership.
      */
-    public String toString() {
+    public synchronized String toString() {
         String str = "Dealership ID: " + dealerId;
         str += "\nDealership Name: " + Objects.requireNonNullElse(name, "No name on file.");
-        str += "\nSales Inventory Num: " + salesInventory.size();
-        str += "\nRental Inventory Num: " + rentalInventory.size();
+        str += "\nSales Inventory Num: " + inventory.salesSize();
+        str += "\nRental Inventory Num: " + inventory.rentalSize();
         return str;
     }
 }
\ No newline at end of file
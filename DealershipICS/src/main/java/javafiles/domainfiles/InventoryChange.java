@@ -0,0 +1,57 @@
+package javafiles.domainfiles;
+
+/**
+ * A single change to the inventory of a {@link Dealership}, as published to its
+ * {@link InventoryListener}s. The index of a change is an index of
+ * {@link Dealership#getTotalInventory()}, and each change is made to the inventory as it was after
+ * the change before it, so applying the changes in order to a copy of the old inventory gives the
+ * new inventory.
+ */
+public final class InventoryChange {
+
+    /**
+     * The kinds of change made to an inventory.
+     */
+    public enum Type {
+        /** The Vehicle was added at the index, and every later Vehicle moved back by one. */
+        ADDED,
+        /** The Vehicle was removed from the index, and every later Vehicle moved forward by one. */
+        REMOVED,
+        /** The Vehicle took the place of the replaced Vehicle at the index, which is now elsewhere. */
+        MOVED,
+        /** The Vehicle at the index moved between the sales and rental Vehicles. */
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final int index;
+    private final Vehicle vehicle;
+    private final Vehicle replaced;
+
+    /**
+     * Creates a change.
+     *
+     * @param type The kind of change.
+     * @param index The index of the change in the full inventory.
+     * @param vehicle The Vehicle added, removed, moved or changed.
+     * @param replaced The Vehicle previously at the index of a MOVED change, null for other changes.
+     */
+    InventoryChange(Type type, int index, Vehicle vehicle, Vehicle replaced) {
+        this.type = type;
+        this.index = index;
+        this.vehicle = vehicle;
+        this.replaced = replaced;
+    }
+
+    // Getters:
+    public Type getType() {return type;}
+    public int getIndex() {return index;}
+    public Vehicle getVehicle() {return vehicle;}
+    public Vehicle getReplaced() {return replaced;}
+
+    @Override
+    public String toString() {
+        return type + "(" + index + ", " + vehicle.getVehicleId() +
+                (replaced == null ? "" : ", replacing " + replaced.getVehicleId()) + ")";
+    }
+}
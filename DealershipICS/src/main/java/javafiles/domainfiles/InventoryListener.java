@@ -0,0 +1,22 @@
+package javafiles.domainfiles;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to the inventory of a {@link Dealership}, see
+ * {@link Dealership#addInventoryListener(InventoryListener)}.
+ */
+public interface InventoryListener {
+
+    /**
+     * Called after each change to the inventory of a Dealership, once the Dealership's lock has been
+     * released, on the thread that made the change or on another thread changing the same
+     * Dealership. Changes are always published in the order they were made, one call at a time,
+     * but the inventory may have changed again by the time they arrive; those later changes follow
+     * in later calls. Must not block, and must not change the inventory of any Dealership.
+     *
+     * @param dealership The Dealership whose inventory changed.
+     * @param changes The changes made, in order, see {@link InventoryChange}.
+     */
+    void inventoryChanged(Dealership dealership, List<InventoryChange> changes);
+}
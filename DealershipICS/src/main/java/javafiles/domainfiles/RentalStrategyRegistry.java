@@ -0,0 +1,63 @@
+package javafiles.domainfiles;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The shared {@link RentalStrategy} of each vehicle type. Rental strategies hold no state of their
+ * own, so every Vehicle of a type uses the same instance instead of allocating one each.
+ * <p>
+ * Sports cars use a {@link SportsCarRentalStrategy} and every other type a
+ * {@link DefaultRentalStrategy}, unless another strategy is registered for the type. A
+ * Dealership can also replace the strategy of a type for its own vehicles only, see
+ * {@link Dealership#setRentalStrategy(String, RentalStrategy)}.
+ */
+public final class RentalStrategyRegistry {
+    private static final RentalStrategy DEFAULT_STRATEGY = new DefaultRentalStrategy();
+    // Strategies by vehicle type, in the form returned by normalizeType.
+    private static final Map<String, RentalStrategy> strategies = new ConcurrentHashMap<>();
+
+    static {
+        strategies.put(normalizeType("Sports car"), new SportsCarRentalStrategy());
+    }
+
+    private RentalStrategyRegistry() {}
+
+    /**
+     * Takes a vehicle type and returns the form used as the key of the registry, so types that
+     * only differ in case are the same.
+     *
+     * @param vehicleType The vehicle type to normalize.
+     * @return The normalized vehicle type.
+     */
+    static String normalizeType(String vehicleType) {
+        return vehicleType.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the shared {@link RentalStrategy} for a vehicle type.
+     *
+     * @param vehicleType The type of the vehicle.
+     * @return The strategy registered for the type, or the {@link DefaultRentalStrategy} if there is none.
+     */
+    public static RentalStrategy forType(String vehicleType) {
+        if (vehicleType == null) {return DEFAULT_STRATEGY;}
+        return strategies.getOrDefault(normalizeType(vehicleType), DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Registers the shared {@link RentalStrategy} of a vehicle type, used by every Vehicle of that
+     * type created afterward. The strategy is called by many Vehicles, from any thread.
+     *
+     * @param vehicleType The type of the vehicle.
+     * @param strategy The strategy for the type, or null to go back to the {@link DefaultRentalStrategy}.
+     */
+    public static void register(String vehicleType, RentalStrategy strategy) {
+        if (strategy == null) {
+            strategies.remove(normalizeType(vehicleType));
+        } else {
+            strategies.put(normalizeType(vehicleType), strategy);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package javafiles.domainfiles;
 
 import javafiles.customexceptions.*;
 
+import java.lang.invoke.VarHandle;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -15,6 +16,11 @@ import javafiles.Key;
  Vehicle is an abstract class that defines a set of common attributes
  and behaviors for all vehicle types. This class serves as a blueprint for any
  specific vehicle types that may extend it
+ <p>
+ A Vehicle keeps its attributes in its own fields, unless it is held by a Dealership with a
+ columnar inventory. Its attributes are then kept in a row of that Dealership's
+ {@link VehicleColumns}, read and written through a {@link VehicleStore}, and its own fields
+ other than its ID and type are cleared.
 
  @author Christopher Engelhart
  */
@@ -30,16 +36,19 @@ public abstract class Vehicle {
     private final String vehicleType; // Common field to all vehicle
     private boolean rental;
     private final RentalStrategy rentalStrategy;
+    // The row holding the attributes while in a columnar inventory, null while they are in the fields.
+    private volatile VehicleStore store;
 
     /**
      * Constructor method to be used by Vehicle's child classes
-     * to specify the children's vehicle type with default rental strategy
+     * to specify the children's vehicle type with the shared rental strategy of that type,
+     * from the {@link RentalStrategyRegistry}
      *
      * @param type the specific vehicle type that the extending class is
      * @param id The vehicle ID of the Vehicle
      */
     public Vehicle(String type, String id, String model, Long price) {
-        this(type, id, model, price, new DefaultRentalStrategy());
+        this(type, id, model, price, RentalStrategyRegistry.forType(type));
     }
 
     /**
@@ -66,6 +75,62 @@ public abstract class Vehicle {
         acquisitionDate = null;
     }
 
+    /** @return The rental strategy of the Vehicle, shared with other Vehicles of its type. */
+    RentalStrategy getRentalStrategy() {return rentalStrategy;}
+
+    /** @return The row holding the Vehicle's attributes (null if they are in its own fields). */
+    VehicleStore getStore() {return store;}
+
+    /**
+     * Makes the Vehicle read and write its attributes in a row of {@link VehicleColumns}, and
+     * clears its own fields. The caller must have already copied the attributes there.
+     *
+     * @param row The row now holding the Vehicle's attributes.
+     */
+    void moveTo(VehicleStore row) {
+        store = row;
+        // Only cleared once the row can be seen, see storeAfterFieldRead().
+        VarHandle.storeStoreFence();
+        vehicleManufacturer = null;
+        vehicleModel = null;
+        vehiclePrice = null;
+        priceUnit = null;
+        acquisitionDate = null;
+    }
+
+    /**
+     * Puts the Vehicle's attributes back in its own fields and stops reading its row.
+     *
+     * @param vehicleManufacturer The manufacturer held in the row.
+     * @param vehicleModel The model held in the row.
+     * @param vehiclePrice The price held in the row.
+     * @param priceUnit The price unit held in the row.
+     * @param acquisitionDate The acquisition date held in the row.
+     * @param rental The rental status held in the row.
+     */
+    void moveBack(String vehicleManufacturer, String vehicleModel, Long vehiclePrice, String priceUnit,
+                  Long acquisitionDate, boolean rental) {
+        this.vehicleManufacturer = vehicleManufacturer;
+        this.vehicleModel = vehicleModel;
+        this.vehiclePrice = vehiclePrice;
+        this.priceUnit = priceUnit;
+        this.acquisitionDate = acquisitionDate;
+        this.rental = rental;
+        store = null;
+    }
+
+    /**
+     * Reads the store again after one of the Vehicle's own fields was read while it had none. A
+     * field is only cleared after the store is set, so if this is still null the field read was
+     * not cleared by a concurrent {@link #moveTo(VehicleStore)}.
+     *
+     * @return The row now holding the Vehicle's attributes (null if they are still in its own fields).
+     */
+    private VehicleStore storeAfterFieldRead() {
+        VarHandle.loadLoadFence();
+        return store;
+    }
+
     /**
      * Sets the vehicle ID.
      *
@@ -81,7 +146,8 @@ public abstract class Vehicle {
      * @param vehicleManufacturer the name of the vehicle's manufacturer
      */
     public void setVehicleManufacturer(String vehicleManufacturer) {
-        this.vehicleManufacturer = vehicleManufacturer;
+        VehicleStore store = this.store;
+        if (store == null) {this.vehicleManufacturer = vehicleManufacturer;} else {store.setVehicleManufacturer(vehicleManufacturer);}
     }
 
     /**
@@ -90,7 +156,8 @@ public abstract class Vehicle {
      * @param vehicleModel the model name or number of the vehicle
      */
     public void setVehicleModel(String vehicleModel) {
-        this.vehicleModel = vehicleModel;
+        VehicleStore store = this.store;
+        if (store == null) {this.vehicleModel = vehicleModel;} else {store.setVehicleModel(vehicleModel);}
     }
 
     /**
@@ -99,7 +166,8 @@ public abstract class Vehicle {
      * @param vehiclePrice the price of the vehicle
      */
     public void setVehiclePrice(Long vehiclePrice) {
-        this.vehiclePrice = vehiclePrice;
+        VehicleStore store = this.store;
+        if (store == null) {this.vehiclePrice = vehiclePrice;} else {store.setVehiclePrice(vehiclePrice);}
     }
 
     /**
@@ -107,7 +175,9 @@ public abstract class Vehicle {
      *
      * @param acquisitionDate the date the vehicle was acquired
      */
-    public void setAcquisitionDate(Long acquisitionDate) { this.acquisitionDate = acquisitionDate;
+    public void setAcquisitionDate(Long acquisitionDate) {
+        VehicleStore store = this.store;
+        if (store == null) {this.acquisitionDate = acquisitionDate;} else {store.setAcquisitionDate(acquisitionDate);}
     }
 
 
@@ -117,9 +187,15 @@ public abstract class Vehicle {
      * @param state {@code true} vehicle is currently rented, {@code false} vehicle is no longer rented
      *                          and is available for sale
      */
-    public void setRental(boolean state) {this.rental = state;}
+    public void setRental(boolean state) {
+        VehicleStore store = this.store;
+        if (store == null) {this.rental = state;} else {store.setRental(state);}
+    }
 
-    public void setPriceUnit(String unit) {priceUnit = unit;}
+    public void setPriceUnit(String unit) {
+        VehicleStore store = this.store;
+        if (store == null) {priceUnit = unit;} else {store.setPriceUnit(unit);}
+    }
 
     /**
      * Enables rental, (vehicle is now rented) using the configured rental strategy.
@@ -145,13 +221,61 @@ public abstract class Vehicle {
 
     // Getter methods for shared attributes
     public String getVehicleId() {return vehicleId;}
-    public String getVehicleManufacturer() {return vehicleManufacturer;}
-    public String getVehicleModel() {return vehicleModel;}
-    public Long getVehiclePrice() {return vehiclePrice;}
-    public Long getAcquisitionDate() {return acquisitionDate;}
     public String getVehicleType() {return vehicleType;}
-    public boolean getRentalStatus() { return rental; }
-    public String getPriceUnit() {return priceUnit;}
+
+    public String getVehicleManufacturer() {
+        VehicleStore store = this.store;
+        if (store == null) {
+            String vehicleManufacturer = this.vehicleManufacturer;
+            if ((store = storeAfterFieldRead()) == null) {return vehicleManufacturer;}
+        }
+        return store.getVehicleManufacturer();
+    }
+
+    public String getVehicleModel() {
+        VehicleStore store = this.store;
+        if (store == null) {
+            String vehicleModel = this.vehicleModel;
+            if ((store = storeAfterFieldRead()) == null) {return vehicleModel;}
+        }
+        return store.getVehicleModel();
+    }
+
+    public Long getVehiclePrice() {
+        VehicleStore store = this.store;
+        if (store == null) {
+            Long vehiclePrice = this.vehiclePrice;
+            if ((store = storeAfterFieldRead()) == null) {return vehiclePrice;}
+        }
+        return store.getVehiclePrice();
+    }
+
+    public Long getAcquisitionDate() {
+        VehicleStore store = this.store;
+        if (store == null) {
+            Long acquisitionDate = this.acquisitionDate;
+            if ((store = storeAfterFieldRead()) == null) {return acquisitionDate;}
+        }
+        return store.getAcquisitionDate();
+    }
+
+    public boolean getRentalStatus() {
+        VehicleStore store = this.store;
+        if (store == null) {
+            boolean rental = this.rental;
+            if ((store = storeAfterFieldRead()) == null) {return rental;}
+        }
+        return store.getRentalStatus();
+    }
+
+    public String getPriceUnit() {
+        VehicleStore store = this.store;
+        if (store == null) {
+            String priceUnit = this.priceUnit;
+            if ((store = storeAfterFieldRead()) == null) {return priceUnit;}
+        }
+        return store.getPriceUnit();
+    }
 
 
     /**
@@ -163,6 +287,7 @@ public abstract class Vehicle {
      * @throws InvalidAcquisitionDateException if the acquisitionDate is null or an invalid epoch time.
      */
     public String getFormattedAcquisitionDate() throws InvalidAcquisitionDateException {
+        Long acquisitionDate = getAcquisitionDate();
         if (acquisitionDate == null) {
             return "";
         }
@@ -184,17 +309,18 @@ public abstract class Vehicle {
      * @author Dylan Browne
      */
     public String toString() {
+        Long acquisitionDate = getAcquisitionDate();
         String dateStr = "Unknown";
         if (acquisitionDate != null) {
             dateStr = new Date(acquisitionDate).toString();
         }
 
-        return  "Vehicle: " +  vehicleType +
-                "\nID: " + vehicleId +
-                "\nModel: " + vehicleModel +
-                "\nManufacturer: " + vehicleManufacturer +
-                "\nPrice: " + vehiclePrice + " " + priceUnit +
-                "\nCurrently being rented: " + rental +
+        return  "Vehicle: " +  getVehicleType() +
+                "\nID: " + getVehicleId() +
+                "\nModel: " + getVehicleModel() +
+                "\nManufacturer: " + getVehicleManufacturer() +
+                "\nPrice: " + getVehiclePrice() + " " + getPriceUnit() +
+                "\nCurrently being rented: " + getRentalStatus() +
                 "\nAcquired: " + dateStr;
     }
 
@@ -207,13 +333,13 @@ public abstract class Vehicle {
      * @param map The Map to be filled with data from the Vehicle
      */
     public void getDataMap(Map<Key, Object> map) {
-        Key.VEHICLE_ID.putValid(map, vehicleId);
-        Key.VEHICLE_MANUFACTURER.putValid(map, vehicleManufacturer);
-        Key.VEHICLE_MODEL.putValid(map, vehicleModel);
-        Key.VEHICLE_PRICE.putValid(map, vehiclePrice);
-        Key.VEHICLE_PRICE_UNIT.putValid(map, priceUnit);
-        Key.VEHICLE_ACQUISITION_DATE.putValid(map, acquisitionDate);
-        Key.VEHICLE_TYPE.putValid(map, vehicleType);
-        Key.VEHICLE_RENTAL_STATUS.putValid(map, rental);
+        Key.VEHICLE_ID.putValid(map, getVehicleId());
+        Key.VEHICLE_MANUFACTURER.putValid(map, getVehicleManufacturer());
+        Key.VEHICLE_MODEL.putValid(map, getVehicleModel());
+        Key.VEHICLE_PRICE.putValid(map, getVehiclePrice());
+        Key.VEHICLE_PRICE_UNIT.putValid(map, getPriceUnit());
+        Key.VEHICLE_ACQUISITION_DATE.putValid(map, getAcquisitionDate());
+        Key.VEHICLE_TYPE.putValid(map, getVehicleType());
+        Key.VEHICLE_RENTAL_STATUS.putValid(map, getRentalStatus());
     }
 }
\ No newline at end of file
@@ -0,0 +1,347 @@
+package javafiles.domainfiles;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * A columnar store for the attributes of every Vehicle in a Dealership's inventory, one array per
+ * attribute. Prices and acquisition dates are kept as primitive longs, the low-cardinality Strings
+ * (manufacturer, model and price unit) as int codes into a dictionary of their distinct values,
+ * and the rental status as one bit of a bitmap. The ID and type stay in the Vehicle itself.
+ * <p>
+ * A Vehicle is moved into a row with {@link #attach(Vehicle)} when it joins the inventory, after
+ * which its {@link VehicleStore} is a small {@link Row} handle holding only its row number.
+ * {@link #detach(Vehicle)} moves its attributes back into its own fields when it leaves, and the
+ * row is reused.
+ * <p>
+ * The columns are guarded by a {@link StampedLock} of their own rather than the Dealership's lock,
+ * so reading a Vehicle never waits for a Dealership, even one in the middle of an import or
+ * transfer. A {@link Row} reads optimistically, and only takes the read lock if a write raced it.
+ * No other lock is ever taken while the lock of the columns is held, so it can be taken while
+ * holding any Dealership's lock. A handle that a thread took just before its Vehicle was detached
+ * forwards to the Vehicle, so it never shows the attributes of the Vehicle taking its row.
+ */
+final class VehicleColumns {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private long[] acquisitionDates = new long[INITIAL_CAPACITY];
+    private int[] manufacturers = new int[INITIAL_CAPACITY];
+    private int[] models = new int[INITIAL_CAPACITY];
+    private int[] priceUnits = new int[INITIAL_CAPACITY];
+    // Bitmaps of the rows whose price or acquisition date is null, as a long can't hold null.
+    private long[] nullPrices = new long[bitmapLength(INITIAL_CAPACITY)];
+    private long[] nullAcquisitionDates = new long[bitmapLength(INITIAL_CAPACITY)];
+    private long[] rentals = new long[bitmapLength(INITIAL_CAPACITY)];
+
+    private final Dictionary manufacturerNames = new Dictionary();
+    private final Dictionary modelNames = new Dictionary();
+    private final Dictionary priceUnitNames = new Dictionary();
+
+    private final StampedLock lock = new StampedLock();
+
+    // The number of rows ever used, and the rows freed by detach that can be reused.
+    private int rowCount;
+    private int[] freeRows = new int[INITIAL_CAPACITY];
+    private int freeCount;
+
+    /**
+     * The distinct values of a String column, each encoded as its index. null is encoded as -1.
+     */
+    private static final class Dictionary {
+        private String[] values = new String[INITIAL_CAPACITY];
+        private int size;
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        /**
+         * Returns the code of value, adding it to the dictionary if it is new.
+         *
+         * @param value The value being encoded.
+         * @return The code of the value.
+         */
+        int encode(String value) {
+            if (value == null) {return -1;}
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size] = value;
+                code = size++;
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        /**
+         * Returns the value of a code. An optimistic read may race a write and pass a code that is
+         * not in the values it sees yet, which decodes as null and fails validation.
+         *
+         * @param code The code being decoded.
+         * @return The value of the code.
+         */
+        String decode(int code) {
+            String[] values = this.values;
+            return code < 0 || code >= values.length ? null : values[code];
+        }
+    }
+
+    /**
+     * The {@link VehicleStore} of a Vehicle held in a row of the columns. Holds nothing but the
+     * row number and, once the Vehicle is detached, the Vehicle itself to forward to.
+     */
+    private final class Row implements VehicleStore {
+        private final int row;
+        // The Vehicle of the row once it is detached, null while it is in the row.
+        private volatile Vehicle movedTo;
+
+        private Row(int row) {
+            this.row = row;
+        }
+
+        /** @return The columns holding the row, as a handle may belong to another Dealership's columns. */
+        private VehicleColumns columns() {return VehicleColumns.this;}
+
+        /**
+         * Reads a value of the row, optimistically first and again under the read lock if a
+         * write to the columns raced the first read.
+         *
+         * @param column Reads the value from the columns.
+         * @return The value read.
+         */
+        private <T> T read(Supplier<T> column) {
+            long stamp = lock.tryOptimisticRead();
+            T value = column.get();
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = column.get();
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Writes a value of the row under the write lock, unless the Vehicle has been detached.
+         *
+         * @param change Writes the value to the columns.
+         * @return true if the value was written, false if it must be written to the Vehicle instead.
+         */
+        private boolean write(Runnable change) {
+            long stamp = lock.writeLock();
+            try {
+                if (movedTo != null) {return false;}
+                change.run();
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @Override public String getVehicleManufacturer() {
+            String value = read(() -> manufacturerNames.decode(manufacturers[row]));
+            Vehicle moved = movedTo;
+            return moved != null ? moved.getVehicleManufacturer() : value;
+        }
+        @Override public String getVehicleModel() {
+            String value = read(() -> modelNames.decode(models[row]));
+            Vehicle moved = movedTo;
+            return moved != null ? moved.getVehicleModel() : value;
+        }
+        @Override public Long getVehiclePrice() {
+            Long value = read(() -> getBit(nullPrices, row) ? null : prices[row]);
+            Vehicle moved = movedTo;
+            return moved != null ? moved.getVehiclePrice() : value;
+        }
+        @Override public String getPriceUnit() {
+            String value = read(() -> priceUnitNames.decode(priceUnits[row]));
+            Vehicle moved = movedTo;
+            return moved != null ? moved.getPriceUnit() : value;
+        }
+        @Override public Long getAcquisitionDate() {
+            Long value = read(() -> getBit(nullAcquisitionDates, row) ? null : acquisitionDates[row]);
+            Vehicle moved = movedTo;
+            return moved != null ? moved.getAcquisitionDate() : value;
+        }
+        @Override public boolean getRentalStatus() {
+            boolean value = read(() -> getBit(rentals, row));
+            Vehicle moved = movedTo;
+            return moved != null ? moved.getRentalStatus() : value;
+        }
+
+        // Each setter writes to the Vehicle instead once the lock is released, never while holding it.
+        @Override public void setVehicleManufacturer(String vehicleManufacturer) {
+            if (!write(() -> manufacturers[row] = manufacturerNames.encode(vehicleManufacturer))) {
+                movedTo.setVehicleManufacturer(vehicleManufacturer);
+            }
+        }
+        @Override public void setVehicleModel(String vehicleModel) {
+            if (!write(() -> models[row] = modelNames.encode(vehicleModel))) {
+                movedTo.setVehicleModel(vehicleModel);
+            }
+        }
+        @Override public void setVehiclePrice(Long vehiclePrice) {
+            if (!write(() -> writePrice(row, vehiclePrice))) {
+                movedTo.setVehiclePrice(vehiclePrice);
+            }
+        }
+        @Override public void setPriceUnit(String priceUnit) {
+            if (!write(() -> priceUnits[row] = priceUnitNames.encode(priceUnit))) {
+                movedTo.setPriceUnit(priceUnit);
+            }
+        }
+        @Override public void setAcquisitionDate(Long acquisitionDate) {
+            if (!write(() -> writeAcquisitionDate(row, acquisitionDate))) {
+                movedTo.setAcquisitionDate(acquisitionDate);
+            }
+        }
+        @Override public void setRental(boolean rental) {
+            if (!write(() -> setBit(rentals, row, rental))) {
+                movedTo.setRental(rental);
+            }
+        }
+    }
+
+    /**
+     * Copies the current attributes of vehicle into a free row and makes the Vehicle read and
+     * write them there from now on.
+     *
+     * @param vehicle The Vehicle joining the columns. Must not already be attached to them.
+     */
+    void attach(Vehicle vehicle) {
+        // Read before locking, so no other lock is taken while holding the lock of the columns.
+        String manufacturer = vehicle.getVehicleManufacturer();
+        String model = vehicle.getVehicleModel();
+        Long price = vehicle.getVehiclePrice();
+        String priceUnit = vehicle.getPriceUnit();
+        Long acquisitionDate = vehicle.getAcquisitionDate();
+        boolean rental = vehicle.getRentalStatus();
+
+        Row to;
+        long stamp = lock.writeLock();
+        try {
+            to = new Row(freeCount > 0 ? freeRows[--freeCount] : newRow());
+            manufacturers[to.row] = manufacturerNames.encode(manufacturer);
+            models[to.row] = modelNames.encode(model);
+            writePrice(to.row, price);
+            priceUnits[to.row] = priceUnitNames.encode(priceUnit);
+            writeAcquisitionDate(to.row, acquisitionDate);
+            setBit(rentals, to.row, rental);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        vehicle.moveTo(to);
+    }
+
+    /**
+     * Moves the attributes of vehicle out of the columns back into its own fields, and frees its
+     * row.
+     *
+     * @param vehicle The Vehicle leaving the columns. Does nothing if it is not attached to them.
+     */
+    void detach(Vehicle vehicle) {
+        if (!(vehicle.getStore() instanceof Row from) || from.columns() != this) {return;}
+
+        long stamp = lock.writeLock();
+        try {
+            int row = from.row;
+            // Moved back before the handle forwards to the Vehicle, which would otherwise read the handle.
+            vehicle.moveBack(manufacturerNames.decode(manufacturers[row]), modelNames.decode(models[row]),
+                    getBit(nullPrices, row) ? null : prices[row], priceUnitNames.decode(priceUnits[row]),
+                    getBit(nullAcquisitionDates, row) ? null : acquisitionDates[row], getBit(rentals, row));
+            from.movedTo = vehicle;
+
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Writes a price to a row. The caller must hold the write lock.
+     *
+     * @param row The row being written.
+     * @param price The price, which may be null.
+     */
+    private void writePrice(int row, Long price) {
+        setBit(nullPrices, row, price == null);
+        prices[row] = price == null ? 0 : price;
+    }
+
+    /**
+     * Writes an acquisition date to a row. The caller must hold the write lock.
+     *
+     * @param row The row being written.
+     * @param acquisitionDate The acquisition date, which may be null.
+     */
+    private void writeAcquisitionDate(int row, Long acquisitionDate) {
+        setBit(nullAcquisitionDates, row, acquisitionDate == null);
+        acquisitionDates[row] = acquisitionDate == null ? 0 : acquisitionDate;
+    }
+
+    /**
+     * Returns the index of a new row at the end of the columns, growing them if needed. The
+     * arrays are replaced, never shrunk, so a handle read optimistically always finds its row.
+     *
+     * @return The index of the new row.
+     */
+    private int newRow() {
+        if (rowCount == prices.length) {
+            int capacity = rowCount * 2;
+            prices = Arrays.copyOf(prices, capacity);
+            acquisitionDates = Arrays.copyOf(acquisitionDates, capacity);
+            manufacturers = Arrays.copyOf(manufacturers, capacity);
+            models = Arrays.copyOf(models, capacity);
+            priceUnits = Arrays.copyOf(priceUnits, capacity);
+            nullPrices = Arrays.copyOf(nullPrices, bitmapLength(capacity));
+            nullAcquisitionDates = Arrays.copyOf(nullAcquisitionDates, bitmapLength(capacity));
+            rentals = Arrays.copyOf(rentals, bitmapLength(capacity));
+        }
+        return rowCount++;
+    }
+
+    /**
+     * Returns the number of longs in a bitmap with a bit for each row.
+     *
+     * @param rows The number of rows.
+     * @return The length of the bitmap.
+     */
+    private static int bitmapLength(int rows) {
+        return (rows + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Returns the bit of a row in a bitmap.
+     *
+     * @param bitmap The bitmap being read.
+     * @param row The row whose bit is read.
+     * @return Whether the bit is set.
+     */
+    private static boolean getBit(long[] bitmap, int row) {
+        return (bitmap[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * Sets or clears the bit of a row in a bitmap.
+     *
+     * @param bitmap The bitmap being changed.
+     * @param row The row whose bit is changed.
+     * @param value Whether the bit is set.
+     */
+    private static void setBit(long[] bitmap, int row, boolean value) {
+        if (value) {
+            bitmap[row >>> 6] |= 1L << row;
+        } else {
+            bitmap[row >>> 6] &= ~(1L << row);
+        }
+    }
+}
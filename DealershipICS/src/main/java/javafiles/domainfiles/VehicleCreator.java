@@ -1,6 +1,7 @@
 package javafiles.domainfiles;
 
 import javafiles.Key;
+import javafiles.StringPool;
 import javafiles.customexceptions.InvalidPriceException;
 import javafiles.customexceptions.InvalidVehicleTypeException;
 import javafiles.customexceptions.MissingCriticalInfoException;
@@ -11,6 +12,7 @@ import java.util.function.BiConsumer;
 /**
  * A factory class for creating {@link Vehicle} objects.
  * Implements the Singleton pattern to ensure only one instance exists.
+ * The model, manufacturer and price unit of each Vehicle are its {@link StringPool} copies.
  */
 class VehicleCreator implements VehicleFactory {
 
@@ -39,9 +41,9 @@ class VehicleCreator implements VehicleFactory {
 
     @Override
     public void fillVehicle(Vehicle vehicle, String make, Long date, String priceUnit, Boolean rentalStatus) {
-        setIfNotNull(vehicle, make, Vehicle::setVehicleManufacturer);
+        setIfNotNull(vehicle, StringPool.canonical(make), Vehicle::setVehicleManufacturer);
         setIfNotNull(vehicle, date, Vehicle::setAcquisitionDate);
-        setIfNotNull(vehicle, priceUnit, Vehicle::setPriceUnit);
+        setIfNotNull(vehicle, StringPool.canonical(priceUnit), Vehicle::setPriceUnit);
         setIfNotNull(vehicle, rentalStatus, Vehicle::setRental);
     }
 
@@ -62,6 +64,7 @@ class VehicleCreator implements VehicleFactory {
         if (price == null) {throw new InvalidPriceException("Null Vehicle price.");}
         if (price <= 0) {throw new InvalidPriceException("Price is invalid (" + price + " <= 0).");}
 
+        model = StringPool.canonical(model);
         return switch (type.toLowerCase()) {
             case "suv" -> new SUV(id, model, price);
             case "sedan" -> new Sedan(id, model, price);
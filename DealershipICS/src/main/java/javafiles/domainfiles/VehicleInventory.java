@@ -0,0 +1,315 @@
+package javafiles.domainfiles;
+
+import java.util.*;
+
+/**
+ * The inventory of a single {@link Dealership}, holding its sales and rental Vehicles in one
+ * array partitioned by rental status: every sales Vehicle comes before every rental Vehicle.
+ * <p>
+ * Each Vehicle is indexed by its normalized ID (see {@link Dealership#normalizeId(String)}), so
+ * finding, adding, removing and moving a Vehicle between sales and rental all take constant time.
+ * This is done by swapping Vehicles at the edges of the partitions, so the order of the Vehicles
+ * is only their order of addition until the first removal, status change or sales addition made
+ * while there are rental Vehicles.
+ * <p>
+ * A columnar inventory also moves the attributes of each Vehicle it holds into its
+ * {@link VehicleColumns}, and back out again when the Vehicle is removed.
+ * <p>
+ * {@link #all()}, {@link #sales()} and {@link #rental()} are read-only views of the array itself
+ * rather than copies, and follow every later change to the inventory. While recording, every
+ * change to those views is also kept as an {@link InventoryChange} until it is taken with
+ * {@link #takeChanges()}. A VehicleInventory is not thread safe, the owning Dealership must hold
+ * its lock while using it or any of its views.
+ */
+final class VehicleInventory {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Vehicle[] slots = new Vehicle[INITIAL_CAPACITY];
+    // The normalized ID of the Vehicle in each slot, so moving a Vehicle doesn't normalize it again.
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int size;
+    // Slots [0, salesCount) hold sales Vehicles, slots [salesCount, size) hold rental Vehicles.
+    private int salesCount;
+    // The slot of each Vehicle, by normalized Vehicle ID.
+    private final Map<String, Integer> positions = new HashMap<>();
+    // Where the attributes of the held Vehicles are kept, null if they keep their own.
+    private final VehicleColumns columns;
+    // The changes made since they were last taken, null if changes are not recorded.
+    private List<InventoryChange> changes;
+
+    private final List<Vehicle> all = new View(false, false);
+    private final List<Vehicle> sales = new View(false, true);
+    private final List<Vehicle> rental = new View(true, false);
+
+    /**
+     * Creates an empty inventory.
+     *
+     * @param columnar Whether the attributes of the Vehicles are kept in {@link VehicleColumns}.
+     */
+    VehicleInventory(boolean columnar) {
+        columns = columnar ? new VehicleColumns() : null;
+    }
+
+    /**
+     * A read-only view of the slots between two partition bounds. The bounds are read on every
+     * call, so the view always matches the current inventory.
+     */
+    private final class View extends AbstractList<Vehicle> implements RandomAccess {
+        private final boolean startsAtRental;
+        private final boolean endsAtRental;
+
+        /**
+         * @param startsAtRental Whether the view starts at the first rental slot, rather than the first slot.
+         * @param endsAtRental Whether the view ends at the first rental slot, rather than the last slot.
+         */
+        private View(boolean startsAtRental, boolean endsAtRental) {
+            this.startsAtRental = startsAtRental;
+            this.endsAtRental = endsAtRental;
+        }
+
+        private int start() {return startsAtRental ? salesCount : 0;}
+        private int end() {return endsAtRental ? salesCount : size;}
+
+        @Override
+        public Vehicle get(int index) {
+            Objects.checkIndex(index, size());
+            return slots[start() + index];
+        }
+
+        @Override
+        public int size() {return end() - start();}
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOfRange(slots, start(), end(), Object[].class);
+        }
+    }
+
+    /**
+     * Starts or stops keeping each change made to the inventory, dropping any not yet taken.
+     *
+     * @param recording Whether changes are kept.
+     */
+    void setRecording(boolean recording) {
+        changes = recording ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Returns the changes made since the last call, oldest first, and forgets them.
+     *
+     * @return The changes made, empty if there were none or changes are not recorded.
+     */
+    List<InventoryChange> takeChanges() {
+        if (changes == null || changes.isEmpty()) {return List.of();}
+        List<InventoryChange> taken = changes;
+        changes = new ArrayList<>();
+        return taken;
+    }
+
+    /**
+     * Keeps a change to the inventory, if changes are recorded.
+     *
+     * @param type The kind of change.
+     * @param index The slot changed.
+     * @param vehicle The Vehicle added, removed, moved or changed.
+     * @param replaced The Vehicle previously in the slot of a MOVED change, null for other changes.
+     */
+    private void record(InventoryChange.Type type, int index, Vehicle vehicle, Vehicle replaced) {
+        if (changes != null) {changes.add(new InventoryChange(type, index, vehicle, replaced));}
+    }
+
+    /** @return A read-only view of every Vehicle, sales Vehicles first. */
+    List<Vehicle> all() {return all;}
+
+    /** @return A read-only view of the sales Vehicles. */
+    List<Vehicle> sales() {return sales;}
+
+    /** @return A read-only view of the rental Vehicles. */
+    List<Vehicle> rental() {return rental;}
+
+    /**
+     * Returns the Vehicle with the given normalized ID.
+     *
+     * @param key The normalized ID of the Vehicle.
+     * @return The Vehicle with the ID (null if absent).
+     */
+    Vehicle get(String key) {
+        Integer position = positions.get(key);
+        return position == null ? null : slots[position];
+    }
+
+    /**
+     * Returns whether the inventory holds a Vehicle with the given normalized ID.
+     *
+     * @param key The normalized ID of the Vehicle.
+     * @return true if a Vehicle with the ID is held, false otherwise.
+     */
+    boolean containsKey(String key) {
+        return positions.containsKey(key);
+    }
+
+    /**
+     * Returns whether the given Vehicle itself is held, rather than another Vehicle with its ID.
+     *
+     * @param vehicle The Vehicle being checked.
+     * @return true if the Vehicle is held, false otherwise.
+     */
+    boolean contains(Vehicle vehicle) {
+        return positionOf(vehicle) >= 0;
+    }
+
+    /**
+     * Returns whether the given Vehicle is held as a rental Vehicle.
+     *
+     * @param vehicle The Vehicle being checked.
+     * @return true if the Vehicle is held in the rental partition, false if it is held for sale or absent.
+     */
+    boolean isRental(Vehicle vehicle) {
+        return positionOf(vehicle) >= salesCount;
+    }
+
+    /** @return The number of sales Vehicles. */
+    int salesSize() {return salesCount;}
+
+    /** @return The number of rental Vehicles. */
+    int rentalSize() {return size - salesCount;}
+
+    /**
+     * Returns the slot holding the given Vehicle.
+     *
+     * @param vehicle The Vehicle being found.
+     * @return The slot of the Vehicle, which is its index in {@link #all()} (-1 if it is not held).
+     */
+    int positionOf(Vehicle vehicle) {
+        // The ID is a plain field of the Vehicle, so this never reads another Dealership's columns.
+        Integer position = positions.get(Dealership.normalizeId(vehicle.getVehicleId()));
+        return position != null && slots[position] == vehicle ? position : -1;
+    }
+
+    /**
+     * Puts a Vehicle in a slot and records the slot in the index.
+     *
+     * @param position The slot being filled.
+     * @param key The normalized ID of the Vehicle.
+     * @param vehicle The Vehicle put in the slot.
+     */
+    private void place(int position, String key, Vehicle vehicle) {
+        slots[position] = vehicle;
+        keys[position] = key;
+        positions.put(key, position);
+    }
+
+    /**
+     * Swaps the Vehicles of two slots.
+     *
+     * @param first The first slot.
+     * @param second The second slot.
+     */
+    private void swap(int first, int second) {
+        if (first == second) {return;}
+        Vehicle vehicle = slots[first];
+        String key = keys[first];
+        place(first, keys[second], slots[second]);
+        place(second, key, vehicle);
+        record(InventoryChange.Type.MOVED, first, slots[first], vehicle);
+        record(InventoryChange.Type.MOVED, second, vehicle, slots[first]);
+    }
+
+    /**
+     * Adds a Vehicle to the end of the sales or rental Vehicles. The caller must have checked that
+     * no Vehicle with its ID is already held.
+     *
+     * @param vehicle The Vehicle being added.
+     * @param asRental Whether the Vehicle is added as a rental Vehicle.
+     */
+    void add(Vehicle vehicle, boolean asRental) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        place(size++, Dealership.normalizeId(vehicle.getVehicleId()), vehicle);
+        if (columns != null) {columns.attach(vehicle);}
+        record(InventoryChange.Type.ADDED, size - 1, vehicle, null);
+        if (!asRental) {
+            // The new Vehicle takes the first rental slot, whose Vehicle moves to the end.
+            swap(salesCount++, size - 1);
+        }
+    }
+
+    /**
+     * Removes the given Vehicle.
+     *
+     * @param vehicle The Vehicle being removed.
+     * @return true if the Vehicle was held and removed, false otherwise.
+     */
+    boolean remove(Vehicle vehicle) {
+        int position = positionOf(vehicle);
+        if (position < 0) {return false;}
+
+        if (position < salesCount) {
+            // Fill the gap from the end of the sales, then the new gap from the end of the rentals.
+            swap(position, --salesCount);
+            position = salesCount;
+        }
+        swap(position, --size);
+        positions.remove(keys[size]);
+        if (columns != null) {columns.detach(vehicle);}
+        slots[size] = null;
+        keys[size] = null;
+        record(InventoryChange.Type.REMOVED, size, vehicle, null);
+        return true;
+    }
+
+    /**
+     * Removes every Vehicle in the given set in a single pass over the inventory. Unlike
+     * {@link #remove(Vehicle)}, the remaining Vehicles keep their order.
+     *
+     * @param vehicles The Vehicles being removed, compared by identity.
+     */
+    void removeAll(Set<Vehicle> vehicles) {
+        int kept = 0;
+        int keptSales = 0;
+        for (int position = 0; position < size; position++) {
+            Vehicle vehicle = slots[position];
+            if (vehicles.contains(vehicle)) {
+                positions.remove(keys[position]);
+                if (columns != null) {columns.detach(vehicle);}
+                // Every Vehicle before it that is removed has been already, so it is at kept.
+                record(InventoryChange.Type.REMOVED, kept, vehicle, null);
+                continue;
+            }
+            if (kept != position) {place(kept, keys[position], vehicle);}
+            kept++;
+            if (position < salesCount) {keptSales++;}
+        }
+        Arrays.fill(slots, kept, size, null);
+        Arrays.fill(keys, kept, size, null);
+        size = kept;
+        salesCount = keptSales;
+    }
+
+    /**
+     * Moves a held Vehicle between the sales and rental Vehicles, next to the boundary between them.
+     *
+     * @param vehicle The Vehicle being moved.
+     * @return true if the Vehicle is now a rental Vehicle, false if it is now a sales Vehicle.
+     * @throws IllegalArgumentException If the Vehicle is not held.
+     */
+    boolean flip(Vehicle vehicle) {
+        int position = positionOf(vehicle);
+        if (position < 0) {
+            throw new IllegalArgumentException("Vehicle " + vehicle.getVehicleId() + " is not in the inventory.");
+        }
+
+        if (position < salesCount) {
+            // Swap with the last sales Vehicle, then move the boundary in front of it.
+            swap(position, --salesCount);
+            record(InventoryChange.Type.STATUS_CHANGED, salesCount, vehicle, null);
+            return true;
+        }
+        // Swap with the first rental Vehicle, then move the boundary past it.
+        swap(position, salesCount);
+        record(InventoryChange.Type.STATUS_CHANGED, salesCount++, vehicle, null);
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package javafiles.domainfiles;
+
+/**
+ * Holds the attributes of a {@link Vehicle} while it is in a Dealership with a columnar
+ * inventory, as a handle to its row of that Dealership's {@link VehicleColumns}. The Vehicle
+ * reads and writes every attribute other than its ID and type through it.
+ */
+interface VehicleStore {
+    String getVehicleManufacturer();
+    String getVehicleModel();
+    Long getVehiclePrice();
+    String getPriceUnit();
+    Long getAcquisitionDate();
+    boolean getRentalStatus();
+
+    void setVehicleManufacturer(String vehicleManufacturer);
+    void setVehicleModel(String vehicleModel);
+    void setVehiclePrice(Long vehiclePrice);
+    void setPriceUnit(String priceUnit);
+    void setAcquisitionDate(Long acquisitionDate);
+    void setRental(boolean rental);
+}
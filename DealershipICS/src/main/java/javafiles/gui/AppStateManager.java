@@ -1,15 +1,21 @@
 package javafiles.gui;
 
 import javafiles.Key;
+import javafiles.VehicleRecord;
 import javafiles.customexceptions.*;
-import javafiles.dataaccessfiles.FileIO;
-import javafiles.dataaccessfiles.FileIOBuilder;
+import javafiles.dataaccessfiles.InventoryJournal;
+import javafiles.dataaccessfiles.InventoryPersister;
 import javafiles.domainfiles.Company;
 import javafiles.domainfiles.Dealership;
 import javafiles.domainfiles.Vehicle;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
 
 import javax.swing.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,8 +30,30 @@ import java.util.stream.Collectors;
  */
 public class AppStateManager {
 
-    private static String masterInventoryList = "masterInventoryList.json";
+    // Set with -Ddealership.inventoryFile, e.g. to masterInventoryList.inv for the faster binary snapshot.
+    private static String masterInventoryList = System.getProperty("dealership.inventoryFile", "masterInventoryList.json");
+    // Number of journal records written before they are forced to disk.
+    private static final int JOURNAL_SYNC_EVERY = 8;
+    // Number of journal records written before the journal is compacted into masterInventoryList.
+    private static final int JOURNAL_COMPACT_EVERY = 1000;
+    private static final InventoryJournal journal =
+            new InventoryJournal(masterInventoryList, JOURNAL_SYNC_EVERY, JOURNAL_COMPACT_EVERY);
+    // Number of changes that can wait to be written before the whole inventory is written instead.
+    private static final int PERSIST_QUEUE_CAPACITY = 1024;
+    // Longest time in milliseconds a change waits to be written, set with -Ddealership.persist.maxStalenessMillis.
+    private static final long PERSIST_MAX_STALENESS_MILLIS =
+            Long.getLong("dealership.persist.maxStalenessMillis", 500);
+    // Longest time in milliseconds the application waits on exit for changes to be written.
+    private static final long PERSIST_SHUTDOWN_TIMEOUT_MILLIS = 10000;
+    private static final InventoryPersister persister = new InventoryPersister(journal,
+            PERSIST_QUEUE_CAPACITY, PERSIST_MAX_STALENESS_MILLIS, AppStateManager::showSaveStatus);
     private static Company company;
+    // Number of rows read between updates of the message of the initial load.
+    private static final int LOAD_MESSAGE_EVERY = 10000;
+    // Whether the Dealerships read at startup, and then their Vehicles, have been added to the
+    // Company. Only used on the JavaFX Application Thread.
+    private static final ReadOnlyBooleanWrapper dealershipsLoaded = new ReadOnlyBooleanWrapper(false);
+    private static final ReadOnlyBooleanWrapper inventoryLoaded = new ReadOnlyBooleanWrapper(false);
 
     /**
      * Private constructor to prevent instantiation of this utility class.
@@ -102,6 +130,83 @@ public class AppStateManager {
         return companyListVehicles;
     }
 
+    /**
+     * Queues the given change to be written to the {@link InventoryJournal} by the
+     * {@link InventoryPersister}. If too many changes are waiting, or the journal has grown large
+     * enough, the full inventory is queued to be compacted into masterInventoryList instead. The
+     * inventory is then read by the writer thread, not the caller.
+     * Called after every change to the Company's inventory.
+     *
+     * @param update The change being written to the journal.
+     */
+    private static void inventoryChanged(InventoryPersister.Update update)
+    {
+        if (!persister.submit(update) || persister.needsCompaction()) {
+            persister.submitSnapshot(company::streamDataMap);
+        }
+    }
+
+    /**
+     * Returns a change writing the current state of the Vehicle with the given ID to the journal,
+     * or its removal if it is no longer in the Company. The state is read when this is called.
+     *
+     * @param vehicleId The ID of the Vehicle that changed.
+     * @return The change to be written to the journal.
+     */
+    private static InventoryPersister.Update vehicleUpdate(String vehicleId)
+    {
+        Map<Key, Object> vehicleData = company.getVehicleDataMap(vehicleId);
+        if (vehicleData == null) {
+            return journal -> journal.recordRemoval(vehicleId);
+        }
+        return journal -> journal.recordVehicle(vehicleData);
+    }
+
+    /**
+     * Returns a single change writing the given data of several Vehicles to the journal.
+     *
+     * @param vehicleData The {@link Map}s of the Vehicles' data, captured by the caller.
+     * @return The change to be written to the journal.
+     */
+    private static InventoryPersister.Update vehicleDataUpdate(List<Map<Key, Object>> vehicleData)
+    {
+        return journal -> {
+            for (Map<Key, Object> data : vehicleData) {
+                journal.recordVehicle(data);
+            }
+        };
+    }
+
+    /**
+     * Returns a change writing the current attributes of the given Dealership to the journal.
+     * The attributes are read when this is called.
+     *
+     * @param dealership The Dealership that changed.
+     * @return The change to be written to the journal.
+     */
+    private static InventoryPersister.Update dealershipUpdate(Dealership dealership)
+    {
+        Map<Key, Object> dealerData = new VehicleRecord();
+        dealership.getDealershipDataMap(dealerData);
+        return journal -> journal.recordDealership(dealerData);
+    }
+
+    /**
+     * Shows the given {@link InventoryPersister.Status} in the window title.
+     * May be called from any thread.
+     *
+     * @param status The current status of the persisted inventory.
+     */
+    private static void showSaveStatus(InventoryPersister.Status status)
+    {
+        String text = switch (status) {
+            case SAVED -> "Saved";
+            case DIRTY -> "Unsaved changes";
+            case FAILED -> "Inventory could not be written";
+        };
+        Platform.runLater(() -> SceneManager.getInstance(null).setSaveStatus(text));
+    }
+
     /**
      * Adds a Dealership object to the Company instance.
      * </p>
@@ -118,7 +223,7 @@ public class AppStateManager {
     /**
      * Transfers a vehicle from one dealership's inventory to another.
      * </p>
-     * Calls {@link Dealership#dealershipVehicleTransfer(Dealership, Vehicle)}.
+     * Calls {@link Company#dealershipVehicleTransfer(Dealership, Dealership, Vehicle)}.
      *
      * @param senderId        The ID of the dealership sending the vehicle.
      * @param receiverId      The ID of the dealership receiving the vehicle.
@@ -126,15 +231,47 @@ public class AppStateManager {
      * @throws VehicleAlreadyExistsException       If the receiving dealership already has the vehicle in its inventory.
      * @throws DealershipNotAcceptingVehiclesException If the receiving dealership is not accepting vehicles.
      * @throws DuplicateSenderException            If the sender and receiver dealership IDs are the same.
+     * @throws VehicleNotFoundException            If the sending dealership does not hold the vehicle.
      */
     public static void transferVehicle(String senderId, String receiverId, Vehicle transferVehicle) throws
             VehicleAlreadyExistsException, DealershipNotAcceptingVehiclesException, DuplicateSenderException
     {
         Dealership sender = company.findDealership(senderId);
         Dealership receiver = company.findDealership(receiverId);
-        sender.dealershipVehicleTransfer(receiver, transferVehicle);
+        company.dealershipVehicleTransfer(sender, receiver, transferVehicle);
+        inventoryChanged(vehicleUpdate(transferVehicle.getVehicleId()));
+    }
+
+    /**
+     * Transfers a batch of vehicles from one dealership's inventory to another, writing the
+     * moved vehicles to the {@link InventoryJournal} as a single change.
+     * </p>
+     * Calls {@link Company#transferVehicles(Dealership, Dealership, Collection)}.
+     *
+     * @param senderId         The ID of the dealership sending the vehicles.
+     * @param receiverId       The ID of the dealership receiving the vehicles.
+     * @param transferVehicles The vehicles to be transferred.
+     * @return A {@link Map} from each vehicle that was not transferred to the reason why.
+     * @throws DuplicateSenderException If the sender and receiver dealership IDs are the same.
+     */
+    public static Map<Vehicle, Exception> transferVehicles(String senderId, String receiverId,
+                                                           Collection<Vehicle> transferVehicles)
+            throws DuplicateSenderException
+    {
+        Dealership sender = company.findDealership(senderId);
+        Dealership receiver = company.findDealership(receiverId);
+        Map<Vehicle, Exception> failures = company.transferVehicles(sender, receiver, transferVehicles);
 
-        writeToInventory();
+        List<Map<Key, Object>> vehicleData = new ArrayList<>();
+        for (Vehicle vehicle : transferVehicles) {
+            if (!failures.containsKey(vehicle)) {
+                vehicleData.add(receiver.getDataMap(vehicle));
+            }
+        }
+        if (!vehicleData.isEmpty()) {
+            inventoryChanged(vehicleDataUpdate(vehicleData));
+        }
+        return failures;
     }
 
 
@@ -147,41 +284,117 @@ public class AppStateManager {
      */
     public static List<Map<Key, Object>> dataToInventory(List<Map<Key, Object>> maps) {
         List<Map<Key, Object>> badMaps = company.dataToInventory(maps);
-        writeToInventory();
+        persister.submitSnapshot(company::streamDataMap);
         return badMaps;
     }
 
     /**
-     * Loads initial inventory data from a file.
-     * This method attempts to read inventory data from the specified file using FileIO,
-     * and processes it using  {@link Company#dataToInventory(List)} method.
-     * If a ReadWriteException occurs, it prints the error message and returns an empty list.
+     * Returns whether every Dealership read at startup has been added to the Company, so that
+     * their IDs and names can be shown. Their Vehicles and statuses may still be loading.
+     *
+     * @return A property that becomes true once the Dealerships have been added.
      */
-    protected static void loadInitialFiles() {
-        try {
-            FileIO fileIO = FileIOBuilder.buildNewFileIO(masterInventoryList, 'r');
+    public static ReadOnlyBooleanProperty dealershipsLoadedProperty() {
+        return dealershipsLoaded.getReadOnlyProperty();
+    }
 
-            List<Map<Key, Object>> maps = fileIO.readInventory();
-            List<Map<Key, Object>> badDataMaps = company.dataToInventory(maps);
+    /**
+     * Returns whether the whole inventory read at startup has been added to the Company. Until
+     * then, the inventory is changed by a background thread and must not be shown or changed.
+     *
+     * @return A property that becomes true once the inventory has been loaded.
+     */
+    public static ReadOnlyBooleanProperty inventoryLoadedProperty() {
+        return inventoryLoaded.getReadOnlyProperty();
+    }
 
-            if (!badDataMaps.isEmpty()) {GuiUtility.showMapTables(maps, badDataMaps);}
-        } catch (ReadWriteException e) {
-            JOptionPane.showMessageDialog(null, e.getMessage());
+    /**
+     * Starts loading initial inventory data from a file on a background thread.
+     * The {@link Task} reads inventory data from the specified file and replays the changes in its
+     * {@link InventoryJournal} on top of it, then processes it using
+     * {@link Company#dataToInventory(List, Company.ImportProgress)}, updating its message with the
+     * number of rows read and added. Once done, the rows that could not be added are shown and
+     * changes start being written. If a ReadWriteException occurred instead, the error message is
+     * shown and the inventory stays read-only: {@link #inventoryLoadedProperty()} stays false and
+     * nothing is ever written, so the files are left as they are.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @return The running Task, whose progress and message tell how far it has got.
+     */
+    protected static Task<List<Map<Key, Object>>> loadInitialFiles() {
+        InitialLoadTask task = new InitialLoadTask();
+        task.setOnSucceeded(event -> {
+            finishInitialLoad();
+            List<Map<Key, Object>> badDataMaps = task.getValue();
+            if (!badDataMaps.isEmpty()) {GuiUtility.showMapTables(task.maps, badDataMaps);}
+        });
+        task.setOnFailed(event -> {
+            // The files may hold an inventory that could not be read, so nothing is written over it.
+            SceneManager.getInstance(null).setSaveStatus("Inventory not loaded, changes are not saved");
+            JOptionPane.showMessageDialog(null, "The inventory could not be loaded, so it can not be changed.\n"
+                    + task.getException().getMessage());
+        });
+
+        Thread loader = new Thread(task, "inventory-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return task;
+    }
+
+    /**
+     * Marks the initial load as done, enabling every screen, and starts writing changes.
+     */
+    private static void finishInitialLoad() {
+        dealershipsLoaded.set(true);
+        inventoryLoaded.set(true);
+        persister.start();
+    }
+
+    /**
+     * Reads the initial inventory data and adds it to the Company on a background thread,
+     * see {@link #loadInitialFiles()}. Its value is the List of Maps that could not be added.
+     */
+    private static final class InitialLoadTask extends Task<List<Map<Key, Object>>> {
+        // Every Map read, shown along with the Maps that could not be added.
+        private volatile List<Map<Key, Object>> maps = List.of();
+
+        @Override
+        protected List<Map<Key, Object>> call() throws ReadWriteException {
+            updateMessage("Reading inventory...");
+            maps = journal.replay(rows -> {
+                if (rows % LOAD_MESSAGE_EVERY == 0) {updateMessage("Read " + rows + " vehicles...");}
+            });
+
+            updateMessage("Adding " + maps.size() + " vehicles...");
+            return company.dataToInventory(maps, new Company.ImportProgress() {
+                @Override
+                public void dealershipsAdded() {
+                    Platform.runLater(() -> dealershipsLoaded.set(true));
+                }
+
+                @Override
+                public void vehiclesAdded(int added, int total) {
+                    updateProgress(added, total);
+                    updateMessage("Added " + added + " of " + total + " vehicles");
+                }
+            });
         }
     }
 
     /**
      * Writes the Company's inventory data to a file.
      * </p>
-     * This method retrieves the inventory data from the Company by calling
-     * {@link Company#getDataMap()} and attempts to write it to the specified
-     * file using FileIO. If a ReadWriteException occurs, it prints an error message.
+     * This method waits for the {@link InventoryPersister} to write any queued changes and stops it,
+     * then compacts the {@link InventoryJournal} into the specified file, streaming the inventory
+     * data from {@link Company#streamDataMap()}. If the writer does not stop in time, the
+     * journal is left for the next start to replay. If a ReadWriteException occurs, it shows an error message.
+     * Nothing is written if the initial load is not done or failed, as the files still hold the whole inventory.
      */
     protected static void writeToInventory() {
-        List<Map<Key, Object>> data = company.getDataMap();
+        if (!inventoryLoaded.get()) {return;}
+        if (!persister.close(PERSIST_SHUTDOWN_TIMEOUT_MILLIS)) {return;}
         try {
-            FileIO fileIO = FileIOBuilder.buildNewFileIO(masterInventoryList, 'w');
-            fileIO.writeInventory(data);
+            journal.compact(company.streamDataMap());
         } catch (ReadWriteException e) {
             JOptionPane.showMessageDialog(null, "Inventory could not be written.");
         }
@@ -208,7 +421,7 @@ public class AppStateManager {
     public static List<String> getRentingEnabledDealershipIDs()
     {
         return company.getListDealerships().stream()
-                .filter(dealership -> company.isDealershipRentingEnabled(dealership.getDealerId()))
+                .filter(Dealership::getRentingVehicles)
                 .map(Dealership::getDealerId)
                 .collect(Collectors.toList());
     }
@@ -254,7 +467,7 @@ public class AppStateManager {
 
         company.manualVehicleAdd(map, dealership);
 
-        writeToInventory();
+        inventoryChanged(vehicleUpdate(Key.VEHICLE_ID.getVal(map, String.class)));
     }
 
     /**
@@ -264,7 +477,7 @@ public class AppStateManager {
     public static void setDealershipReceivingStatus(Dealership dealership,boolean status)
     {
         dealership.setReceivingVehicle(status);
-        writeToInventory();
+        inventoryChanged(dealershipUpdate(dealership));
     }
 
     /**
@@ -274,7 +487,7 @@ public class AppStateManager {
     public static void setDealershipRentalStatus(Dealership dealership,boolean status)
     {
         dealership.setRentingVehicles(status);
-        writeToInventory();
+        inventoryChanged(dealershipUpdate(dealership));
     }
 
     /**
@@ -291,10 +504,38 @@ public class AppStateManager {
     {
         Dealership dealer = company.findDealership(dealershipId);
         dealer.updateVehicleRental(vehicleToUpdate);
-        writeToInventory();
+        inventoryChanged(vehicleUpdate(vehicleToUpdate.getVehicleId()));
     }
 
 
+    /**
+     * Toggles the rental status of a batch of vehicles in a dealership, writing the changed
+     * vehicles to the {@link InventoryJournal} as a single change.
+     * </p>
+     * Calls {@link Dealership#updateVehicleRentals(Collection)}.
+     *
+     * @param dealershipId The ID of the dealership holding the vehicles.
+     * @param vehicles The vehicles whose rental status is toggled.
+     * @return A {@link Map} from each vehicle that was not changed to the reason why.
+     */
+    public static Map<Vehicle, Exception> updateDealershipVehicleRentalStates(String dealershipId,
+                                                                              Collection<Vehicle> vehicles)
+    {
+        Dealership dealer = company.findDealership(dealershipId);
+        Map<Vehicle, Exception> failures = dealer.updateVehicleRentals(vehicles);
+
+        List<Map<Key, Object>> vehicleData = new ArrayList<>();
+        for (Vehicle vehicle : vehicles) {
+            if (!failures.containsKey(vehicle)) {
+                vehicleData.add(dealer.getDataMap(vehicle));
+            }
+        }
+        if (!vehicleData.isEmpty()) {
+            inventoryChanged(vehicleDataUpdate(vehicleData));
+        }
+        return failures;
+    }
+
     /**
      * Takes a String representing a Dealership ID and returns {@link Dealership}
      * with matching ID in the company.
@@ -316,9 +557,10 @@ public class AppStateManager {
      * Method calls {@link Company#getDealershipCompleteInventory(String)}.
      *
      * @param dealershipId dealership ID of target dealership
-     * @return ArrayList<Vehicle> represent a complete collection of target dealership's sales and rental inventory
+     * @return List<Vehicle> represent a complete collection of target dealership's sales and rental inventory,
+     *         as a read-only view that follows later changes to the dealership
      */
-    public static ArrayList<Vehicle> getDealershipCompleteInventory(String dealershipId) {
+    public static List<Vehicle> getDealershipCompleteInventory(String dealershipId) {
         Dealership dealer = company.findDealership(dealershipId);
         return dealer.getTotalInventory();
     }
@@ -326,7 +568,7 @@ public class AppStateManager {
 
     /**
      * Removes target {@link Vehicle} from a {@link Dealership} inventory.
-     * Method calls {@link Company#removeVehicleFromDealership(String, Vehicle)} 
+     * Method calls {@link Company#removeVehicleFromInventory(Dealership, Vehicle)}
      *
      * @param dealershipId target dealership to remove vehicle from
      * @param targetVehicle vehicle to be removed
@@ -336,8 +578,11 @@ public class AppStateManager {
     public static void removeVehicleFromDealership(String dealershipId, Vehicle targetVehicle) throws IllegalArgumentException
     {
         Dealership dealer = company.findDealership(dealershipId);
-        dealer.removeVehicleFromInventory(targetVehicle);
-        writeToInventory();
+        // A vehicle that was no longer held is not journaled, as its ID may now be a newer vehicle's.
+        if (company.removeVehicleFromInventory(dealer, targetVehicle)) {
+            String vehicleId = targetVehicle.getVehicleId();
+            inventoryChanged(journal -> journal.recordRemoval(vehicleId));
+        }
     }
 
 }
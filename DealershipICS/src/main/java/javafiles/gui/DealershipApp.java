@@ -24,7 +24,8 @@ public class DealershipApp extends Application {
 
     /**
      * Called when the application is stopped.
-     * Writes the current inventory data to a file using {@link AppStateManager#writeToInventory()}.
+     * Writes the current inventory data to a file using {@link AppStateManager#writeToInventory()},
+     * waiting for any changes still queued by the background writer.
      */
     @Override
     public void stop() {
@@ -33,7 +34,8 @@ public class DealershipApp extends Application {
 
     /**
      * Called when the application is started.
-     * Initializes the Company instance, loads initial data, and displays the main screen.
+     * Initializes the Company instance, displays the main screen, and loads initial data in the
+     * background, showing its progress below each screen until it is done.
      *
      * @param primaryStage The primary stage for this application, onto which
      * the application scene can be set.
@@ -53,7 +55,7 @@ public class DealershipApp extends Application {
         sceneManger.switchScene(MAIN_SCREEN);
         primaryStage.show();
 
-        AppStateManager.loadInitialFiles();
+        sceneManger.showProgress(AppStateManager.loadInitialFiles());
     }
 
     /**
@@ -2,6 +2,7 @@ package javafiles.gui;
 
 import javafiles.Key;
 import javafiles.customexceptions.*;
+import javafiles.domainfiles.Vehicle;
 
 import javax.swing.*;
 import javax.swing.table.TableColumn;
@@ -14,6 +15,9 @@ import java.util.*;
  */
 
 public class GuiUtility {
+    // Most failures listed by name in the result of a batch change.
+    private static final int MAX_LISTED_FAILURES = 10;
+
     /**
      * An enum for linking Key.REASON_FOR_ERROR value with a message for the gui.
      */
@@ -72,6 +76,24 @@ public class GuiUtility {
         }
     }
 
+    /**
+     * Appends a line for each Vehicle that a batch change failed for, giving its ID and the reason,
+     * up to {@link #MAX_LISTED_FAILURES} lines followed by a count of the rest.
+     *
+     * @param message The message being shown for the batch change.
+     * @param failures The reason the change failed for each Vehicle, in the order they were changed.
+     */
+    public static void appendFailures(StringBuilder message, Map<Vehicle, Exception> failures) {
+        int listed = 0;
+        for (Map.Entry<Vehicle, Exception> failure : failures.entrySet()) {
+            if (listed++ == MAX_LISTED_FAILURES) {
+                message.append("\n...and ").append(failures.size() - MAX_LISTED_FAILURES).append(" more.");
+                break;
+            }
+            message.append("\n").append(failure.getKey().getVehicleId()).append(": ").append(failure.getValue().getMessage());
+        }
+    }
+
     /**
      * Creates and returns a new JScrollPane from the given JTable.
      *
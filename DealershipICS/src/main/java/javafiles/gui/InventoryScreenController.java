@@ -28,6 +28,18 @@ public class InventoryScreenController
     public Button btnAddVehicle;
     public Button btnViewInventory;
 
+    /**
+     * Disables every inventory screen until the inventory has been loaded at startup, as
+     * their tables follow the inventory while it is being changed.
+     */
+    @FXML
+    public void initialize() {
+        for (Button button : new Button[] {btnChangeRental, btnTransferVehicle, btnRemoveVehicle,
+                btnAddVehicle, btnViewInventory}) {
+            button.disableProperty().bind(AppStateManager.inventoryLoadedProperty().not());
+        }
+    }
+
     /**
      * Handles the action when the back button is clicked.
      * Switches the scene to the Main Screen.
@@ -27,9 +27,13 @@ public class MainScreenController {
     private Button ManageCompanyProfileButton;
 
 
+    /**
+     * Lets the company profiles be browsed once the dealerships have been loaded at startup,
+     * which happens before their vehicles have been.
+     */
     @FXML
     public void initialize() {
-
+        ManageCompanyProfileButton.disableProperty().bind(AppStateManager.dealershipsLoadedProperty().not());
     }
 
     /**
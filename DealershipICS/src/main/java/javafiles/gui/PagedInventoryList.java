@@ -0,0 +1,658 @@
+package javafiles.gui;
+
+import javafiles.domainfiles.Company;
+import javafiles.domainfiles.Dealership;
+import javafiles.domainfiles.InventoryChange;
+import javafiles.domainfiles.InventoryListener;
+import javafiles.domainfiles.Vehicle;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableView;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * A read-only {@link javafx.collections.ObservableList} for a {@link TableView}, over the
+ * inventories of one or more {@link Dealership}s, holding only a reference to each {@link Vehicle}
+ * in them instead of a row for each. Opening a screen only copies those references, and each row
+ * is built from its Vehicle when the TableView asks for it.
+ * <p>
+ * Rows that are built from a Vehicle, such as a {@link ViewInventoryController.VehicleRow}, are
+ * built a page of PAGE_SIZE at a time, and only the MAX_PAGES most recently used pages are kept,
+ * so memory stays flat however far the TableView is scrolled. Sorting a column builds the row of
+ * every Vehicle once and keeps the rows in order for as long as the list is sorted, see
+ * {@link #showIn(TableView)}.
+ * <p>
+ * The list follows every change to the inventories through the {@link InventoryListener} of each
+ * Dealership, and tells its own listeners of the rows added, removed, replaced or updated, so every
+ * open screen stays in step without being recreated. The Dealerships only hold the list weakly, and
+ * stop publishing to it once it is garbage collected. Must only be used on the JavaFX Application
+ * Thread. The inventories may be changed on any thread: changes made on the JavaFX Application
+ * Thread are applied straight away, and changes made on any other thread are applied later on it,
+ * in the order they were made.
+ *
+ * @param <E> The type of row shown in the TableView.
+ */
+final class PagedInventoryList<E> extends ObservableListBase<E> {
+    private static final int PAGE_SIZE = 256;
+    private static final int MAX_PAGES = 64;
+
+    // Runs a task straight away on the JavaFX Application Thread, or later on it from any other thread.
+    private static final Executor FX_THREAD = task -> {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+    };
+
+    // The Dealerships whose rows are shown, in the order their rows are when not sorted.
+    private final List<Dealership> dealerships = new ArrayList<>();
+    // Each Dealership's inventory as of the last change applied, so it matches the rows.
+    private final List<List<Vehicle>> inventories = new ArrayList<>();
+    // The index of the first row of each Dealership's inventory, when not sorted.
+    private int[] starts = new int[0];
+    private int size;
+    private final BiFunction<Vehicle, Dealership, E> rowFactory;
+    // The rows of each page built so far, by page number, least recently used first. null if rows
+    // are the Vehicles themselves and need no building.
+    private final LinkedHashMap<Integer, Object[]> pages;
+    // The order of the rows, or null if they are in inventory order.
+    private Comparator<? super E> comparator;
+    // Once sorted, the row at each index, its Vehicle and the index in dealerships of its Dealership.
+    // Only the first size elements are used.
+    private Object[] sortedRows;
+    private Vehicle[] sortedVehicles;
+    private int[] sortedParts;
+    // The changes published to the list that are waiting to be applied, oldest first.
+    private final Queue<Runnable> pendingChanges = new ConcurrentLinkedQueue<>();
+    // Held while queueing changes, so a Dealership's rows are always queued before its changes.
+    private final Object pendingLock = new Object();
+    // Every Dealership whose rows have been queued, guarded by pendingLock.
+    private final Set<Dealership> followed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Executor changeExecutor;
+    private final InventoryListener inventoryListener = new WeakInventoryListener(this);
+
+    /**
+     * Creates an empty list, to which the rows of each Dealership are added with {@link #follow(Dealership)}.
+     *
+     * @param rowFactory Builds the row of a Vehicle held by a Dealership.
+     * @param paged Whether built rows are kept a page at a time, rather than rows being the
+     *              result of rowFactory on each read.
+     * @param changeExecutor Runs the application of published changes on the thread the list is used on.
+     */
+    private PagedInventoryList(BiFunction<Vehicle, Dealership, E> rowFactory, boolean paged, Executor changeExecutor) {
+        this.rowFactory = rowFactory;
+        this.changeExecutor = changeExecutor;
+        this.pages = !paged ? null : new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+    }
+
+    /**
+     * Passes the changes of each Dealership on to a list for as long as it is reachable, then
+     * removes itself from the Dealership, so an abandoned screen is not kept alive by its Dealerships.
+     */
+    private static final class WeakInventoryListener implements InventoryListener {
+        private final WeakReference<PagedInventoryList<?>> list;
+
+        private WeakInventoryListener(PagedInventoryList<?> list) {
+            this.list = new WeakReference<>(list);
+        }
+
+        @Override
+        public void inventoryChanged(Dealership dealership, List<InventoryChange> changes) {
+            PagedInventoryList<?> target = list.get();
+            if (target == null) {
+                dealership.removeInventoryListener(this);
+                return;
+            }
+            synchronized (target.pendingLock) {
+                target.pendingChanges.add(() -> target.applyChanges(dealership, changes));
+            }
+            target.changeExecutor.execute(target::applyPendingChanges);
+        }
+    }
+
+    /**
+     * Adds the rows of each Dealership added to a Company to a list for as long as it is reachable,
+     * then removes itself from the Company.
+     */
+    private static final class WeakDealershipListener implements Consumer<Dealership> {
+        private final WeakReference<PagedInventoryList<?>> list;
+        private final Company company;
+
+        private WeakDealershipListener(PagedInventoryList<?> list, Company company) {
+            this.list = new WeakReference<>(list);
+            this.company = company;
+        }
+
+        @Override
+        public void accept(Dealership dealership) {
+            PagedInventoryList<?> target = list.get();
+            if (target == null) {
+                company.removeDealershipListener(this);
+                return;
+            }
+            target.follow(dealership);
+            target.changeExecutor.execute(target::applyPendingChanges);
+        }
+    }
+
+    /**
+     * Starts following the changes of a Dealership and queues its rows to be added after the
+     * rows of every Dealership followed before it. Does nothing if it is already followed.
+     *
+     * @param dealership The Dealership whose rows are added.
+     */
+    private void follow(Dealership dealership) {
+        synchronized (pendingLock) {
+            if (!followed.add(dealership)) {return;}
+            // The inventory the changes published to the listener apply to.
+            List<Vehicle> inventory = dealership.addInventoryListener(inventoryListener);
+            pendingChanges.add(() -> addDealership(dealership, inventory));
+        }
+    }
+
+    /**
+     * Applies every change published to the list so far, in the order they were made.
+     */
+    private void applyPendingChanges() {
+        Runnable pending;
+        while ((pending = pendingChanges.poll()) != null) {
+            pending.run();
+        }
+    }
+
+    /**
+     * Creates a list of every Vehicle held by a Dealership, sales first and then rentals.
+     *
+     * @param dealership The Dealership whose vehicles are shown.
+     * @return The newly created list.
+     */
+    static PagedInventoryList<Vehicle> forDealership(Dealership dealership) {
+        return forDealership(dealership, FX_THREAD);
+    }
+
+    /**
+     * Creates a list of every Vehicle held by a Dealership, applying its changes with changeExecutor.
+     *
+     * @param dealership The Dealership whose vehicles are shown.
+     * @param changeExecutor Runs the application of changes on the thread the list is used on.
+     * @return The newly created list.
+     */
+    static PagedInventoryList<Vehicle> forDealership(Dealership dealership, Executor changeExecutor) {
+        PagedInventoryList<Vehicle> list = new PagedInventoryList<>((vehicle, dealer) -> vehicle, false, changeExecutor);
+        list.follow(dealership);
+        list.applyPendingChanges();
+        return list;
+    }
+
+    /**
+     * Creates a list of a {@link ViewInventoryController.VehicleRow} for every Vehicle held by
+     * any Dealership of a Company, in the order the Dealerships were added. The rows of a
+     * Dealership added to the Company later are added after them.
+     *
+     * @param company The Company whose vehicles are shown.
+     * @return The newly created list.
+     */
+    static PagedInventoryList<ViewInventoryController.VehicleRow> forCompany(Company company) {
+        return forCompany(company, FX_THREAD);
+    }
+
+    /**
+     * Creates a list of a {@link ViewInventoryController.VehicleRow} for every Vehicle held by
+     * any Dealership of a Company, applying their changes and the Dealerships added with changeExecutor.
+     *
+     * @param company The Company whose vehicles are shown.
+     * @param changeExecutor Runs the application of changes on the thread the list is used on.
+     * @return The newly created list.
+     */
+    static PagedInventoryList<ViewInventoryController.VehicleRow> forCompany(Company company,
+                                                                             Executor changeExecutor) {
+        PagedInventoryList<ViewInventoryController.VehicleRow> list =
+                new PagedInventoryList<>(ViewInventoryController.VehicleRow::new, true, changeExecutor);
+        // Listened to first, so a Dealership added meanwhile is either in the List or told of.
+        company.addDealershipListener(new WeakDealershipListener(list, company));
+        for (Dealership dealership : company.getListDealerships()) {
+            list.follow(dealership);
+        }
+        list.applyPendingChanges();
+        return list;
+    }
+
+    /**
+     * Shows this list in table, in place of its current items. Sorting a column of the table
+     * sorts this list with {@link #sort(Comparator)}, and the table's current sort order is
+     * applied straight away.
+     *
+     * @param table The {@link TableView} the list is shown in.
+     */
+    void showIn(TableView<E> table) {
+        table.setItems(this);
+        table.setSortPolicy(sortedTable -> {
+            if (sortedTable.getItems() instanceof PagedInventoryList<E> items) {
+                items.sort(sortedTable.getComparator());
+                return true;
+            }
+            return TableView.DEFAULT_SORT_POLICY.call(sortedTable);
+        });
+        table.sort();
+    }
+
+    @Override
+    public int size() {return size;}
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        if (pages == null || comparator != null) {
+            return buildRow(index);
+        }
+
+        Object[] page = pages.get(index / PAGE_SIZE);
+        if (page == null) {
+            int first = index / PAGE_SIZE * PAGE_SIZE;
+            page = new Object[Math.min(PAGE_SIZE, size - first)];
+            for (int i = 0; i < page.length; i++) {
+                page[i] = buildRow(first + i);
+            }
+            pages.put(index / PAGE_SIZE, page);
+        }
+        return (E) page[index % PAGE_SIZE];
+    }
+
+    /**
+     * Returns the index of the row of a Vehicle.
+     *
+     * @param vehicle The Vehicle being found, compared by identity.
+     * @return The index of its row, or -1 if none of the Dealerships hold it.
+     */
+    int indexOfVehicle(Vehicle vehicle) {
+        for (int part = 0; part < dealerships.size(); part++) {
+            // The Dealership's own index is only right once every change to it has been applied.
+            int index = dealerships.get(part).indexOf(vehicle);
+            List<Vehicle> inventory = inventories.get(part);
+            if (index >= 0 && index < inventory.size() && inventory.get(index) == vehicle) {
+                return comparator == null ? starts[part] + index : findSorted(vehicle, part);
+            }
+        }
+        for (int part = 0; part < dealerships.size(); part++) {
+            List<Vehicle> inventory = inventories.get(part);
+            for (int index = 0; index < inventory.size(); index++) {
+                if (inventory.get(index) == vehicle) {
+                    return comparator == null ? starts[part] + index : findSorted(vehicle, part);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds the row shown at index, without keeping it, or returns the row kept while sorted.
+     *
+     * @param index The index of the row.
+     * @return The row at index.
+     */
+    private E buildRow(int index) {
+        if (comparator == null) {return rowAt(index);}
+        return sortedRow(index);
+    }
+
+    /**
+     * Returns the row at index while the rows are sorted.
+     *
+     * @param index The index of the row.
+     * @return The row at index.
+     */
+    @SuppressWarnings("unchecked")
+    private E sortedRow(int index) {
+        return (E) sortedRows[index];
+    }
+
+    /**
+     * Builds the row of the Vehicle at index in the unsorted list, without keeping it.
+     *
+     * @param index The index of the Vehicle across every inventory, in the order they were given.
+     * @return The row of the Vehicle.
+     */
+    private E rowAt(int index) {
+        int part = partAt(index);
+        return rowFactory.apply(inventories.get(part).get(index - starts[part]), dealerships.get(part));
+    }
+
+    /**
+     * Returns the index in dealerships of the Dealership holding the Vehicle at index in the
+     * unsorted list.
+     *
+     * @param index The index of the Vehicle across every inventory, in the order they were given.
+     * @return The index of its Dealership.
+     */
+    private int partAt(int index) {
+        int part = Arrays.binarySearch(starts, index);
+        if (part < 0) {
+            return -part - 2;
+        }
+        // Skip empty inventories that start at the same index.
+        while (part + 1 < starts.length && starts[part + 1] == index) {part++;}
+        return part;
+    }
+
+    /**
+     * Returns the row at index if it was built already, or builds the row of vehicle otherwise.
+     *
+     * @param index The index of the row.
+     * @param vehicle The Vehicle shown at index.
+     * @param part The index in dealerships of the Dealership holding it.
+     * @return The row at index.
+     */
+    @SuppressWarnings("unchecked")
+    private E cachedRow(int index, Vehicle vehicle, int part) {
+        if (pages != null) {
+            Object[] page = pages.get(index / PAGE_SIZE);
+            if (page != null && index % PAGE_SIZE < page.length) {
+                return (E) page[index % PAGE_SIZE];
+            }
+        }
+        return rowFactory.apply(vehicle, dealerships.get(part));
+    }
+
+    /**
+     * Forgets the built rows from index onwards, after the rows there have moved.
+     *
+     * @param index The index of the first row that moved.
+     */
+    private void dropPagesFrom(int index) {
+        if (pages != null) {
+            pages.keySet().removeIf(page -> page >= index / PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Sorts the rows by comparator, or puts them back in inventory order if comparator is null.
+     * The row of each Vehicle is built once before sorting, and kept until the rows are put back
+     * in inventory order. Listeners are told of the new order as a permutation.
+     *
+     * @param comparator The order of the rows, or null for the order of the inventories.
+     */
+    @Override
+    public void sort(Comparator<? super E> comparator) {
+        if (comparator == null && this.comparator == null) {return;}
+
+        // The index in inventory order of the row at each old position.
+        int[] oldSource = new int[size];
+        if (this.comparator == null) {
+            for (int i = 0; i < size; i++) {oldSource[i] = i;}
+        } else {
+            Map<Vehicle, Integer> unsortedIndexes = new IdentityHashMap<>(size);
+            for (int part = 0; part < dealerships.size(); part++) {
+                List<Vehicle> inventory = inventories.get(part);
+                for (int i = 0; i < inventory.size(); i++) {unsortedIndexes.put(inventory.get(i), starts[part] + i);}
+            }
+            for (int i = 0; i < size; i++) {oldSource[i] = unsortedIndexes.get(sortedVehicles[i]);}
+        }
+
+        // Where the row at each index in inventory order is now.
+        int[] newPosition = new int[size];
+        if (comparator == null) {
+            this.comparator = null;
+            sortedRows = null;
+            sortedVehicles = null;
+            sortedParts = null;
+            for (int i = 0; i < size; i++) {newPosition[i] = i;}
+        } else {
+            // The row of each Vehicle in inventory order, the key it is sorted by.
+            List<E> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {rows.add(rowAt(i));}
+            // A stable sort, so equal rows stay in inventory order.
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {order[i] = i;}
+            Arrays.sort(order, (a, b) -> comparator.compare(rows.get(a), rows.get(b)));
+
+            int capacity = Math.max(size, 16);
+            sortedRows = new Object[capacity];
+            sortedVehicles = new Vehicle[capacity];
+            sortedParts = new int[capacity];
+            for (int i = 0; i < size; i++) {
+                int part = partAt(order[i]);
+                sortedRows[i] = rows.get(order[i]);
+                sortedVehicles[i] = inventories.get(part).get(order[i] - starts[part]);
+                sortedParts[i] = part;
+                newPosition[order[i]] = i;
+            }
+            this.comparator = comparator;
+        }
+        if (pages != null) {pages.clear();}
+        if (size == 0) {return;}
+
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = newPosition[oldSource[i]];
+        }
+        beginChange();
+        nextPermutation(0, size, permutation);
+        endChange();
+    }
+
+    /**
+     * Adds the rows of a Dealership after those of every Dealership already shown, or in order
+     * if the rows are sorted, and tells the list's listeners of the rows added.
+     *
+     * @param dealership The Dealership whose rows are added.
+     * @param inventory Its inventory, which the changes published for it apply to.
+     */
+    private void addDealership(Dealership dealership, List<Vehicle> inventory) {
+        int part = dealerships.size();
+        dealerships.add(dealership);
+        inventories.add(new ArrayList<>(inventory));
+        starts = Arrays.copyOf(starts, part + 1);
+        starts[part] = size;
+        if (inventory.isEmpty()) {return;}
+
+        beginChange();
+        if (comparator == null) {
+            int first = size;
+            size += inventory.size();
+            dropPagesFrom(first);
+            nextAdd(first, size);
+        } else {
+            for (Vehicle vehicle : inventory) {
+                int index = insertSorted(rowFactory.apply(vehicle, dealership), vehicle, part);
+                nextAdd(index, index + 1);
+            }
+        }
+        endChange();
+    }
+
+    /**
+     * Applies the changes made to the inventory of a Dealership, and tells the list's listeners of
+     * the rows changed.
+     *
+     * @param dealership The Dealership whose inventory changed.
+     * @param changes The changes made, in order.
+     */
+    private void applyChanges(Dealership dealership, List<InventoryChange> changes) {
+        int part = 0;
+        while (part < dealerships.size() && dealerships.get(part) != dealership) {part++;}
+        if (part == dealerships.size()) {return;}
+
+        List<Vehicle> inventory = inventories.get(part);
+        beginChange();
+        for (InventoryChange change : changes) {
+            switch (change.getType()) {
+                case ADDED -> inventory.add(change.getIndex(), change.getVehicle());
+                case REMOVED -> inventory.remove(change.getIndex());
+                case MOVED -> inventory.set(change.getIndex(), change.getVehicle());
+                case STATUS_CHANGED -> {}
+            }
+            if (comparator == null) {
+                applyUnsorted(part, change);
+            } else {
+                applySorted(part, change);
+            }
+            if (change.getType() == InventoryChange.Type.ADDED || change.getType() == InventoryChange.Type.REMOVED) {
+                int shift = change.getType() == InventoryChange.Type.ADDED ? 1 : -1;
+                for (int later = part + 1; later < starts.length; later++) {
+                    starts[later] += shift;
+                }
+            }
+        }
+        endChange();
+    }
+
+    /**
+     * Applies a change to the rows while they are in inventory order.
+     *
+     * @param part The index in dealerships of the Dealership whose inventory changed.
+     * @param change The change made.
+     */
+    private void applyUnsorted(int part, InventoryChange change) {
+        int index = starts[part] + change.getIndex();
+        switch (change.getType()) {
+            case ADDED -> {
+                size++;
+                dropPagesFrom(index);
+                nextAdd(index, index + 1);
+            }
+            case REMOVED -> {
+                E removed = cachedRow(index, change.getVehicle(), part);
+                size--;
+                dropPagesFrom(index);
+                nextRemove(index, removed);
+            }
+            case MOVED -> {
+                E replaced = cachedRow(index, change.getReplaced(), part);
+                if (pages != null) {pages.remove(index / PAGE_SIZE);}
+                nextSet(index, replaced);
+            }
+            case STATUS_CHANGED -> nextUpdate(index);
+        }
+    }
+
+    /**
+     * Applies a change to the rows while they are sorted. Where a Vehicle is in its inventory
+     * does not change where its row is, so only additions, removals and status changes move rows.
+     *
+     * @param part The index in dealerships of the Dealership whose inventory changed.
+     * @param change The change made.
+     */
+    private void applySorted(int part, InventoryChange change) {
+        switch (change.getType()) {
+            case ADDED -> {
+                int index = insertSorted(rowFactory.apply(change.getVehicle(), dealerships.get(part)),
+                        change.getVehicle(), part);
+                nextAdd(index, index + 1);
+            }
+            case REMOVED -> {
+                int index = findSorted(change.getVehicle(), part);
+                if (index < 0) {return;}
+                E removed = sortedRow(index);
+                removeSorted(index);
+                nextRemove(index, removed);
+            }
+            case MOVED -> {}
+            case STATUS_CHANGED -> {
+                int index = findSorted(change.getVehicle(), part);
+                if (index < 0) {return;}
+                E row = sortedRow(index);
+                removeSorted(index);
+                int newIndex = insertSorted(row, change.getVehicle(), part);
+                if (newIndex == index) {
+                    nextUpdate(index);
+                } else {
+                    nextRemove(index, row);
+                    nextAdd(newIndex, newIndex + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the row of a Vehicle after every row that is not ordered after it.
+     *
+     * @param row The row of the Vehicle.
+     * @param vehicle The Vehicle being inserted.
+     * @param part The index in dealerships of the Dealership holding it.
+     * @return The index of its row.
+     */
+    private int insertSorted(E row, Vehicle vehicle, int part) {
+        int index = searchSorted(row, true);
+        if (size == sortedVehicles.length) {
+            sortedRows = Arrays.copyOf(sortedRows, size * 2);
+            sortedVehicles = Arrays.copyOf(sortedVehicles, size * 2);
+            sortedParts = Arrays.copyOf(sortedParts, size * 2);
+        }
+        System.arraycopy(sortedRows, index, sortedRows, index + 1, size - index);
+        System.arraycopy(sortedVehicles, index, sortedVehicles, index + 1, size - index);
+        System.arraycopy(sortedParts, index, sortedParts, index + 1, size - index);
+        sortedRows[index] = row;
+        sortedVehicles[index] = vehicle;
+        sortedParts[index] = part;
+        size++;
+        return index;
+    }
+
+    /**
+     * Finds where a row belongs while the rows are sorted.
+     *
+     * @param row The row being placed.
+     * @param after Whether to return the index after the rows equal to row, rather than the index of the first.
+     * @return The index found.
+     */
+    private int searchSorted(E row, boolean after) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int order = comparator.compare(sortedRow(middle), row);
+            if (order < 0 || after && order == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Removes the row at index while the rows are sorted.
+     *
+     * @param index The index of the row.
+     */
+    private void removeSorted(int index) {
+        System.arraycopy(sortedRows, index + 1, sortedRows, index, size - index - 1);
+        System.arraycopy(sortedVehicles, index + 1, sortedVehicles, index, size - index - 1);
+        System.arraycopy(sortedParts, index + 1, sortedParts, index, size - index - 1);
+        sortedRows[--size] = null;
+        sortedVehicles[size] = null;
+    }
+
+    /**
+     * Finds the row of a Vehicle while the rows are sorted, searching among the rows equal to
+     * its own first and every row only if its order has changed since it was placed.
+     *
+     * @param vehicle The Vehicle being found, compared by identity.
+     * @param part The index in dealerships of the Dealership holding it.
+     * @return The index of its row, or -1 if it has none.
+     */
+    private int findSorted(Vehicle vehicle, int part) {
+        E row = rowFactory.apply(vehicle, dealerships.get(part));
+        int end = searchSorted(row, true);
+        for (int i = searchSorted(row, false); i < end; i++) {
+            if (sortedVehicles[i] == vehicle) {return i;}
+        }
+        for (int i = 0; i < size; i++) {
+            if (sortedVehicles[i] == vehicle) {return i;}
+        }
+        return -1;
+    }
+}
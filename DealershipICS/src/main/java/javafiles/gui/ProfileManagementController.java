@@ -1,5 +1,7 @@
 package javafiles.gui;
 
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -9,6 +11,7 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.GridPane;
 
 import javafiles.domainfiles.Dealership;
 
@@ -40,10 +43,16 @@ public class ProfileManagementController {
     @FXML
     private TableColumn<DealershipRow, Boolean> rentingColumn;
 
+    @FXML
+    private GridPane editButtons;
+
     /**
      * Initializes the profile management controller.
      * Sets up the table columns, fetches dealership data from AppStateManager,
      * and adds a listener to the table's selection model.
+     * <p>
+     * While the inventory is still loading at startup, the dealerships can be browsed but not
+     * changed, and the table is fetched again once it has loaded to show their final statuses.
      */
     @FXML
     public void initialize() {
@@ -59,6 +68,18 @@ public class ProfileManagementController {
         // Set the table data
         dealershipTable.setItems(tableData);
 
+        editButtons.disableProperty().bind(AppStateManager.inventoryLoadedProperty().not());
+        if (!AppStateManager.inventoryLoadedProperty().get()) {
+            AppStateManager.inventoryLoadedProperty().addListener(new ChangeListener<>() {
+                @Override
+                public void changed(ObservableValue<? extends Boolean> observable, Boolean wasLoaded,
+                                    Boolean loaded) {
+                    observable.removeListener(this);
+                    dealershipTable.setItems(FXCollections.observableArrayList(AppStateManager.getDealershipRows()));
+                }
+            });
+        }
+
         // Add a listener to the selected item in the table
         dealershipTable.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
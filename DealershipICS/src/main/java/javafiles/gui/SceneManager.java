@@ -1,8 +1,15 @@
 package javafiles.gui;
 
+import javafx.concurrent.Worker;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 import java.io.IOException;
 
@@ -17,6 +24,14 @@ public class SceneManager {
     /** The stage for the application window. */
     private Stage stage;
 
+    /** The title of the current screen, without the save status. */
+    private String screenTitle = "";
+
+    /** The save status shown after the screen title, empty if nothing is shown. */
+    private String saveStatus = "";
+
+    /** The bar shown below every screen while a background task runs, null if none is shown. */
+    private HBox progressBar;
 
     /** The singleton instance of SceneManager. */
     private static SceneManager instance;
@@ -57,7 +72,85 @@ public class SceneManager {
         Parent root = loader.load();
         Scene scene = new Scene(root,600,400);
         stage.setScene(scene);
-        stage.setTitle(fxmlPath.getScreenTitle());
+        if (progressBar != null) {showInFrame(progressBar);}
+        screenTitle = fxmlPath.getScreenTitle();
+        updateTitle();
+    }
+
+    /**
+     * Shows the progress and message of a background task in a bar below every screen until the
+     * task is done, including screens switched to in the meantime.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param worker the task whose progress is shown
+     */
+    public void showProgress(Worker<?> worker) {
+        ProgressBar bar = new ProgressBar();
+        bar.progressProperty().bind(worker.progressProperty());
+        Label message = new Label();
+        message.textProperty().bind(worker.messageProperty());
+        progressBar = new HBox(10, bar, message);
+        progressBar.setAlignment(Pos.CENTER_LEFT);
+        progressBar.setPadding(new Insets(5, 10, 5, 10));
+        showInFrame(progressBar);
+
+        HBox shownBar = progressBar;
+        worker.runningProperty().addListener((observable, wasRunning, running) -> {
+            if (!running) {
+                if (progressBar == shownBar) {progressBar = null;}
+                removeFrame(shownBar);
+            }
+        });
+    }
+
+    /**
+     * Puts the current screen in a frame, above bar.
+     *
+     * @param bar the bar shown below the screen
+     */
+    private void showInFrame(HBox bar) {
+        Scene scene = stage.getScene();
+        if (scene == null) {return;}
+        Parent root = scene.getRoot();
+        // The screen stops being the root of the Scene before it can be put in the frame.
+        BorderPane frame = new BorderPane();
+        scene.setRoot(frame);
+        frame.setCenter(root);
+        frame.setBottom(bar);
+    }
+
+    /**
+     * Takes the current screen back out of the frame holding bar, if it is in one.
+     *
+     * @param bar the bar shown below the screen
+     */
+    private void removeFrame(HBox bar) {
+        Scene scene = stage.getScene();
+        if (scene != null && scene.getRoot() instanceof BorderPane frame && frame.getBottom() == bar
+                && frame.getCenter() instanceof Parent root) {
+            frame.setCenter(null);
+            scene.setRoot(root);
+        }
+    }
+
+    /**
+     * Sets the save status shown in the window title after the screen title,
+     * such as whether there are changes that have not yet been written.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param status the save status to show, or an empty String to show none
+     */
+    public void setSaveStatus(String status) {
+        saveStatus = status;
+        updateTitle();
+    }
+
+    /**
+     * Sets the window title to the current screen title followed by the save status.
+     */
+    private void updateTitle() {
+        if (stage == null) {return;}
+        stage.setTitle(saveStatus.isEmpty() ? screenTitle : screenTitle + " - " + saveStatus);
     }
 
 }
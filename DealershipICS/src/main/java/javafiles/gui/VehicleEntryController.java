@@ -1,6 +1,7 @@
 package javafiles.gui;
 
 import javafiles.Key;
+import javafiles.VehicleRecord;
 import javafiles.customexceptions.*;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -17,7 +18,6 @@ import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.ResourceBundle;
 
@@ -111,7 +111,7 @@ public class VehicleEntryController implements Initializable {
         try
         {
             // Get input values, handling empty strings for optional fields
-            Map<Key, Object> map = new HashMap<>();
+            Map<Key, Object> map = new VehicleRecord();
             String dealerId = dealershipComboBox.getValue();
             Key.DEALERSHIP_ID.putValid(map, dealerId);
 
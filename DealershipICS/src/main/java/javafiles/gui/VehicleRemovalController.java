@@ -2,7 +2,6 @@ package javafiles.gui;
 
 
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -123,8 +122,8 @@ public class VehicleRemovalController {
             }
 
             try {
+                // The table follows the removal through its PagedInventoryList.
                 AppStateManager.removeVehicleFromDealership(dealershipComboBox.getValue(), selectedVehicle);
-                handleDealershipSelection(event); // Reload the table data
             } catch (IllegalArgumentException e) {
                 showAlert(e.getMessage());
             }
@@ -141,8 +140,7 @@ public class VehicleRemovalController {
             if (selectedDealershipId != null) {
                 Dealership dealership = AppStateManager.findADealership(selectedDealershipId);
                 if (dealership != null) {
-                    ObservableList<Vehicle> vehicleData = FXCollections.observableArrayList(AppStateManager.getDealershipCompleteInventory(selectedDealershipId));
-                    vehicleTable.setItems(vehicleData);
+                    PagedInventoryList.forDealership(dealership).showIn(vehicleTable);
                 }
             }
         }
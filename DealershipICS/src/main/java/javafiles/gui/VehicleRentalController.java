@@ -3,7 +3,6 @@ package javafiles.gui;
 import javafiles.customexceptions.*;
 
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -14,7 +13,10 @@ import javafiles.domainfiles.Dealership;
 import javafiles.domainfiles.Vehicle;
 import java.io.IOException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 
 import static javafiles.gui.FXMLPath.INVENTORY_SCREEN;
@@ -50,8 +52,6 @@ public class VehicleRentalController {
     @FXML
     private TableColumn<Vehicle, Long> acquisitionDateColumn;
 
-    private Vehicle selectedVehicle;
-
     /**
      * Initializes the controller, setting up the combo box and table. Combo box is populated by calling the method
      * {@link AppStateManager#getRentingEnabledDealershipIDs()}.
@@ -70,12 +70,8 @@ public class VehicleRentalController {
         vehicleManufacturerColumn.setCellValueFactory(new PropertyValueFactory<>("vehicleManufacturer"));
         acquisitionDateColumn.setCellValueFactory(new PropertyValueFactory<>("formattedAcquisitionDate"));
 
-        // Add a listener to the selected item in the table
-        vehicleTable.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue != null) {
-                selectedVehicle = newValue;
-            }
-        });
+        // Allow several vehicles to be changed at once
+        vehicleTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         //Add a listener to the combo box to update the table when a new dealership is selected.
         dealershipComboBox.setOnAction(this::handleDealershipSelection);
@@ -94,7 +90,7 @@ public class VehicleRentalController {
     }
 
     /**
-     * Handles the "Change Rental" button action, toggling the rental status of the selected vehicle.
+     * Handles the "Change Rental" button action, toggling the rental status of the selected vehicles.
      *
      * @param event The action event.
      */
@@ -106,7 +102,8 @@ public class VehicleRentalController {
             return;
         }
 
-        if (selectedVehicle == null) {
+        List<Vehicle> selectedVehicles = new ArrayList<>(vehicleTable.getSelectionModel().getSelectedItems());
+        if (selectedVehicles.isEmpty()) {
             showAlert("Please select a vehicle.");
             return;
         }
@@ -117,17 +114,55 @@ public class VehicleRentalController {
             return;
         }
 
-        //selectedVehicle.setRentable(!selectedVehicle.isRentable());
-        vehicleTable.refresh();
+        if (selectedVehicles.size() > 1) {
+            changeRentals(dealership, selectedVehicles);
+            return;
+        }
 
         // Update the vehicle in the dealership's inventory
         try {
-            AppStateManager.updateDealershipVehicleRentalState(selectedDealershipId, selectedVehicle);
+            AppStateManager.updateDealershipVehicleRentalState(selectedDealershipId, selectedVehicles.get(0));
         } catch (RentalException e) {
             showAlert(e.getMessage());
         }
+        reselectVehicles(selectedVehicles);
+    }
 
+    /**
+     * Toggles the rental status of several vehicles at once and shows a summary of the vehicles
+     * that could not be changed.
+     *
+     * @param dealership The dealership holding the vehicles.
+     * @param vehicles The vehicles whose rental status is toggled.
+     */
+    private void changeRentals(Dealership dealership, List<Vehicle> vehicles) {
+        Map<Vehicle, Exception> failures =
+                AppStateManager.updateDealershipVehicleRentalStates(dealership.getDealerId(), vehicles);
+
+        StringBuilder message = new StringBuilder();
+        message.append(vehicles.size() - failures.size()).append(" of ").append(vehicles.size())
+                .append(" vehicles had their rental status changed.");
+        GuiUtility.appendFailures(message, failures);
+        reselectVehicles(vehicles);
+        showAlert(message.toString());
+    }
+
+    /**
+     * Selects the given vehicles again after a change in rental status, which moves each of them
+     * between the sales and rental vehicles of the table.
+     *
+     * @param selected The vehicles to select.
+     */
+    private void reselectVehicles(Collection<Vehicle> selected) {
+        if (!(vehicleTable.getItems() instanceof PagedInventoryList<Vehicle> items)) {return;}
+        vehicleTable.getSelectionModel().clearSelection();
+        for (Vehicle vehicle : selected) {
+            int index = items.indexOfVehicle(vehicle);
+            if (index >= 0) {
+                vehicleTable.getSelectionModel().select(index);
+            }
         }
+    }
 
 
 
@@ -155,8 +190,7 @@ public class VehicleRentalController {
         if (selectedDealershipId != null) {
             Dealership dealership = AppStateManager.findADealership(selectedDealershipId);
             if (dealership != null) {
-                ObservableList<Vehicle> vehicleData = FXCollections.observableArrayList(AppStateManager.getDealershipCompleteInventory(selectedDealershipId));
-                vehicleTable.setItems(vehicleData);
+                PagedInventoryList.forDealership(dealership).showIn(vehicleTable);
             }
         }
     }
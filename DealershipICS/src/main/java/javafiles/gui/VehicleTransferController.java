@@ -4,11 +4,13 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.SelectionMode;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -58,8 +60,6 @@ public class VehicleTransferController {
     @FXML
     private TableColumn<Vehicle, String> acquisitionDateColumn;
 
-    private Vehicle selectedVehicle;
-
     /**
      * Initializes the controller, populating combo boxes and setting up table columns. Combo boxes are
      * populated by {@link AppStateManager#getDealershipIDs()}.
@@ -81,12 +81,8 @@ public class VehicleTransferController {
         priceUnitColumn.setCellValueFactory(new PropertyValueFactory<>("priceUnit"));
         acquisitionDateColumn.setCellValueFactory(new PropertyValueFactory<>("formattedAcquisitionDate"));
 
-        // Add a listener to the selected item in the table
-        vehicleTable.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue != null) {
-                selectedVehicle = newValue;
-            }
-        });
+        // Several vehicles can be selected and transferred at once.
+        vehicleTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         // Add listeners to combo boxes to update the table when a new dealership is selected.
         senderComboBox.setOnAction(this::handleSenderSelection);
@@ -105,9 +101,10 @@ public class VehicleTransferController {
     }
 
     /**
-     * Handles the "Transfer" button action, transferring the selected vehicle between dealerships.
+     * Handles the "Transfer" button action, transferring the selected vehicles between dealerships.
      * Calls the  {@link AppStateManager#transferVehicle(String, String, Vehicle)} method to perform
-     * the transfer operation.
+     * the transfer operation for a single vehicle, and {@link AppStateManager#transferVehicles(String,
+     * String, java.util.Collection)} for several.
      * @param event The action event.
      */
     @FXML
@@ -120,15 +117,20 @@ public class VehicleTransferController {
             return;
         }
 
-        if (selectedVehicle == null) {
+        List<Vehicle> selectedVehicles = new ArrayList<>(vehicleTable.getSelectionModel().getSelectedItems());
+        if (selectedVehicles.isEmpty()) {
             showAlert("Please select a vehicle to transfer.");
             return;
         }
+        if (selectedVehicles.size() > 1) {
+            transferVehicles(senderDealershipId, receiverDealershipId, selectedVehicles);
+            return;
+        }
 
+        Vehicle selectedVehicle = selectedVehicles.get(0);
         try {
             AppStateManager.transferVehicle(senderDealershipId, receiverDealershipId, selectedVehicle);
             showAlert("Vehicle " + selectedVehicle.getVehicleId() + " transferred successfully to " + receiverDealershipId + ".");
-            updateVehicleTable(senderDealershipId); // Refresh the table
         } catch ( VehicleNotFoundException | VehicleAlreadyExistsException |
                  DealershipNotAcceptingVehiclesException | DuplicateSenderException e) {
             showAlert(e.getMessage());
@@ -136,6 +138,30 @@ public class VehicleTransferController {
 
     }
 
+    /**
+     * Transfers several vehicles at once and shows how many were transferred, along with the
+     * reason each of the others was not.
+     *
+     * @param senderDealershipId The ID of the dealership sending the vehicles.
+     * @param receiverDealershipId The ID of the dealership receiving the vehicles.
+     * @param vehicles The vehicles being transferred.
+     */
+    private void transferVehicles(String senderDealershipId, String receiverDealershipId, List<Vehicle> vehicles) {
+        Map<Vehicle, Exception> failures;
+        try {
+            failures = AppStateManager.transferVehicles(senderDealershipId, receiverDealershipId, vehicles);
+        } catch (DuplicateSenderException e) {
+            showAlert(e.getMessage());
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(vehicles.size() - failures.size()).append(" of ").append(vehicles.size())
+                .append(" vehicles transferred successfully to ").append(receiverDealershipId).append(".");
+        GuiUtility.appendFailures(message, failures);
+        showAlert(message.toString());
+    }
+
     /**
      * Handles the sender dealership selection event, updating the vehicle table and receiver combo box options.
      *
@@ -156,8 +182,7 @@ public class VehicleTransferController {
      * @param dealershipId The ID of the dealership to display vehicles from.
      */
     private void updateVehicleTable(String dealershipId) {
-        ObservableList<Vehicle> vehicleData = FXCollections.observableArrayList(AppStateManager.getDealershipCompleteInventory(dealershipId));
-        vehicleTable.setItems(vehicleData);
+        PagedInventoryList.forDealership(AppStateManager.findADealership(dealershipId)).showIn(vehicleTable);
     }
 
     /**
@@ -1,25 +1,16 @@
 package javafiles.gui;
 
-import javafiles.Key;
-import javafiles.customexceptions.DealershipNotFoundException;
-import javafiles.customexceptions.VehicleNotFoundException;
+import javafiles.customexceptions.InvalidAcquisitionDateException;
 import javafiles.domainfiles.Dealership;
 import javafiles.domainfiles.Vehicle;
 
-import javafx.beans.property.SimpleStringProperty;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 
-import javafx.scene.control.Alert;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import java.util.List;
-import java.util.Map;
-
 import java.io.IOException;
 
 import static javafiles.gui.FXMLPath.INVENTORY_SCREEN;
@@ -31,30 +22,30 @@ import static javafiles.gui.FXMLPath.INVENTORY_SCREEN;
 public class ViewInventoryController {
 
     @FXML
-    private TableView<javafiles.domainfiles.Vehicle> tableView;
+    private TableView<VehicleRow> tableView;
 
     @FXML
-    private TableColumn<Vehicle, String> dealershipIdColumn;
+    private TableColumn<VehicleRow, String> dealershipIdColumn;
 
     @FXML
-    private TableColumn <Vehicle,String> dealershipNameColum;
+    private TableColumn <VehicleRow,String> dealershipNameColum;
 
     @FXML
-    private TableColumn<Vehicle, Integer> vehicleIdColumn;
+    private TableColumn<VehicleRow, Integer> vehicleIdColumn;
     @FXML
-    private TableColumn<Vehicle, Boolean> rentalColumn;
+    private TableColumn<VehicleRow, Boolean> rentalColumn;
     @FXML
-    private TableColumn<Vehicle, String> vehicleTypeColumn;
+    private TableColumn<VehicleRow, String> vehicleTypeColumn;
     @FXML
-    private TableColumn<Vehicle, String> vehicleManufacturerColumn;
+    private TableColumn<VehicleRow, String> vehicleManufacturerColumn;
     @FXML
-    private TableColumn<Vehicle, String> vehicleModelColumn;
+    private TableColumn<VehicleRow, String> vehicleModelColumn;
     @FXML
-    private TableColumn<Vehicle, Long> vehiclePriceColumn;
+    private TableColumn<VehicleRow, Long> vehiclePriceColumn;
     @FXML
-    private TableColumn<Vehicle, String> priceUnitColumn;
+    private TableColumn<VehicleRow, String> priceUnitColumn;
     @FXML
-    private TableColumn<Vehicle, Long> acquisitionDateColumn;
+    private TableColumn<VehicleRow, Long> acquisitionDateColumn;
 
     /**
      * Initializes the controller. Sets up the TableView columns and loads vehicle data.
@@ -62,20 +53,8 @@ public class ViewInventoryController {
     @FXML
     public void initialize() {
         // Initialize the table columns with PropertyValueFactory
-        dealershipIdColumn.setCellValueFactory(cellData -> {
-            String dealershipId = getDealershipIdFromMap(cellData.getValue());
-            return new javafx.beans.property.SimpleStringProperty(dealershipId);
-        });
-        dealershipNameColum.setCellValueFactory(cellData -> {
-            try {
-                String dealershipName = getDealershipNameFromMap(cellData.getValue());
-                return new SimpleStringProperty(dealershipName);
-            } catch (DealershipNotFoundException e) {
-                showAlert(e.getMessage());
-                return new SimpleStringProperty("Error: Dealership not found");
-            }
-        });
-
+        dealershipIdColumn.setCellValueFactory(new PropertyValueFactory<>("dealershipId"));
+        dealershipNameColum.setCellValueFactory(new PropertyValueFactory<>("dealershipName"));
 
         vehicleIdColumn.setCellValueFactory(new PropertyValueFactory<>("vehicleId"));
         rentalColumn.setCellValueFactory(new PropertyValueFactory<>("rentalStatus"));
@@ -91,62 +70,11 @@ public class ViewInventoryController {
     }
 
     /**
-     * Loads the vehicle data using {@link AppStateManager#getListCompanyVehicles()} and populates the TableView.
+     * Populates the TableView with a {@link PagedInventoryList} over every dealership of
+     * {@link AppStateManager#getCompany()}, including those added later, building rows only as they are shown.
      */
     private void loadVehicleData() {
-        ObservableList<javafiles.domainfiles.Vehicle> vehicleList = FXCollections.observableArrayList(AppStateManager.getListCompanyVehicles());
-        tableView.setItems(vehicleList);
-    }
-
-
-    /**
-     * Retrieves the dealership ID from the map for the selected Vehicle.
-     *
-     * @param vehicle The Vehicle object.
-     * @return The dealership ID or "" if dealership ID is not found for a vehicle.
-     */
-    private String getDealershipIdFromMap(Vehicle vehicle) {
-        List<Map<Key, Object>> dataMaps = AppStateManager.getCompanyData();
-        for (Map<Key, Object> dataMap : dataMaps) {
-            if (dataMap.get(Key.VEHICLE_ID).equals(vehicle.getVehicleId())) {
-                return (String) dataMap.get(Key.DEALERSHIP_ID);
-            }
-        }
-
-        return "";
-    }
-
-    /**
-     * Retrieves the dealership name for a vehicle.
-     * <p>
-     * Searches application data for the vehicle's dealership and returns the name.
-     * Returns an empty string if not found.
-     *
-     * @param vehicle The vehicle.
-     * @return The dealership name, or "" if Dealership not found
-     * @throws DealershipNotFoundException if Dealership is not found in the company
-     * @throws VehicleNotFoundException if vehicle does not exist in the company
-     */
-    private String getDealershipNameFromMap(Vehicle vehicle) throws  DealershipNotFoundException, VehicleNotFoundException {
-        List<Map<Key, Object>> dataMaps = AppStateManager.getCompanyData();
-        Dealership dealership;
-
-        for (Map<Key, Object> dataMap : dataMaps) {
-            // Ensure the vehicle ID is not null before comparison
-            if (dataMap.get(Key.VEHICLE_ID) != null && dataMap.get(Key.VEHICLE_ID).equals(vehicle.getVehicleId())) {
-                String dealerID = (String) dataMap.get(Key.DEALERSHIP_ID);
-                dealership = AppStateManager.findADealership(dealerID);
-
-                // Handle the case where findADealership returns null
-                if (dealership != null) {
-                    return dealership.getDealerName();
-                } else {
-                    throw new DealershipNotFoundException("Error: Dealership not found in company" + " vehicle " + vehicle.getVehicleId() +
-                    " does not belong to a dealership"); // Dealership not found
-                }
-            }
-        }
-       throw new VehicleNotFoundException("Vehicle " + vehicle.getVehicleId() + " not found for " + vehicle.getVehicleId() + ".");
+        PagedInventoryList.forCompany(AppStateManager.getCompany()).showIn(tableView);
     }
 
 
@@ -164,19 +92,31 @@ public class ViewInventoryController {
 
         }
 
-    /**
-     * Displays an alert dialog with the given message.
-     *
-     * @param message The message to display in the alert.
-     */
-    private void showAlert(String message) {
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Information");
-        alert.setHeaderText(null);
-        alert.setContentText(message);
-        alert.showAndWait();
-    }
+    // Inner class to represent a row in the table
+    public static class VehicleRow {
+        private final Vehicle vehicle;
+        private final Dealership dealership;
 
+        public VehicleRow(Vehicle vehicle, Dealership dealership) {
+            this.vehicle = vehicle;
+            this.dealership = dealership;
+        }
 
+        public Vehicle getVehicle() {return vehicle;}
+        public Dealership getDealership() {return dealership;}
+
+        public String getDealershipId() {return dealership.getDealerId();}
+        public String getDealershipName() {return dealership.getDealerName();}
+
+        public String getVehicleId() {return vehicle.getVehicleId();}
+        public boolean getRentalStatus() {return vehicle.getRentalStatus();}
+        public String getVehicleType() {return vehicle.getVehicleType();}
+        public String getVehicleManufacturer() {return vehicle.getVehicleManufacturer();}
+        public String getVehicleModel() {return vehicle.getVehicleModel();}
+        public Long getVehiclePrice() {return vehicle.getVehiclePrice();}
+        public String getPriceUnit() {return vehicle.getPriceUnit();}
+        public String getFormattedAcquisitionDate() throws InvalidAcquisitionDateException {
+            return vehicle.getFormattedAcquisitionDate();
+        }
+    }
 }
-
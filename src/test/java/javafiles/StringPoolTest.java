@@ -0,0 +1,67 @@
+package javafiles;
+
+import javafiles.customexceptions.ReadWriteException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringPoolTest {
+    @TempDir
+    Path tempDir;
+
+    // Expected: Equal Strings are pooled to the same object, and null stays null.
+    @Test
+    void canonicalReturnsOneCopy() {
+        String first = new String("Toyota");
+        String second = new String("Toyota");
+
+        assertSame(StringPool.canonical(first), StringPool.canonical(second));
+        assertEquals("Toyota", StringPool.canonical(second));
+        assertNull(StringPool.canonical(null));
+    }
+
+    // Expected: Only the repeated values of a Map are pooled, never the Vehicle ID.
+    @Test
+    void canonicalizePoolsRepeatedValues() {
+        Map<Key, Object> map = new HashMap<>();
+        map.put(Key.VEHICLE_MANUFACTURER, new String("Honda"));
+        map.put(Key.VEHICLE_ID, new String("V001"));
+        map.put(Key.VEHICLE_PRICE, 1000L);
+
+        StringPool.canonicalize(map);
+
+        assertSame(StringPool.canonical("Honda"), map.get(Key.VEHICLE_MANUFACTURER));
+        assertNotSame(StringPool.canonical("V001"), map.get(Key.VEHICLE_ID));
+        assertEquals(1000L, map.get(Key.VEHICLE_PRICE));
+    }
+
+    // Expected: Every row read from each kind of file shares the same copy of each repeated value.
+    @Test
+    void readersShareRepeatedValues() throws ReadWriteException {
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Map<Key, Object> map = new HashMap<>();
+            map.put(Key.DEALERSHIP_ID, "D001");
+            map.put(Key.VEHICLE_TYPE, "suv");
+            map.put(Key.VEHICLE_MANUFACTURER, "Toyota");
+            map.put(Key.VEHICLE_MODEL, "RAV4");
+            map.put(Key.VEHICLE_ID, "V00" + i);
+            map.put(Key.VEHICLE_PRICE, 20000L);
+            map.put(Key.VEHICLE_PRICE_UNIT, "dollars");
+            maps.add(map);
+        }
+
+        VehicleRecordTest.roundTrip(tempDir, maps).forEach((extension, read) -> {
+            assertEquals(3, read.size(), extension);
+            for (Map<Key, Object> map : read) {
+                assertSame(StringPool.canonical("Toyota"), map.get(Key.VEHICLE_MANUFACTURER), extension);
+                assertSame(StringPool.canonical("RAV4"), map.get(Key.VEHICLE_MODEL), extension);
+                assertSame(StringPool.canonical("D001"), map.get(Key.DEALERSHIP_ID), extension);
+            }
+        });
+    }
+}
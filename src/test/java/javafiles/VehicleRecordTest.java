@@ -0,0 +1,96 @@
+package javafiles;
+
+import javafiles.customexceptions.ReadWriteException;
+import javafiles.dataaccessfiles.FileIOBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleRecordTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Fills the given {@link Map} with the values that are needed to represent a Vehicle.
+     *
+     * @param map The {@link Map} being filled.
+     * @return map, once filled.
+     */
+    private static Map<Key, Object> fill(Map<Key, Object> map) {
+        map.put(Key.DEALERSHIP_ID, "D001");
+        map.put(Key.VEHICLE_TYPE, "suv");
+        map.put(Key.VEHICLE_MODEL, "RAV4");
+        map.put(Key.VEHICLE_ID, "V001");
+        map.put(Key.VEHICLE_PRICE, 20000L);
+        map.put(Key.VEHICLE_RENTAL_STATUS, true);
+        return map;
+    }
+
+    // Expected: A value of the wrong type is rejected by put and skipped by putValid.
+    @Test
+    void wrongTypesAreRejected() {
+        VehicleRecord record = new VehicleRecord();
+
+        assertThrows(IllegalArgumentException.class, () -> record.put(Key.VEHICLE_PRICE, "20000"));
+        assertFalse(Key.VEHICLE_PRICE.putValid(record, "20000"));
+        assertTrue(Key.VEHICLE_PRICE.putValid(record, 20000L));
+        assertThrows(IllegalArgumentException.class,
+                () -> new VehicleRecord(Map.of(Key.VEHICLE_RENTAL_STATUS, "true")));
+        assertEquals(Map.of(Key.VEHICLE_PRICE, 20000L), record);
+    }
+
+    // Expected: getVal returns the same values from a VehicleRecord as from a HashMap.
+    @Test
+    void getValMatchesHashMap() {
+        Map<Key, Object> hashMap = fill(new HashMap<>());
+        Map<Key, Object> record = fill(new VehicleRecord());
+
+        assertEquals(hashMap, record);
+        assertEquals(record, new VehicleRecord(hashMap));
+        for (Key key : Key.values()) {
+            assertEquals(key.getVal(hashMap, Object.class), key.getVal(record, Object.class));
+            assertEquals(key.getVal(hashMap, String.class), key.getVal(record, String.class));
+            assertEquals(key.getVal(hashMap, Long.class), key.getVal(record, Long.class));
+            assertEquals(key.getVal(hashMap, Boolean.class), key.getVal(record, Boolean.class));
+        }
+    }
+
+    /**
+     * Writes the given maps to a file of every kind in a folder, and reads each file back.
+     *
+     * @param folder The folder the files are written to.
+     * @param maps   The maps being written.
+     * @return A {@link Map} from each file extension to the maps read from that file.
+     * @throws ReadWriteException If a file can not be written or read.
+     */
+    static Map<String, List<Map<Key, Object>>> roundTrip(Path folder, List<Map<Key, Object>> maps)
+            throws ReadWriteException {
+        FileIOBuilder.setupFileIOBuilders();
+        Map<String, List<Map<Key, Object>>> reads = new LinkedHashMap<>();
+        for (String extension : new String[] {".json", ".xml", ".inv"}) {
+            String path = folder.resolve("inventory" + extension).toString();
+            FileIOBuilder.buildNewFileIO(path, 'w').writeInventory(maps);
+            reads.put(extension, FileIOBuilder.buildNewFileIO(path, 'r').readInventory());
+        }
+        return reads;
+    }
+
+    // Expected: Every kind of file is read as VehicleRecords.
+    @Test
+    void readersReadVehicleRecords() throws ReadWriteException {
+        List<Map<Key, Object>> maps = List.of(fill(new HashMap<>()));
+
+        roundTrip(tempDir, maps).forEach((extension, read) -> {
+            assertEquals(1, read.size(), extension);
+            assertInstanceOf(VehicleRecord.class, read.get(0), extension);
+            assertEquals(20000L, Key.VEHICLE_PRICE.getVal(read.get(0), Long.class), extension);
+        });
+    }
+}
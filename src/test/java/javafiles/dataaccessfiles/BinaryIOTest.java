@@ -0,0 +1,109 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryIOTest {
+    @TempDir
+    Path tempDir;
+
+    private String path;
+
+    @BeforeEach
+    void setUp() {
+        FileIOBuilder.setupFileIOBuilders();
+        path = tempDir.resolve("inventory.inv").toString();
+    }
+
+    /**
+     * Creates and returns a {@link Map} representing a Vehicle with every {@link Key} that is written,
+     * starting from {@link FileIOBuilderTest#vehicleMap(String, String)}.
+     *
+     * @param index The number of the Vehicle, used to vary its values.
+     * @return the newly created {@link Map}.
+     */
+    private static Map<Key, Object> vehicleMap(int index) {
+        Map<Key, Object> map = FileIOBuilderTest.vehicleMap("D" + (index % 7), "V" + index);
+        map.put(Key.DEALERSHIP_NAME, "Dealer " + (index % 7));
+        map.put(Key.DEALERSHIP_RECEIVING_STATUS, index % 2 == 0);
+        map.put(Key.DEALERSHIP_RENTING_STATUS, index % 3 == 0);
+        map.put(Key.VEHICLE_MANUFACTURER, "Tøyota");
+        map.put(Key.VEHICLE_MODEL, "Model " + (index % 11));
+        map.put(Key.VEHICLE_RENTAL_STATUS, index % 5 == 0);
+        map.put(Key.VEHICLE_PRICE, 10000L + index);
+        map.put(Key.VEHICLE_PRICE_UNIT, "dollars");
+        map.put(Key.VEHICLE_ACQUISITION_DATE, 1700000000000L + index);
+        return map;
+    }
+
+    // Expected: FileIOBuilder picks BinaryIO from the extension.
+    @Test
+    void buildFromExtension() throws ReadWriteException {
+        assertInstanceOf(BinaryIO.class, FileIOBuilder.buildNewFileIO(path, 'w'));
+    }
+
+    // Expected: Every Vehicle is read back the same, across several blocks.
+    @Test
+    void writeAndReadManyBlocks() throws ReadWriteException {
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {maps.add(vehicleMap(i));}
+
+        FileIOBuilder.buildNewFileIO(path, 'w').writeInventory(maps.stream());
+
+        assertEquals(maps, FileIOBuilder.buildNewFileIO(path, 'r').readInventory());
+    }
+
+    // Expected: Missing values stay missing and error reasons are not written.
+    @Test
+    void writeAndReadMissingValues() throws ReadWriteException {
+        Map<Key, Object> map = new HashMap<>();
+        map.put(Key.DEALERSHIP_ID, "D1");
+        map.put(Key.VEHICLE_RENTAL_STATUS, false);
+        Map<Key, Object> written = new HashMap<>(map);
+        written.put(Key.REASON_FOR_ERROR, new ReadWriteException("Unknown"));
+
+        new BinaryIO(path, 'w').writeInventory(List.of(written, new HashMap<>()));
+
+        assertEquals(List.of(map, new HashMap<>()), new BinaryIO(path, 'r').readInventory());
+    }
+
+    // Expected: A file without the magic bytes throws a ReadWriteException.
+    @Test
+    void readNotBinaryInventory() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(path)) {
+            out.write("{\"car_inventory\":[]}".getBytes());
+        }
+
+        assertThrows(ReadWriteException.class, () -> new BinaryIO(path, 'r').readInventory());
+    }
+
+    // Expected: A corrupt row count, String count, String length or dictionary index throws a ReadWriteException.
+    @Test
+    void readCorruptBinaryInventory() throws IOException, ReadWriteException {
+        new BinaryIO(path, 'w').writeInventory(List.of(vehicleMap(1)));
+        byte[] written = Files.readAllBytes(Path.of(path));
+        // The row count, new String count and first String length follow the magic bytes and version.
+        int[][] corruptions = {{6, Integer.MAX_VALUE}, {6, -1}, {10, 0}, {10, -1}, {14, -2}, {14, Integer.MAX_VALUE}};
+
+        for (int[] corruption : corruptions) {
+            byte[] corrupt = written.clone();
+            ByteBuffer.wrap(corrupt).putInt(corruption[0], corruption[1]);
+            Files.write(Path.of(path), corrupt);
+
+            assertThrows(ReadWriteException.class, () -> new BinaryIO(path, 'r').readInventory(),
+                    Arrays.toString(corruption));
+        }
+    }
+}
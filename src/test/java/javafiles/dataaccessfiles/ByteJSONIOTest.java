@@ -0,0 +1,117 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static javafiles.dataaccessfiles.FileIOBuilderTest.vehicleMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteJSONIOTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Writes contents to a new file in tempDir as UTF-8 and returns its path.
+     *
+     * @param contents The JSON text of the file.
+     * @return the path of the new file.
+     * @throws IOException If the file can not be written.
+     */
+    private String writeFile(String contents) throws IOException {
+        Path path = tempDir.resolve("bytes.json");
+        Files.writeString(path, contents, StandardCharsets.UTF_8);
+        return path.toString();
+    }
+
+    // Expected: The same Maps are read as with JSONIO, including escapes, multibyte characters and numbers.
+    @Test
+    void readInventoryMatchesJSONIO() throws IOException, ReadWriteException {
+        String path = writeFile("{ \"header\" : {\"car_inventory\":[{\"vehicle_id\":\"X\"}]},\n" +
+                "  \"car_inventory\" : [\n" +
+                "    {\"dealership_id\":\"D1\",\"vehicle_id\":\"V\\\"1\\u00e9\",\"vehicle_model\":\"Škoda \\ud83d\\ude97\"," +
+                "\"price\":-5,\"date_acquired\":1515354694451,\"extra\":{\"a\":[1.5e3,{},true,null]}},\n" +
+                "    7,\n" +
+                "    {\"dealership_id\":\"D2\",\"vehicle_rental_status\":false,\"price\":125}\n" +
+                "  ],\n" +
+                "  \"footer\":[{\"vehicle_id\":\"Y\\\\\"}]\n}\n");
+
+        List<Map<Key, Object>> read = new ByteJSONIO(path, 'r').readInventory();
+
+        assertEquals(new JSONIO(path, 'r').readInventory(), read);
+        assertEquals(2, read.size());
+        assertEquals("V\"1é", read.get(0).get(Key.VEHICLE_ID));
+        assertEquals("Škoda 🚗", read.get(0).get(Key.VEHICLE_MODEL));
+        assertEquals(-5L, read.get(0).get(Key.VEHICLE_PRICE));
+    }
+
+    // Expected: Invalid JSON, trailing content and a missing car_inventory all throw a ReadWriteException.
+    @Test
+    void readInventoryInvalid() throws IOException, ReadWriteException {
+        String[] files = {"{\"car_inventory\":[{\"vehicle_id\":\"V1\"}", "{\"car_inventory\":[]} []",
+                "{\"car_inventory\":[{\"price\":12x}]}", "{\"vehicles\":[]}", ""};
+        for (String contents : files) {
+            ByteJSONIO jsonIO = new ByteJSONIO(writeFile(contents), 'r');
+            assertThrows(ReadWriteException.class, jsonIO::readInventory, contents);
+        }
+    }
+
+    // Expected: Only files of at least the threshold size are read through a ByteJSONIO.
+    @Test
+    void builderUsesByteReaderForLargeFiles() throws IOException, ReadWriteException {
+        FileIOBuilder.setupFileIOBuilders();
+        String path = writeFile("{\"car_inventory\":[]}");
+        assertFalse(FileIOBuilder.buildNewFileIO(path, 'r') instanceof ByteJSONIO);
+
+        StringBuilder large = new StringBuilder("{\"car_inventory\":[");
+        while (large.length() < 16 << 20) {
+            large.append("{\"vehicle_id\":\"").append(large.length()).append("\"},");
+        }
+        large.append("{}]}");
+        path = writeFile(large.toString());
+        FileIO fileIO = FileIOBuilder.buildNewFileIO(path, 'r');
+
+        assertInstanceOf(ByteJSONIO.class, fileIO);
+        assertEquals(new JSONIO(path, 'r').readInventory(), fileIO.readInventory());
+        assertFalse(FileIOBuilder.buildNewFileIO(path, 'w') instanceof ByteJSONIO);
+        assertTrue(new File(path).exists());
+    }
+
+    // Expected: A snapshot large enough to be read through a ByteJSONIO is left unmapped and
+    // closed once read, so compacting can replace it.
+    @Test
+    void compactReplacesSnapshotReadAsBytes() throws IOException, ReadWriteException {
+        FileIOBuilder.setupFileIOBuilders();
+        StringBuilder large = new StringBuilder("{\"car_inventory\":[");
+        while (large.length() < 16 << 20) {
+            large.append("{\"dealership_id\":\"D1\",\"vehicle_id\":\"V").append(large.length()).append("\"},");
+        }
+        large.append("{}]}");
+        Path snapshot = tempDir.resolve("inventory.json");
+        Files.writeString(snapshot, large, StandardCharsets.UTF_8);
+        InventoryJournal journal = new InventoryJournal(snapshot.toString(),
+                tempDir.resolve("inventory.journal").toString(), 100, 1000);
+        assertInstanceOf(ByteJSONIO.class, FileIOBuilder.buildNewFileIO(snapshot.toString(), 'r'));
+
+        assertFalse(journal.replay().isEmpty());
+        Path maps = Paths.get("/proc/self/maps");
+        if (Files.isReadable(maps)) {
+            assertFalse(Files.readString(maps).contains(snapshot.toString()), "Snapshot is still mapped.");
+        }
+        journal.compact(List.of(vehicleMap("D1", "V1")));
+
+        List<Map<Key, Object>> compacted = new JSONIO(snapshot.toString(), 'r').readInventory();
+        assertEquals(1, compacted.size());
+        assertEquals("V1", compacted.get(0).get(Key.VEHICLE_ID));
+    }
+}
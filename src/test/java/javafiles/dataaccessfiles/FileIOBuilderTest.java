@@ -7,6 +7,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +33,24 @@ class FileIOBuilderTest {
     }
 
 
+    /**
+     * Creates and returns a {@link Map} representing a Vehicle with the given ids.
+     *
+     * @param dealerId The id of the Dealership holding the Vehicle.
+     * @param vehicleId The id of the Vehicle.
+     * @return the newly created {@link Map}.
+     */
+    static Map<Key, Object> vehicleMap(String dealerId, String vehicleId) {
+        Map<Key, Object> map = new HashMap<>();
+        map.put(Key.DEALERSHIP_ID, dealerId);
+        map.put(Key.DEALERSHIP_RECEIVING_STATUS, true);
+        map.put(Key.VEHICLE_ID, vehicleId);
+        map.put(Key.VEHICLE_TYPE, "suv");
+        map.put(Key.VEHICLE_MODEL, "RAV4");
+        map.put(Key.VEHICLE_PRICE, 30000L);
+        return map;
+    }
+
     /**
      * Returns the path of the {@link FileIO} to be created from the given information.
      *
@@ -0,0 +1,151 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static javafiles.dataaccessfiles.FileIOBuilderTest.vehicleMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryJournalTest {
+    @TempDir
+    Path tempDir;
+
+    private String snapshotPath;
+    private String journalPath;
+
+    @BeforeEach
+    void setUp() {
+        FileIOBuilder.setupFileIOBuilders();
+        snapshotPath = tempDir.resolve("inventory.json").toString();
+        journalPath = tempDir.resolve("inventory.journal").toString();
+    }
+
+    /**
+     * Returns the {@link Map} in maps with the given Vehicle id, failing if it is not present.
+     *
+     * @param maps The {@link List} of {@link Map}s being searched.
+     * @param vehicleId The id of the Vehicle.
+     * @return the {@link Map} of the Vehicle.
+     */
+    private static Map<Key, Object> findVehicle(List<Map<Key, Object>> maps, String vehicleId) {
+        for (Map<Key, Object> map : maps) {
+            if (vehicleId.equals(map.get(Key.VEHICLE_ID))) {return map;}
+        }
+        fail("Vehicle " + vehicleId + " not found.");
+        return null;
+    }
+
+    // Expected: The journal path replaces the extension of the snapshot path.
+    @Test
+    void getJournalPath() {
+        assertEquals("dir/masterInventoryList.journal", InventoryJournal.getJournalPath("dir/masterInventoryList.json"));
+        assertEquals("dir.d/inventory.journal", InventoryJournal.getJournalPath("dir.d/inventory"));
+    }
+
+    // Expected: Records are applied in order on top of the snapshot.
+    @Test
+    void replayAppliesRecords() throws ReadWriteException {
+        InventoryJournal journal = new InventoryJournal(snapshotPath, journalPath, 1, 100);
+        journal.compact(List.of(vehicleMap("D1", "V1"), vehicleMap("D1", "V2")));
+
+        journal.recordVehicle(vehicleMap("D2", "V1"));
+        journal.recordRemoval("V2");
+        journal.recordVehicle(vehicleMap("D1", "V3"));
+        Map<Key, Object> dealer = new HashMap<>();
+        dealer.put(Key.DEALERSHIP_ID, "D1");
+        dealer.put(Key.DEALERSHIP_RECEIVING_STATUS, false);
+        journal.recordDealership(dealer);
+        journal.close();
+
+        List<Map<Key, Object>> maps = new InventoryJournal(snapshotPath, journalPath, 1, 100).replay();
+
+        assertEquals(2, maps.size());
+        assertEquals("D2", findVehicle(maps, "V1").get(Key.DEALERSHIP_ID));
+        assertEquals(true, findVehicle(maps, "V1").get(Key.DEALERSHIP_RECEIVING_STATUS));
+        assertEquals(false, findVehicle(maps, "V3").get(Key.DEALERSHIP_RECEIVING_STATUS));
+    }
+
+    // Expected: Replaying with a row count reports every snapshot row in order, with the same result.
+    @Test
+    void replayCountsSnapshotRows() throws ReadWriteException {
+        InventoryJournal journal = new InventoryJournal(snapshotPath, journalPath, 1, 100);
+        journal.compact(List.of(vehicleMap("D1", "V1"), vehicleMap("D1", "V2"), vehicleMap("D2", "V3")));
+        journal.recordRemoval("V2");
+        journal.close();
+
+        List<Integer> counts = new ArrayList<>();
+        List<Map<Key, Object>> maps = new InventoryJournal(snapshotPath, journalPath, 1, 100).replay(counts::add);
+
+        assertEquals(List.of(1, 2, 3), counts);
+        assertEquals(new InventoryJournal(snapshotPath, journalPath, 1, 100).replay(), maps);
+    }
+
+    // Expected: Compaction writes the snapshot and empties the journal.
+    @Test
+    void compactEmptiesJournal() throws ReadWriteException, IOException {
+        InventoryJournal journal = new InventoryJournal(snapshotPath, journalPath, 10, 2);
+        journal.recordVehicle(vehicleMap("D1", "V1"));
+        assertFalse(journal.needsCompaction());
+        journal.recordVehicle(vehicleMap("D1", "V2"));
+        assertTrue(journal.needsCompaction());
+
+        journal.compact(List.of(vehicleMap("D1", "V1"), vehicleMap("D1", "V2")));
+
+        assertFalse(journal.needsCompaction());
+        assertEquals(0, Files.size(Path.of(journalPath)));
+        assertEquals(2, journal.replay().size());
+    }
+
+    // Expected: The snapshot is compacted into a file of the same format next to it.
+    @Test
+    void getCompactionPath() {
+        assertEquals("dir/inventory.compacting.json", InventoryJournal.getCompactionPath("dir/inventory.json"));
+        assertEquals("dir.d/inventory.compacting", InventoryJournal.getCompactionPath("dir.d/inventory"));
+    }
+
+    // Expected: A compaction that fails part way leaves the old snapshot, the journal and no other file.
+    @Test
+    void failedCompactKeepsSnapshotAndJournal() throws ReadWriteException, IOException {
+        InventoryJournal journal = new InventoryJournal(snapshotPath, journalPath, 1, 100);
+        journal.compact(List.of(vehicleMap("D1", "V1")));
+        journal.recordVehicle(vehicleMap("D1", "V2"));
+
+        assertThrows(IllegalStateException.class, () -> journal.compact(
+                Stream.of(vehicleMap("D1", "V1"), vehicleMap("D1", "V2")).map(map -> {
+                    if (map.get(Key.VEHICLE_ID).equals("V2")) {throw new IllegalStateException();}
+                    return map;
+                })));
+
+        assertTrue(Files.size(Path.of(journalPath)) > 0);
+        assertEquals(2, journal.replay().size());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    // Expected: A missing snapshot is treated as empty and a cut off final record is ignored.
+    @Test
+    void replayWithoutSnapshotIgnoresPartialRecord() throws ReadWriteException, IOException {
+        InventoryJournal journal = new InventoryJournal(snapshotPath, journalPath, 1, 100);
+        journal.recordVehicle(vehicleMap("D1", "V1"));
+        journal.close();
+        try (FileWriter writer = new FileWriter(journalPath, true)) {
+            writer.write("{\"op\":\"remove\",\"vehicle_");
+        }
+
+        List<Map<Key, Object>> maps = journal.replay();
+
+        assertEquals(1, maps.size());
+        assertEquals("V1", maps.get(0).get(Key.VEHICLE_ID));
+    }
+}
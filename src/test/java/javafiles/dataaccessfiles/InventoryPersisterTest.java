@@ -0,0 +1,93 @@
+package javafiles.dataaccessfiles;
+
+import javafiles.Key;
+import javafiles.customexceptions.ReadWriteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static javafiles.dataaccessfiles.FileIOBuilderTest.vehicleMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryPersisterTest {
+    @TempDir
+    Path tempDir;
+
+    private InventoryJournal journal;
+    private List<InventoryPersister.Status> statuses;
+
+    @BeforeEach
+    void setUp() {
+        FileIOBuilder.setupFileIOBuilders();
+        journal = new InventoryJournal(tempDir.resolve("inventory.json").toString(),
+                tempDir.resolve("inventory.journal").toString(), 100, 1000);
+        statuses = new CopyOnWriteArrayList<>();
+    }
+
+    // Expected: Submitted changes are on disk once flush returns, and the last status is SAVED.
+    @Test
+    void flushWritesQueuedChanges() throws ReadWriteException {
+        InventoryPersister persister = new InventoryPersister(journal, 16, 60000, statuses::add);
+        persister.start();
+
+        assertTrue(persister.submit(j -> j.recordVehicle(vehicleMap("D1", "V1"))));
+        assertTrue(persister.submit(j -> j.recordVehicle(vehicleMap("D1", "V2"))));
+        assertTrue(persister.submit(j -> j.recordRemoval("V1")));
+        assertTrue(persister.flush(5000));
+
+        List<Map<Key, Object>> maps = journal.replay();
+        assertEquals(1, maps.size());
+        assertEquals("V2", maps.get(0).get(Key.VEHICLE_ID));
+        assertEquals(InventoryPersister.Status.SAVED, statuses.get(statuses.size() - 1));
+        persister.close(5000);
+    }
+
+    // Expected: A full queue rejects changes, and a snapshot replaces everything queued.
+    @Test
+    void fullQueueFallsBackToSnapshot() throws ReadWriteException {
+        InventoryPersister persister = new InventoryPersister(journal, 1, 0, statuses::add);
+
+        assertTrue(persister.submit(j -> j.recordVehicle(vehicleMap("D1", "V1"))));
+        assertFalse(persister.submit(j -> j.recordVehicle(vehicleMap("D1", "V2"))));
+        persister.submitSnapshot(List.of(vehicleMap("D1", "V1"), vehicleMap("D1", "V2")));
+        persister.close(5000);
+
+        assertEquals(2, journal.replay().size());
+        assertEquals(InventoryPersister.Status.SAVED, statuses.get(statuses.size() - 1));
+    }
+
+    // Expected: If the snapshot can't be written, the changes it replaced are journaled and another is needed.
+    @Test
+    void failedSnapshotKeepsReplacedChanges() throws ReadWriteException {
+        journal = new InventoryJournal(tempDir.resolve("missing").resolve("inventory.json").toString(),
+                tempDir.resolve("inventory.journal").toString(), 100, 1000);
+        InventoryPersister persister = new InventoryPersister(journal, 1, 0, statuses::add);
+
+        assertTrue(persister.submit(j -> j.recordVehicle(vehicleMap("D1", "V1"))));
+        persister.submitSnapshot(List.of(vehicleMap("D1", "V1")));
+        persister.close(5000);
+
+        assertEquals(InventoryPersister.Status.FAILED, statuses.get(statuses.size() - 1));
+        assertTrue(persister.needsCompaction());
+        List<Map<Key, Object>> maps = journal.replay();
+        assertEquals(1, maps.size());
+        assertEquals("V1", maps.get(0).get(Key.VEHICLE_ID));
+    }
+
+    // Expected: A change that fails to write is reported as FAILED.
+    @Test
+    void failedWriteIsReported() {
+        InventoryPersister persister = new InventoryPersister(journal, 16, 0, statuses::add);
+        persister.start();
+
+        persister.submit(j -> {throw new ReadWriteException("disk full");});
+        assertTrue(persister.flush(5000));
+
+        assertEquals(InventoryPersister.Status.FAILED, statuses.get(statuses.size() - 1));
+        persister.close(5000);
+    }
+}
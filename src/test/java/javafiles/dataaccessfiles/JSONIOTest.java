@@ -4,9 +4,16 @@ import javafiles.Key;
 import javafiles.customexceptions.BadCharException;
 import javafiles.customexceptions.PathNotFoundException;
 import javafiles.customexceptions.ReadWriteException;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -413,4 +420,60 @@ class JSONIOTest {
 
         writeInventoryWithBadKeys("null_val", new MapKey[]{MapKey.PARTIAL_MAP}, badKey);
     }
-}
\ No newline at end of file
+
+    // Expected: Objects of car_inventory are passed on in order, everything else in the file is skipped.
+    @Test
+    void readInventoryStreaming(@TempDir Path tempDir) throws IOException, ReadWriteException {
+        String path = tempDir.resolve("stream.json").toString();
+        try (FileWriter writer = new FileWriter(path)) {
+            writer.write("{\"header\":{\"car_inventory\":[{\"vehicle_id\":\"X\"}]}," +
+                    "\"car_inventory\":[{\"dealership_id\":\"D1\",\"vehicle_id\":\"V1\",\"extra\":{\"a\":[1,{}]}}," +
+                    "{\"dealership_id\":\"D2\",\"vehicle_id\":\"V2\",\"price\":5}]," +
+                    "\"footer\":[{\"vehicle_id\":\"Y\"}]}");
+        }
+        JSONIO jsonIO = new JSONIO(path, 'r');
+
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        jsonIO.readInventory(maps::add);
+
+        assertEquals(2, maps.size());
+        assertEquals("V1", maps.get(0).get(Key.VEHICLE_ID));
+        assertEquals("D2", maps.get(1).get(Key.DEALERSHIP_ID));
+        assertEquals(5L, maps.get(1).get(Key.VEHICLE_PRICE));
+    }
+
+    // Expected: A file without a car_inventory array throws a ReadWriteException.
+    @Test
+    void readInventoryNoInventory(@TempDir Path tempDir) throws IOException, ReadWriteException {
+        String path = tempDir.resolve("empty.json").toString();
+        try (FileWriter writer = new FileWriter(path)) {
+            writer.write("{\"vehicles\":[]}");
+        }
+        JSONIO jsonIO = new JSONIO(path, 'r');
+
+        assertThrows(ReadWriteException.class, jsonIO::readInventory);
+    }
+
+    // Expected: The streamed file is identical to serializing the whole car_inventory JSONArray at once.
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeInventoryStreamingMatchesJSONArray(@TempDir Path tempDir) throws IOException, ReadWriteException {
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        maps.add(getTarget(MapKey.PARTIAL_MAP));
+        maps.add(getTarget(MapKey.FULL_MAP));
+        maps.add(getTarget(MapKey.EXTRA_MAP));
+
+        JSONArray jArray = new JSONArray();
+        for (Map<Key, Object> map : maps) {
+            jArray.add(JSONIO.makeJSONObject(map));
+        }
+        JSONObject jFile = new JSONObject();
+        jFile.put("car_inventory", jArray);
+
+        String path = tempDir.resolve("stream.json").toString();
+        new JSONIO(path, 'w').writeInventory(maps.stream());
+
+        assertEquals(jFile.toJSONString(), Files.readString(Path.of(path)));
+        assertEquals(maps, new JSONIO(path, 'r').readInventory());
+    }
+}
@@ -4,7 +4,11 @@ import javafiles.Key;
 import javafiles.customexceptions.*;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -47,15 +51,13 @@ class XMLIOTest {
         }
     }
 
-    // Expected: Creation of XMLIO throws an exception.
+    // Expected: Creation of XMLIO does not throw an exception.
     @Test
     void fileDNEWrite() {
         try {
-            XMLIO xmlIO = getXMLIO("DNE_W", 'w', true);
-            fail(xmlIO.toString());
+            getXMLIO("DNE_W", 'w', false);
         } catch (ReadWriteException e) {
-            BadExtensionException cause = new BadExtensionException("Bad extension.");
-            FileIOBuilderTest.assertSameCauseType(new ReadWriteException(cause), e);
+            fail(e.getMessage());
         }
     }
 
@@ -566,20 +568,18 @@ class XMLIOTest {
         runDealershipStateFullDealership("nonsense_tags");
     }
 
-    // Expected: FileIOBuilder.buildNewFileIO() throws exception.
+    // Expected: No issues, XMLIO created in write mode.
     @Test
     void writeInventoryThroughFileIOBuilder() {
-        XMLIO xmlIO;
         try {
-            xmlIO = getXMLIO("w2", 'w', true);
-            fail(xmlIO.toString());
+            XMLIO xmlIO = getXMLIO("w2", 'w', false);
+            assertNotNull(xmlIO);
         } catch (ReadWriteException e) {
-            BadExtensionException cause = new BadExtensionException("Bad extension.");
-            FileIOBuilderTest.assertSameCauseType(new ReadWriteException(cause), e);
+            fail(e);
         }
     }
 
-    // Expected: writeInventory() throws exception.
+    // Expected: No issues, all Vehicles written and read back.
     @Test
     void writeInventoryManually() {
         String path = FileIOBuilderTest.getPath("w3", "xmlIOTests", ".xml");
@@ -595,13 +595,42 @@ class XMLIOTest {
         maps.add(getMinMap());
         try {
             xmlIO.writeInventory(maps);
+            testMaps(maps, new XMLIO(path, 'r').readInventory());
         } catch (ReadWriteException e) {
-            String reason = "Can not write to XML Files.";
-            assertInstanceOf(ReadWriteException.class, e);
-            assertEquals(reason, e.getMessage());
+            fail(e);
         }
     }
 
+    // Expected: Every written key is read back, with consecutive Vehicles of a Dealer sharing a Dealer tag.
+    @Test
+    void writeInventoryRoundTrip(@TempDir Path tempDir) throws ReadWriteException, IOException {
+        String path = tempDir.resolve("round_trip.xml").toString();
+
+        Map<Key, Object> statusMap = getExtraMap();
+        statusMap.put(DEALERSHIP_RECEIVING_STATUS, false);
+        statusMap.put(DEALERSHIP_RENTING_STATUS, true);
+        statusMap.put(VEHICLE_RENTAL_STATUS, true);
+        statusMap.put(VEHICLE_ACQUISITION_DATE, 1700000000000L);
+        statusMap.put(VEHICLE_MODEL, "a < b & \"c\"");
+
+        Map<Key, Object> unitMap = getMinMap();
+        unitMap.put(DEALERSHIP_ID, "d_id2");
+        unitMap.remove(VEHICLE_PRICE);
+        unitMap.put(VEHICLE_PRICE_UNIT, "yen");
+
+        List<Map<Key, Object>> maps = new ArrayList<>();
+        maps.add(getFullMap());
+        maps.add(getExtraMap());
+        maps.add(statusMap);
+        maps.add(unitMap);
+
+        new XMLIO(path, 'w').writeInventory(maps.stream());
+
+        assertEquals(maps, new XMLIO(path, 'r').readInventory());
+        String file = Files.readString(Path.of(path));
+        assertEquals(3, file.split("<Dealer ", -1).length - 1);
+    }
+
     // Expected: readInventory() throws exception.
     @Test
     void writeInventoryReadFromWriteXML() {
@@ -637,8 +666,9 @@ class XMLIOTest {
         maps.add(getMinMap());
         try {
             xmlIO.writeInventory(maps);
+            fail("Wrote to read file.");
         } catch (ReadWriteException e) {
-            String reason = "Can not write to XML Files.";
+            String reason = "Must be mode 'w', not mode 'r'.";
             assertInstanceOf(ReadWriteException.class, e);
             assertEquals(reason, e.getMessage());
         }
@@ -0,0 +1,215 @@
+package javafiles.domainfiles;
+
+import javafiles.customexceptions.DealershipNotAcceptingVehiclesException;
+import javafiles.customexceptions.DuplicateSenderException;
+import javafiles.customexceptions.VehicleAlreadyExistsException;
+import javafiles.customexceptions.VehicleNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests that run add, remove and transfer from many threads at once against one
+ * {@link Company}, then check that every Vehicle ended up in exactly one Dealership.
+ */
+public class CompanyConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int DEALERSHIPS = 4;
+    private static final int VEHICLE_IDS = 200;
+    private static final int OPERATIONS = 20000;
+
+    private Company company;
+    private List<Dealership> dealerships;
+
+    @BeforeEach
+    public void setUp() {
+        company = new Company();
+        dealerships = new ArrayList<>();
+        for (int i = 0; i < DEALERSHIPS; i++) {
+            Dealership dealership = new Dealership("D00" + i, "Dealer " + i);
+            company.addDealership(dealership);
+            dealerships.add(dealership);
+        }
+    }
+
+    /**
+     * Runs task on THREADS threads at once, each with its own thread number, and waits for all of them.
+     *
+     * @param task The task run by each thread.
+     */
+    private static void runConcurrently(ThrowingTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Threads did not finish, possible deadlock.");
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingTask {
+        void run(int thread) throws Exception;
+    }
+
+    /**
+     * Checks that every Vehicle is held by exactly one Dealership, and that the Company's owner
+     * of each Vehicle is that Dealership.
+     *
+     * @return The number of Vehicles in the Company.
+     */
+    private int assertConsistent() {
+        Map<String, Dealership> holders = new HashMap<>();
+        for (Dealership dealership : dealerships) {
+            for (Vehicle vehicle : dealership.getInventorySnapshot()) {
+                Dealership previous = holders.put(vehicle.getVehicleId(), dealership);
+                assertNull(previous, vehicle.getVehicleId() + " is in more than one dealership.");
+            }
+        }
+        for (int i = 0; i < VEHICLE_IDS; i++) {
+            String id = "V" + i;
+            assertEquals(holders.get(id), company.findVehicleOwner(id), "Wrong owner for " + id + ".");
+        }
+        return holders.size();
+    }
+
+    // Expected: When every thread adds the same Vehicle IDs, each ID is only added once.
+    @Test
+    public void testConcurrentAddsOfSameId() throws Exception {
+        AtomicInteger added = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 0; i < VEHICLE_IDS; i++) {
+                Dealership dealership = dealerships.get((thread + i) % DEALERSHIPS);
+                try {
+                    company.addIncomingVehicle(dealership, new Sedan("V" + i, "Model", 1000L));
+                    added.incrementAndGet();
+                } catch (VehicleAlreadyExistsException e) {
+                    // Another thread added it first.
+                }
+            }
+        });
+
+        assertEquals(VEHICLE_IDS, added.get());
+        assertEquals(VEHICLE_IDS, assertConsistent());
+    }
+
+    // Expected: After random adds, removes and transfers, every Vehicle is in exactly one
+    // Dealership, which is also its owner in the Company.
+    @Test
+    public void testRandomAddRemoveTransfer() throws Exception {
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int op = 0; op < OPERATIONS / THREADS; op++) {
+                String id = "V" + random.nextInt(VEHICLE_IDS);
+                Dealership target = dealerships.get(random.nextInt(DEALERSHIPS));
+                Dealership owner = company.findVehicleOwner(id);
+                Vehicle vehicle = owner == null ? null : owner.findVehicle(id);
+
+                switch (random.nextInt(3)) {
+                    case 0 -> {
+                        try {
+                            company.addIncomingVehicle(target, new SUV(id, "Model", 1000L));
+                        } catch (VehicleAlreadyExistsException | DealershipNotAcceptingVehiclesException e) {
+                            // Already in the Company.
+                        }
+                    }
+                    case 1 -> {
+                        if (vehicle == null) {continue;}
+                        company.removeVehicleFromInventory(owner, vehicle);
+                    }
+                    default -> {
+                        if (vehicle == null) {continue;}
+                        try {
+                            company.dealershipVehicleTransfer(owner, target, vehicle);
+                        } catch (DuplicateSenderException | DealershipNotAcceptingVehiclesException |
+                                 VehicleAlreadyExistsException | VehicleNotFoundException e) {
+                            // Same Dealership, or the Vehicle moved since it was looked up.
+                        }
+                    }
+                }
+            }
+        });
+
+        assertConsistent();
+    }
+
+    // Expected: Transfers in opposite directions between the same Dealerships never deadlock,
+    // and a transfer to a Dealership that is not receiving leaves the Vehicle with the sender.
+    @Test
+    public void testOppositeTransfers() throws Exception {
+        Dealership closed = dealerships.get(DEALERSHIPS - 1);
+        closed.setReceivingVehicle(false);
+        for (int i = 0; i < VEHICLE_IDS; i++) {
+            company.addIncomingVehicle(dealerships.get(i % 2), new Pickup("V" + i, "Model", 1000L));
+        }
+
+        runConcurrently(thread -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = thread; i < VEHICLE_IDS; i += THREADS) {
+                    String id = "V" + i;
+                    Dealership owner = company.findVehicleOwner(id);
+                    Vehicle vehicle = owner.findVehicle(id);
+                    Dealership receiver = round % 5 == 4 ? closed : dealerships.get(owner == dealerships.get(0) ? 1 : 0);
+                    try {
+                        company.dealershipVehicleTransfer(owner, receiver, vehicle);
+                    } catch (DealershipNotAcceptingVehiclesException e) {
+                        assertEquals(owner, company.findVehicleOwner(id));
+                    }
+                }
+            }
+        });
+
+        assertEquals(VEHICLE_IDS, assertConsistent());
+        assertTrue(closed.getInventorySnapshot().isEmpty());
+    }
+
+    // Expected: Transfers made directly between random pairs of many Dealerships never deadlock
+    // or lose a Vehicle, even when the Dealerships are created in the opposite order of their IDs.
+    @Test
+    public void testDealershipTransfersBetweenManyPairs() throws Exception {
+        List<Dealership> many = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            many.add(new Dealership("P" + i, "Pair " + i));
+        }
+        for (int i = 0; i < VEHICLE_IDS; i++) {
+            many.get(i % many.size()).addIncomingVehicle(new Sedan("V" + i, "Model", 1000L));
+        }
+
+        runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int op = 0; op < OPERATIONS / THREADS; op++) {
+                Dealership sender = many.get(random.nextInt(many.size()));
+                Dealership receiver = many.get(random.nextInt(many.size()));
+                List<Vehicle> inventory = sender.getInventorySnapshot();
+                if (inventory.isEmpty() || sender == receiver) {continue;}
+                try {
+                    sender.dealershipVehicleTransfer(receiver, inventory.get(random.nextInt(inventory.size())));
+                } catch (VehicleNotFoundException e) {
+                    // Moved by another thread since the snapshot was taken.
+                }
+            }
+        });
+
+        Set<String> ids = new HashSet<>();
+        for (Dealership dealership : many) {
+            for (Vehicle vehicle : dealership.getInventorySnapshot()) {
+                assertTrue(ids.add(vehicle.getVehicleId()), vehicle.getVehicleId() + " is in more than one dealership.");
+            }
+        }
+        assertEquals(VEHICLE_IDS, ids.size());
+    }
+}
@@ -1,5 +1,6 @@
 package javafiles.domainfiles;
 
+import javafiles.Key;
 import javafiles.customexceptions.DealershipNotAcceptingVehiclesException;
 import javafiles.customexceptions.DuplicateSenderException;
 import javafiles.customexceptions.VehicleAlreadyExistsException;
@@ -7,7 +8,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,6 +51,17 @@ public class CompanyTest {
         assertEquals(-1, company.getDealershipIndex("D999"));
     }
 
+    @Test
+    public void testFindDealershipKeepsFirstOfDuplicateIds() {
+        Dealership duplicate = new Dealership("D001", "Gamma Cars");
+        company.addDealership(duplicate);
+
+        assertEquals(dealership1, company.findDealership("D001"));
+        assertEquals(0, company.getDealershipIndex("D001"));
+        assertEquals(duplicate, company.getListDealerships().get(2));
+        assertNull(company.findDealership("D999"));
+    }
+
     @Test
     public void testIsDealershipRentingEnabled() {
         assertTrue(company.isDealershipRentingEnabled("D001"));
@@ -55,7 +70,7 @@ public class CompanyTest {
 
     @Test
     public void testGetDealershipCompleteInventory() {
-        ArrayList<Vehicle> inventory = dealership1.getTotalInventory();
+        List<Vehicle> inventory = dealership1.getTotalInventory();
         assertEquals(1, inventory.size());
         assertEquals("V001", inventory.get(0).getVehicleId());
     }
@@ -94,6 +109,194 @@ public class CompanyTest {
         assertThrows(DuplicateSenderException.class, () -> dealership1.dealershipVehicleTransfer(dealership1, mockVehicle));
     }
 
+    @Test
+    public void testFindVehicleOwner() throws Exception {
+        assertEquals(dealership1, company.findVehicleOwner("V001"));
+        assertEquals(dealership1, company.findVehicleOwner(" v001"));
+        assertNull(company.findVehicleOwner("V999"));
+
+        Vehicle pickup = new Pickup("V003", "F-150", 40000L);
+        company.addIncomingVehicle(dealership2, pickup);
+        assertEquals(dealership2, company.findVehicleOwner("V003"));
+
+        company.removeVehicleFromInventory(dealership2, pickup);
+        assertNull(company.findVehicleOwner("V003"));
+    }
+
+    // Expected: Removing a Vehicle that was already removed keeps the claim of a newer Vehicle
+    // with its ID, so a third Vehicle with the ID can't be added elsewhere.
+    @Test
+    public void testStaleRemovalKeepsNewerOwner() throws Exception {
+        assertTrue(company.removeVehicleFromInventory(dealership1, mockVehicle));
+        Vehicle newer = new Sedan("V001", "Corolla", 18000L);
+        company.addIncomingVehicle(dealership1, newer);
+
+        assertFalse(company.removeVehicleFromInventory(dealership1, mockVehicle));
+
+        assertEquals(dealership1, company.findVehicleOwner("V001"));
+        assertEquals(newer, dealership1.findVehicle("V001"));
+        assertThrows(VehicleAlreadyExistsException.class,
+                () -> company.addIncomingVehicle(dealership2, new Sedan("V001", "Civic", 19000L)));
+    }
+
+    @Test
+    public void testAddIncomingVehicle_duplicateInOtherDealership() {
+        Vehicle duplicate = new Sedan("V001", "Corolla", 18000L);
+        assertThrows(VehicleAlreadyExistsException.class, () -> company.addIncomingVehicle(dealership2, duplicate));
+        assertFalse(dealership2.getTotalInventory().contains(duplicate));
+    }
+
+    @Test
+    public void testCompanyVehicleTransfer_updatesOwner() throws Exception {
+        dealership2.setReceivingVehicle(true);
+        company.dealershipVehicleTransfer(dealership1, dealership2, mockVehicle);
+        assertEquals(dealership2, company.findVehicleOwner("V001"));
+    }
+
+    @Test
+    public void testTransferVehicles_updatesOwnersOfTransferredOnly() throws Exception {
+        Vehicle second = new SUV("V005", "RAV4", 30000L);
+        company.addIncomingVehicle(dealership1, second);
+        company.addIncomingVehicle(dealership2, new Pickup("V006", "F-150", 40000L));
+        Vehicle duplicate = new Sedan("V006", "Civic", 20000L);
+        dealership1.addIncomingVehicle(duplicate);
+
+        Map<Vehicle, Exception> failures = company.transferVehicles(dealership1, dealership2,
+                List.of(mockVehicle, second, duplicate));
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(VehicleAlreadyExistsException.class, failures.get(duplicate));
+        assertEquals(dealership2, company.findVehicleOwner("V001"));
+        assertEquals(dealership2, company.findVehicleOwner("V005"));
+        assertEquals(List.of(duplicate), dealership1.getTotalInventory());
+    }
+
+    @Test
+    public void testDataToInventory_registersOwners() {
+        Map<Key, Object> map = new HashMap<>();
+        map.put(Key.DEALERSHIP_ID, "D003");
+        map.put(Key.VEHICLE_TYPE, "suv");
+        map.put(Key.VEHICLE_ID, "V010");
+        map.put(Key.VEHICLE_MODEL, "RAV4");
+        map.put(Key.VEHICLE_PRICE, 30000L);
+        Map<Key, Object> duplicate = new HashMap<>(map);
+        Key.DEALERSHIP_ID.putValid(duplicate, "D002");
+
+        List<Map<Key, Object>> badMaps = company.dataToInventory(List.of(map, duplicate));
+
+        assertEquals(1, badMaps.size());
+        assertSame(duplicate, badMaps.get(0));
+        assertEquals(company.findDealership("D003"), company.findVehicleOwner("V010"));
+    }
+
+    @Test
+    public void testInventoryLoader_appliesStatusesOnFinish() {
+        Company.InventoryLoader loader = company.inventoryLoader();
+        for (String vehicleId : new String[]{"V020", "V021"}) {
+            Map<Key, Object> map = new HashMap<>();
+            map.put(Key.DEALERSHIP_ID, "D004");
+            map.put(Key.DEALERSHIP_RECEIVING_STATUS, false);
+            map.put(Key.VEHICLE_TYPE, "suv");
+            map.put(Key.VEHICLE_ID, vehicleId);
+            map.put(Key.VEHICLE_MODEL, "RAV4");
+            map.put(Key.VEHICLE_PRICE, 30000L);
+            loader.accept(map);
+        }
+
+        assertTrue(loader.finish().isEmpty());
+        Dealership dealership = company.findDealership("D004");
+        assertEquals(2, dealership.getTotalInventory().size());
+        assertFalse(dealership.getStatusAcquiringVehicle());
+    }
+
+    @Test
+    public void testDataToInventory_reportsProgress() {
+        List<Map<Key, Object>> data = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Map<Key, Object> map = new HashMap<>();
+            map.put(Key.DEALERSHIP_ID, "D10" + (i % 3));
+            map.put(Key.DEALERSHIP_RECEIVING_STATUS, false);
+            map.put(Key.VEHICLE_TYPE, "sedan");
+            map.put(Key.VEHICLE_ID, "P" + i);
+            map.put(Key.VEHICLE_MODEL, "Model " + i);
+            map.put(Key.VEHICLE_PRICE, i % 100 == 0 ? -1L : 1000L);
+            data.add(map);
+        }
+        List<Integer> vehiclesWhenDealershipsAdded = new ArrayList<>();
+        AtomicInteger mostAdded = new AtomicInteger();
+
+        List<Map<Key, Object>> badMaps = company.dataToInventory(data, new Company.ImportProgress() {
+            @Override
+            public void dealershipsAdded() {
+                int vehicles = 0;
+                for (Dealership dealership : company.getListDealerships()) {
+                    vehicles += dealership.getInventorySnapshot().size();
+                }
+                vehiclesWhenDealershipsAdded.add(vehicles);
+                assertNotNull(company.findDealership("D102"));
+                assertTrue(company.findDealership("D102").getStatusAcquiringVehicle());
+            }
+
+            @Override
+            public void vehiclesAdded(int added, int total) {
+                assertEquals(9900, total);
+                mostAdded.accumulateAndGet(added, Math::max);
+            }
+        });
+
+        assertEquals(List.of(1), vehiclesWhenDealershipsAdded);
+        assertEquals(9900, mostAdded.get());
+        assertEquals(100, badMaps.size());
+        assertFalse(company.findDealership("D102").getStatusAcquiringVehicle());
+    }
+
+    @Test
+    public void testDataToInventory_matchesInventoryLoader() throws Exception {
+        String[] types = {"suv", "sedan", "pickup", "sports car", "boat"};
+        List<Map<Key, Object>> data = new ArrayList<>();
+        List<Map<Key, Object>> loaderData = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Map<Key, Object> map = new HashMap<>();
+            if (i % 97 != 0) {map.put(Key.DEALERSHIP_ID, "D00" + (i % 7));}
+            map.put(Key.DEALERSHIP_RECEIVING_STATUS, i % 11 != 0);
+            map.put(Key.VEHICLE_TYPE, types[i % types.length]);
+            map.put(Key.VEHICLE_ID, "V" + (i % 2500));
+            map.put(Key.VEHICLE_MODEL, "Model " + i);
+            map.put(Key.VEHICLE_PRICE, (long) (i % 13) * 1000);
+            data.add(map);
+            loaderData.add(new HashMap<>(map));
+        }
+        dealership2.setReceivingVehicle(false);
+
+        List<Map<Key, Object>> badMaps = company.dataToInventory(data);
+
+        Company expected = new Company();
+        Dealership expected1 = new Dealership("D001", "Alpha Motors");
+        expected1.addIncomingVehicle(new Sedan("V001", "Toyota", 20000L));
+        expected1.setRentingVehicles(true);
+        Dealership expected2 = new Dealership("D002", "Beta Autos");
+        expected2.setReceivingVehicle(false);
+        expected.addDealership(expected1);
+        expected.addDealership(expected2);
+        Company.InventoryLoader loader = expected.inventoryLoader();
+        loaderData.forEach(loader);
+        List<Map<Key, Object>> expectedBadMaps = loader.finish();
+
+        assertEquals(expectedBadMaps.size(), badMaps.size());
+        for (int i = 0; i < badMaps.size(); i++) {
+            assertEquals(expectedBadMaps.get(i).get(Key.VEHICLE_MODEL), badMaps.get(i).get(Key.VEHICLE_MODEL));
+            assertEquals(expectedBadMaps.get(i).get(Key.REASON_FOR_ERROR).toString(),
+                    badMaps.get(i).get(Key.REASON_FOR_ERROR).toString());
+        }
+        for (Dealership dealership : expected.getListDealerships()) {
+            Dealership actual = company.findDealership(dealership.getDealerId());
+            assertEquals(dealership.getDataMap(), actual.getDataMap());
+            for (Vehicle vehicle : actual.getTotalInventory()) {
+                assertEquals(actual, company.findVehicleOwner(vehicle.getVehicleId()));
+            }
+        }
+    }
+
     @Test
     public void testGetAllDealershipIds() {
         ArrayList<String> ids = company.getAllDealershipIds();
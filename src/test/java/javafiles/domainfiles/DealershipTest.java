@@ -31,6 +31,19 @@ class DealershipTest {
         vehicle4 = new Vehicle("sports car", "V004", "Model A", 80000L, null) {};
     }
 
+    /**
+     * Adds a new rentable Vehicle to the dealership and moves it to the rental inventory.
+     *
+     * @param vehicleId The ID of the new Vehicle.
+     * @return The Vehicle added.
+     */
+    private Vehicle addRental(String vehicleId) throws Exception {
+        Vehicle rental = new Sedan(vehicleId, "Model R", 30000L);
+        dealership.addIncomingVehicle(rental);
+        dealership.updateVehicleRental(rental);
+        return rental;
+    }
+
     @Test
     public void testConstructor() {
         assertEquals("D001", dealership.getDealerId());
@@ -158,9 +171,8 @@ class DealershipTest {
     }
 
     @Test
-    public void testRemoveVehicle() throws IllegalArgumentException {
-        ArrayList<Vehicle> inventory = dealership.getSaleVehicles();
-        inventory.add(vehicle4);
+    public void testRemoveVehicle() throws Exception {
+        dealership.addIncomingVehicle(vehicle4);
 
         dealership.removeVehicleFromInventory(vehicle4);
 
@@ -175,9 +187,8 @@ class DealershipTest {
     }
 
     @Test
-    public void testRemoveNonExistentVehicle() throws IllegalArgumentException {
-        ArrayList<Vehicle> inventory = dealership.getSaleVehicles();
-        inventory.add(vehicle1);
+    public void testRemoveNonExistentVehicle() throws Exception {
+        dealership.addIncomingVehicle(vehicle1);
 
         Vehicle nonExistentVehicle = new Vehicle("Truck", "V999", "Model Y", 60000L, null) {};
         dealership.removeVehicleFromInventory(nonExistentVehicle);
@@ -236,28 +247,296 @@ class DealershipTest {
     }
 
     @Test
-    public void testGetTotalInventory() {
-        dealership.getSaleVehicles().add(vehicle1);
-        dealership.getSaleVehicles().add(vehicle2);
-        dealership.getRentalVehicles().add(vehicle3);
-        dealership.getRentalVehicles().add(vehicle4);
+    public void testIsVehicleInInventoryByIdNormalized() throws Exception {
+        dealership.addIncomingVehicle(vehicle1);
+
+        assertTrue(dealership.isVehicleInInventoryById("V001"));
+        assertTrue(dealership.isVehicleInInventoryById(" v0 01 "));
+        assertFalse(dealership.isVehicleInInventoryById("V002"));
+
+        dealership.removeVehicleFromInventory(vehicle1);
+        assertFalse(dealership.isVehicleInInventoryById("V001"));
+    }
+
+    @Test
+    public void testAddDuplicateVehicleDifferentCase() throws Exception {
+        dealership.addIncomingVehicle(vehicle1);
+        Vehicle sameId = new Vehicle("suv", "v001", "Model X", 50000L, null) {};
+
+        assertThrows(VehicleAlreadyExistsException.class, () -> dealership.addIncomingVehicle(sameId));
+    }
+
+    @Test
+    public void testLookupFollowsRentalToggle() throws Exception {
+        Vehicle sedan = new Sedan("V005", "Camry", 20000L);
+        dealership.addIncomingVehicle(sedan);
+
+        dealership.updateVehicleRental(sedan);
+        assertEquals(sedan, dealership.getVehicleFromRentalInventory("V005"));
+        assertThrows(VehicleNotFoundException.class, () -> dealership.getVehicleFromSalesInventory("V005"));
+
+        dealership.updateVehicleRental(sedan);
+        assertEquals(sedan, dealership.getVehicleFromSalesInventory("V005"));
+        assertThrows(VehicleNotFoundException.class, () -> dealership.getVehicleFromRentalInventory("V005"));
+    }
+
+    @Test
+    public void testLookupFollowsTransfer() throws Exception {
+        Dealership receiver = new Dealership("D002", "Receiver");
+        dealership.addIncomingVehicle(vehicle2);
+
+        dealership.dealershipVehicleTransfer(receiver, vehicle2);
+
+        assertFalse(dealership.isVehicleInInventoryById("V002"));
+        assertEquals(vehicle2, receiver.getVehicleFromSalesInventory("V002"));
+    }
+
+    @Test
+    public void testFailedTransferLeavesBothUnchanged() throws Exception {
+        Dealership receiver = new Dealership("D002", "Receiver");
+        dealership.addIncomingVehicle(vehicle1);
+        dealership.addIncomingVehicle(vehicle2);
+        dealership.addIncomingVehicle(vehicle3);
+
+        receiver.setReceivingVehicle(false);
+        assertThrows(DealershipNotAcceptingVehiclesException.class,
+                () -> dealership.dealershipVehicleTransfer(receiver, vehicle2));
+        receiver.setReceivingVehicle(true);
+        receiver.addIncomingVehicle(new Vehicle("pickup", "v002", "Model Y", 60000L, null) {});
+        assertThrows(VehicleAlreadyExistsException.class,
+                () -> dealership.dealershipVehicleTransfer(receiver, vehicle2));
+        assertThrows(VehicleNotFoundException.class,
+                () -> receiver.dealershipVehicleTransfer(dealership, vehicle1));
+
+        assertEquals(List.of(vehicle1, vehicle2, vehicle3), dealership.getSaleVehicles());
+        assertEquals(vehicle2, dealership.getVehicleFromSalesInventory("V002"));
+        assertEquals(1, receiver.getTotalInventory().size());
+    }
+
+    @Test
+    public void testBatchTransfer() throws Exception {
+        Dealership receiver = new Dealership("D002", "Receiver");
+        Vehicle notHeld = new Vehicle("sedan", "V009", "Model Q", 10000L, null) {};
+        Vehicle rental = new Sedan("V003", "Model Z", 40000L);
+        dealership.addIncomingVehicle(vehicle1);
+        dealership.addIncomingVehicle(vehicle2);
+        dealership.addIncomingVehicle(rental);
+        dealership.updateVehicleRental(rental);
+        receiver.addIncomingVehicle(new Vehicle("pickup", "V002", "Model Y", 60000L, null) {});
+
+        Map<Vehicle, Exception> failures = dealership.dealershipVehicleTransfer(receiver,
+                List.of(vehicle1, vehicle2, notHeld, rental, vehicle1));
+
+        assertEquals(List.of(vehicle2, notHeld), new ArrayList<>(failures.keySet()));
+        assertInstanceOf(VehicleAlreadyExistsException.class, failures.get(vehicle2));
+        assertInstanceOf(VehicleNotFoundException.class, failures.get(notHeld));
+        assertEquals(List.of(vehicle2), dealership.getTotalInventory());
+        assertEquals(3, receiver.getTotalInventory().size());
+        assertEquals(rental, receiver.findVehicle("V003"));
+        assertNull(dealership.findVehicle("V001"));
+        assertThrows(DuplicateSenderException.class,
+                () -> dealership.dealershipVehicleTransfer(dealership, List.of(vehicle2)));
+    }
+
+    @Test
+    public void testBatchRentalUpdate() throws Exception {
+        Vehicle sedan = new Sedan("V010", "Model A", 20000L);
+        Vehicle rented = new SUV("V011", "Model B", 30000L);
+        Vehicle sportsCar = new SportsCar("V012", "Model C", 90000L);
+        Vehicle notHeld = new Pickup("V013", "Model D", 40000L);
+        dealership.addIncomingVehicle(sedan);
+        dealership.addIncomingVehicle(rented);
+        dealership.addIncomingVehicle(sportsCar);
+        dealership.updateVehicleRental(rented);
+
+        Map<Vehicle, Exception> failures = dealership.updateVehicleRentals(
+                List.of(sedan, sportsCar, rented, notHeld, sedan));
+
+        assertEquals(List.of(sportsCar, notHeld), new ArrayList<>(failures.keySet()));
+        assertInstanceOf(SportsCarRentalNotAllowedException.class, failures.get(sportsCar));
+        assertInstanceOf(VehicleNotFoundException.class, failures.get(notHeld));
+        assertTrue(sedan.getRentalStatus());
+        assertFalse(rented.getRentalStatus());
+        assertEquals(List.of(sedan), dealership.getRentalVehicles());
+        assertEquals(List.of(sportsCar, rented), dealership.getSaleVehicles());
+        assertEquals(sedan, dealership.getVehicleFromRentalInventory("V010"));
+        assertEquals(rented, dealership.getVehicleFromSalesInventory("V011"));
+    }
+
+    @Test
+    public void testLockOrderFollowsDealerId() {
+        Dealership first = new Dealership("A100", "First");
+        Dealership second = new Dealership("B200", "Second");
+        Dealership sameId = new Dealership("A100", "Same ID");
+
+        assertTrue(first.locksBefore(second));
+        assertFalse(second.locksBefore(first));
+        assertTrue(first.locksBefore(sameId));
+        assertFalse(sameId.locksBefore(first));
+    }
+
+    @Test
+    public void testGetTotalInventory() throws Exception {
+        dealership.addIncomingVehicle(vehicle1);
+        dealership.addIncomingVehicle(vehicle2);
+        Vehicle rental1 = addRental("V005");
+        Vehicle rental2 = addRental("V006");
 
-        ArrayList<Vehicle> totalInventory = dealership.getTotalInventory();
+        List<Vehicle> totalInventory = dealership.getTotalInventory();
 
         assertNotNull(totalInventory);
         assertEquals(4, totalInventory.size());
         assertTrue(totalInventory.contains(vehicle1));
         assertTrue(totalInventory.contains(vehicle2));
-        assertTrue(totalInventory.contains(vehicle3));
-        assertTrue(totalInventory.contains(vehicle4));
+        assertTrue(totalInventory.contains(rental1));
+        assertTrue(totalInventory.contains(rental2));
     }
 
     @Test
-    public void testGetDataMap() {
-        dealership.getSaleVehicles().add(vehicle1);
-        dealership.getSaleVehicles().add(vehicle2);
-        dealership.getRentalVehicles().add(vehicle3);
-        dealership.getRentalVehicles().add(vehicle4);
+    public void testInventoryViewsFollowChanges() throws Exception {
+        List<Vehicle> sales = dealership.getSaleVehicles();
+        List<Vehicle> rentals = dealership.getRentalVehicles();
+        List<Vehicle> total = dealership.getTotalInventory();
+        dealership.addIncomingVehicle(vehicle1);
+        Vehicle rental = addRental("V005");
+        dealership.addIncomingVehicle(vehicle2);
+        List<Vehicle> snapshot = dealership.getInventorySnapshot();
+
+        assertEquals(List.of(vehicle1, vehicle2), sales);
+        assertEquals(List.of(rental), rentals);
+        assertEquals(List.of(vehicle1, vehicle2, rental), total);
+        assertThrows(UnsupportedOperationException.class, () -> sales.add(vehicle3));
+        assertThrows(UnsupportedOperationException.class, () -> total.remove(vehicle1));
+
+        dealership.updateVehicleRental(rental);
+        dealership.removeVehicleFromInventory(vehicle1);
+
+        assertEquals(List.of(rental, vehicle2), sales);
+        assertTrue(rentals.isEmpty());
+        assertEquals(sales, total);
+        assertEquals(List.of(vehicle1, vehicle2, rental), snapshot);
+        assertEquals(List.of(rental, vehicle2), dealership.getInventorySnapshot());
+    }
+
+    @Test
+    public void testDealershipRentalStrategy() throws Exception {
+        // A cap of one rented sedan at a time, for this dealership only.
+        dealership.setRentalStrategy("SEDAN", new RentalStrategy() {
+            @Override
+            public void enableRental(Vehicle vehicle) throws RentalException {
+                if (!dealership.getRentalVehicles().isEmpty()) {
+                    throw new VehicleNotRentableException("Rental fleet is full.");
+                }
+                vehicle.setRental(true);
+            }
+
+            @Override
+            public void disableRental(Vehicle vehicle) {vehicle.setRental(false);}
+        });
+        Vehicle rental = addRental("V005");
+        Vehicle second = new Sedan("V006", "Model R", 30000L);
+        dealership.addIncomingVehicle(second);
+
+        assertThrows(VehicleNotRentableException.class, () -> dealership.updateVehicleRental(second));
+        assertFalse(second.getRentalStatus());
+        assertEquals(List.of(second), dealership.getSaleVehicles());
+
+        Dealership other = new Dealership("D002", "Other Dealership");
+        Vehicle elsewhere = new Sedan("V007", "Model R", 30000L);
+        other.addIncomingVehicle(elsewhere);
+        other.updateVehicleRental(elsewhere);
+        assertTrue(elsewhere.getRentalStatus());
+
+        dealership.updateVehicleRental(rental);
+        dealership.updateVehicleRental(second);
+        assertEquals(List.of(second), dealership.getRentalVehicles());
+
+        dealership.setRentalStrategy("sedan", null);
+        assertTrue(dealership.updateVehicleRentals(List.of(rental)).isEmpty());
+        assertEquals(2, dealership.getRentalVehicles().size());
+    }
+
+    @Test
+    public void testDeclinedRentalLeavesVehicleInPlace() throws Exception {
+        // Leaves every status as it is, without throwing.
+        dealership.setRentalStrategy("Sedan", new RentalStrategy() {
+            @Override
+            public void enableRental(Vehicle vehicle) {}
+
+            @Override
+            public void disableRental(Vehicle vehicle) {}
+        });
+        Vehicle sedan = new Sedan("V005", "Model R", 30000L);
+        Vehicle suv = new SUV("V006", "Model S", 40000L);
+        dealership.addIncomingVehicle(sedan);
+        dealership.addIncomingVehicle(suv);
+
+        dealership.updateVehicleRental(sedan);
+        assertTrue(dealership.updateVehicleRentals(List.of(sedan, suv)).isEmpty());
+
+        assertFalse(sedan.getRentalStatus());
+        assertEquals(List.of(sedan), dealership.getSaleVehicles());
+        assertEquals(sedan, dealership.getVehicleFromSalesInventory("V005"));
+        assertTrue(suv.getRentalStatus());
+        assertEquals(List.of(suv), dealership.getRentalVehicles());
+    }
+
+    @Test
+    public void testSportsCarRentalOverride() throws Exception {
+        Vehicle sportsCar = new SportsCar("V005", "Model C", 90000L);
+        Vehicle otherSportsCar = new SportsCar("V006", "Model C", 90000L);
+        dealership.addIncomingVehicle(sportsCar);
+        dealership.addIncomingVehicle(otherSportsCar);
+        dealership.setRentalStrategy("Sports car", new DefaultRentalStrategy());
+
+        dealership.updateVehicleRental(sportsCar);
+        assertTrue(dealership.updateVehicleRentals(List.of(otherSportsCar)).isEmpty());
+
+        assertTrue(sportsCar.getRentalStatus());
+        assertTrue(otherSportsCar.getRentalStatus());
+        assertEquals(2, dealership.getRentalVehicles().size());
+        assertTrue(dealership.getSaleVehicles().isEmpty());
+        assertEquals(sportsCar, dealership.getVehicleFromRentalInventory("V005"));
+    }
+
+    @Test
+    public void testInventoryListener() throws Exception {
+        Dealership other = new Dealership("D002", "Other Dealership");
+        List<Vehicle> copy = new ArrayList<>();
+        List<Vehicle> otherCopy = new ArrayList<>();
+        InventoryListener listener = (changed, changes) -> {
+            assertFalse(Thread.holdsLock(changed));
+            VehicleInventoryTest.replay(changes, changed == dealership ? copy : otherCopy);
+        };
+        dealership.addInventoryListener(listener);
+        other.addInventoryListener(listener);
+
+        dealership.addIncomingVehicle(vehicle1);
+        dealership.addIncomingVehicle(vehicle2);
+        Vehicle rental = addRental("V005");
+        dealership.addIncomingVehicle(vehicle3);
+        dealership.removeVehicleFromInventory(vehicle1);
+        assertEquals(dealership.getTotalInventory(), copy);
+        assertEquals(copy.indexOf(rental), dealership.indexOf(rental));
+        assertEquals(-1, dealership.indexOf(vehicle1));
+
+        dealership.dealershipVehicleTransfer(other, vehicle2);
+        dealership.dealershipVehicleTransfer(other, List.of(rental, vehicle3));
+        assertEquals(dealership.getTotalInventory(), copy);
+        assertEquals(other.getTotalInventory(), otherCopy);
+        assertEquals(3, otherCopy.size());
+
+        dealership.removeInventoryListener(listener);
+        dealership.addIncomingVehicle(vehicle1);
+        assertTrue(copy.isEmpty());
+    }
+
+    @Test
+    public void testGetDataMap() throws Exception {
+        dealership.addIncomingVehicle(vehicle1);
+        dealership.addIncomingVehicle(vehicle2);
+        addRental("V005");
+        addRental("V006");
 
         List<Map<Key, Object>> dataMapList = dealership.getDataMap();
 
@@ -317,10 +596,10 @@ class DealershipTest {
     }
 
     @Test
-    public void testToString() {
+    public void testToString() throws Exception {
 
-        dealership.getSaleVehicles().add(vehicle3); 
-        dealership.getRentalVehicles().add(vehicle4); 
+        dealership.addIncomingVehicle(vehicle3);
+        addRental("V005");
 
         String result = dealership.toString();
     
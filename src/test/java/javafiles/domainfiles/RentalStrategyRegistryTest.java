@@ -0,0 +1,41 @@
+package javafiles.domainfiles;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RentalStrategyRegistryTest {
+
+    // Expected: Vehicles of the same type share one strategy, and sports cars share the
+    // SportsCarRentalStrategy.
+    @Test
+    void vehiclesShareTheStrategyOfTheirType() {
+        Vehicle sedan1 = new Sedan("V001", "Model", 1000L);
+        Vehicle sedan2 = new Sedan("V002", "Model", 1000L);
+        Vehicle pickup = new Pickup("V003", "Model", 1000L);
+        Vehicle sportsCar1 = new SportsCar("V004", "Model", 1000L);
+        Vehicle sportsCar2 = new SportsCar("V005", "Model", 1000L);
+
+        assertSame(sedan1.getRentalStrategy(), sedan2.getRentalStrategy());
+        assertSame(sedan1.getRentalStrategy(), pickup.getRentalStrategy());
+        assertInstanceOf(DefaultRentalStrategy.class, sedan1.getRentalStrategy());
+        assertSame(sportsCar1.getRentalStrategy(), sportsCar2.getRentalStrategy());
+        assertInstanceOf(SportsCarRentalStrategy.class, sportsCar1.getRentalStrategy());
+        assertSame(RentalStrategyRegistry.forType("SPORTS CAR"), sportsCar1.getRentalStrategy());
+    }
+
+    // Expected: A registered strategy is used by Vehicles of its type created afterward, until it
+    // is removed.
+    @Test
+    void registeredStrategyIsUsedUntilRemoved() {
+        RentalStrategy strategy = new DefaultRentalStrategy();
+        RentalStrategyRegistry.register("Motorcycle", strategy);
+        try {
+            assertSame(strategy, RentalStrategyRegistry.forType("motorcycle"));
+            assertNotSame(strategy, RentalStrategyRegistry.forType("Sedan"));
+        } finally {
+            RentalStrategyRegistry.register("Motorcycle", null);
+        }
+        assertInstanceOf(DefaultRentalStrategy.class, RentalStrategyRegistry.forType("motorcycle"));
+    }
+}
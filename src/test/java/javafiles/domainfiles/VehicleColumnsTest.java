@@ -0,0 +1,185 @@
+package javafiles.domainfiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import javafiles.Key;
+import javafiles.customexceptions.VehicleNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleColumnsTest {
+
+    /**
+     * Returns the data of a Vehicle as filled by {@link Vehicle#getDataMap(Map)}.
+     */
+    private static Map<Key, Object> dataOf(Vehicle vehicle) {
+        Map<Key, Object> map = new HashMap<>();
+        vehicle.getDataMap(map);
+        return map;
+    }
+
+    // Expected: A Vehicle reads the same attributes, nulls included, before, during and after
+    // being held in the columns.
+    @Test
+    void attributesSurviveAttachAndDetach() {
+        VehicleColumns columns = new VehicleColumns();
+        Vehicle full = new Pickup("V001", "F-150", 40000L);
+        full.setVehicleManufacturer("Ford");
+        full.setAcquisitionDate(1515354694451L);
+        full.setPriceUnit("pounds");
+        full.setRental(true);
+        Vehicle sparse = new SportsCar("V002", "911", 90000L);
+        sparse.setVehicleManufacturer(null);
+        sparse.setVehiclePrice(null);
+        Map<Key, Object> fullData = dataOf(full);
+        Map<Key, Object> sparseData = dataOf(sparse);
+
+        columns.attach(full);
+        columns.attach(sparse);
+
+        assertNotNull(full.getStore());
+        assertEquals(fullData, dataOf(full));
+        assertEquals(sparseData, dataOf(sparse));
+        assertNull(sparse.getAcquisitionDate());
+        assertEquals("Sports car", sparse.getVehicleType());
+
+        columns.detach(full);
+        columns.detach(sparse);
+
+        assertNull(full.getStore());
+        assertEquals(fullData, dataOf(full));
+        assertEquals(sparseData, dataOf(sparse));
+    }
+
+    // Expected: Changes made while a Vehicle is in the columns are kept, and a reused row holds
+    // only the new Vehicle's attributes.
+    @Test
+    void settersWriteToRowsAndRowsAreReused() {
+        VehicleColumns columns = new VehicleColumns();
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Vehicle vehicle = new Sedan("V" + i, "Model " + (i % 3), 1000L + i);
+            columns.attach(vehicle);
+            vehicles.add(vehicle);
+        }
+        Vehicle changed = vehicles.get(70);
+        changed.setRental(true);
+        changed.setVehicleModel("Model Z");
+        changed.setVehicleId("V70b");
+
+        Vehicle removed = vehicles.get(5);
+        columns.detach(removed);
+        Vehicle replacement = new SUV("V200", "RAV4", 30000L);
+        columns.attach(replacement);
+
+        assertTrue(changed.getRentalStatus());
+        assertEquals("Model Z", changed.getVehicleModel());
+        assertEquals("V70b", changed.getVehicleId());
+        assertFalse(vehicles.get(71).getRentalStatus());
+        assertEquals("V5", removed.getVehicleId());
+        assertEquals(1005L, removed.getVehiclePrice());
+        assertEquals("RAV4", replacement.getVehicleModel());
+        assertFalse(replacement.getRentalStatus());
+        for (int i = 0; i < 100; i++) {
+            if (i == 5 || i == 70) {continue;}
+            assertEquals(1000L + i, vehicles.get(i).getVehiclePrice());
+            assertEquals("Model " + (i % 3), vehicles.get(i).getVehicleModel());
+        }
+    }
+
+    // Expected: A handle taken before its Vehicle was detached reads and writes the Vehicle's own
+    // attributes, not those of the Vehicle that reuses its row.
+    @Test
+    void detachedHandleForwardsToVehicle() {
+        VehicleColumns columns = new VehicleColumns();
+        Vehicle removed = new Sedan("V001", "Camry", 20000L);
+        columns.attach(removed);
+        VehicleStore handle = removed.getStore();
+
+        columns.detach(removed);
+        Vehicle replacement = new SUV("V002", "RAV4", 30000L);
+        columns.attach(replacement);
+        handle.setVehiclePrice(21000L);
+
+        assertEquals("Camry", handle.getVehicleModel());
+        assertEquals(21000L, removed.getVehiclePrice());
+        assertEquals(30000L, replacement.getVehiclePrice());
+    }
+
+    // Expected: A Vehicle moved between two columnar Dealerships keeps its attributes, and a
+    // Vehicle removed from one keeps them after leaving.
+    @Test
+    void columnarDealershipsKeepAttributes() throws Exception {
+        Dealership sender = new Dealership("D001", "Sender", true);
+        Dealership receiver = new Dealership("D002", "Receiver", true);
+        Vehicle sedan = new Sedan("V001", "Camry", 20000L);
+        sedan.setVehicleManufacturer("Toyota");
+        Vehicle suv = new SUV("V002", "RAV4", 30000L);
+        sender.addIncomingVehicle(sedan);
+        sender.addIncomingVehicle(suv);
+        sender.updateVehicleRental(sedan);
+        Map<Key, Object> sedanData = dataOf(sedan);
+
+        sender.dealershipVehicleTransfer(receiver, sedan);
+        sender.removeVehicleFromInventory(suv);
+
+        assertEquals(sedanData, dataOf(sedan));
+        assertEquals(sedan, receiver.getVehicleFromSalesInventory("V001"));
+        assertEquals("RAV4", suv.getVehicleModel());
+        assertNull(suv.getStore());
+    }
+
+    // Expected: Two columnar Dealerships each asked about the other's Vehicle at once never wait
+    // on each other's locks.
+    @Test
+    void crossDealershipChecksDoNotDeadlock() throws Exception {
+        Dealership first = new Dealership("D001", "First", true);
+        Dealership second = new Dealership("D002", "Second", true);
+        Vehicle ofFirst = new Sedan("V001", "Camry", 20000L);
+        Vehicle ofSecond = new Sedan("V002", "Civic", 19000L);
+        first.addIncomingVehicle(ofFirst);
+        second.addIncomingVehicle(ofSecond);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Dealership[] pair : new Dealership[][]{{first, second}, {second, first}}) {
+            Vehicle other = pair[1] == second ? ofSecond : ofFirst;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    assertThrows(VehicleNotFoundException.class, () -> pair[0].updateVehicleRental(other));
+                }
+                return null;
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "Dealerships deadlocked.");
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    // Expected: A Vehicle in a columnar Dealership can be read while another thread holds the
+    // Dealership's lock.
+    @Test
+    void readsDoNotWaitForDealershipLock() throws Exception {
+        Dealership dealership = new Dealership("D001", "Dealer", true);
+        Vehicle vehicle = new Sedan("V001", "Camry", 20000L);
+        dealership.addIncomingVehicle(vehicle);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            synchronized (dealership) {
+                Future<String> model = executor.submit(vehicle::getVehicleModel);
+                assertEquals("Camry", model.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
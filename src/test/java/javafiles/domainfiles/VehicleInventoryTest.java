@@ -0,0 +1,149 @@
+package javafiles.domainfiles;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleInventoryTest {
+
+    /**
+     * Checks that inventory holds the same Vehicles as the expected sales and rental sets, each in
+     * its own partition, and that every Vehicle can be found by its ID.
+     */
+    private static void assertMatches(Set<Vehicle> expectedSales, Set<Vehicle> expectedRentals,
+                                      VehicleInventory inventory) {
+        assertEquals(expectedSales, new HashSet<>(inventory.sales()));
+        assertEquals(expectedRentals, new HashSet<>(inventory.rental()));
+        assertEquals(expectedSales.size(), inventory.salesSize());
+        assertEquals(expectedRentals.size(), inventory.rentalSize());
+        assertEquals(inventory.sales().size() + inventory.rental().size(), inventory.all().size());
+        for (Vehicle vehicle : inventory.all()) {
+            assertSame(vehicle, inventory.get(Dealership.normalizeId(vehicle.getVehicleId())));
+            assertEquals(expectedRentals.contains(vehicle), inventory.isRental(vehicle));
+        }
+    }
+
+    // Expected: After random adds, removes, batch removes and flips, the partitions hold exactly the
+    // Vehicles a simple model of the inventory holds, with or without columns.
+    @Test
+    void randomOperationsMatchModel() {
+        randomOperationsMatchModel(false);
+        randomOperationsMatchModel(true);
+    }
+
+    private static void randomOperationsMatchModel(boolean columnar) {
+        VehicleInventory inventory = new VehicleInventory(columnar);
+        Set<Vehicle> sales = new HashSet<>();
+        Set<Vehicle> rentals = new HashSet<>();
+        List<Vehicle> held = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int op = 0; op < 5000; op++) {
+            int choice = held.isEmpty() ? 0 : random.nextInt(10);
+            if (choice < 4) {
+                Vehicle vehicle = new Sedan("V" + op, "Model", 1000L);
+                boolean asRental = random.nextBoolean();
+                inventory.add(vehicle, asRental);
+                (asRental ? rentals : sales).add(vehicle);
+                held.add(vehicle);
+            } else if (choice < 6) {
+                Vehicle vehicle = held.remove(random.nextInt(held.size()));
+                assertTrue(inventory.remove(vehicle));
+                assertFalse(inventory.remove(vehicle));
+                sales.remove(vehicle);
+                rentals.remove(vehicle);
+            } else if (choice < 9) {
+                Vehicle vehicle = held.get(random.nextInt(held.size()));
+                boolean nowRental = inventory.flip(vehicle);
+                assertEquals(sales.remove(vehicle), nowRental);
+                (nowRental ? rentals : sales).add(vehicle);
+                if (!nowRental) {rentals.remove(vehicle);}
+            } else {
+                List<Vehicle> before = new ArrayList<>(inventory.all());
+                Set<Vehicle> removing = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (int i = 0; i < 5 && !held.isEmpty(); i++) {
+                    removing.add(held.remove(random.nextInt(held.size())));
+                }
+                inventory.removeAll(removing);
+                before.removeAll(removing);
+                assertEquals(before, inventory.all());
+                sales.removeAll(removing);
+                rentals.removeAll(removing);
+            }
+            assertMatches(sales, rentals, inventory);
+        }
+    }
+
+    /**
+     * Applies recorded changes in order to a copy of an inventory, checking each against the copy.
+     */
+    static void replay(List<InventoryChange> changes, List<Vehicle> copy) {
+        for (InventoryChange change : changes) {
+            switch (change.getType()) {
+                case ADDED -> copy.add(change.getIndex(), change.getVehicle());
+                case REMOVED -> assertSame(change.getVehicle(), copy.remove(change.getIndex()));
+                case MOVED -> assertSame(change.getReplaced(), copy.set(change.getIndex(), change.getVehicle()));
+                case STATUS_CHANGED -> assertSame(change.getVehicle(), copy.get(change.getIndex()));
+            }
+        }
+    }
+
+    // Expected: Replaying the recorded changes of every operation on a copy of the inventory gives
+    // the inventory, and nothing is recorded once recording stops.
+    @Test
+    void recordedChangesReplayToInventory() {
+        VehicleInventory inventory = new VehicleInventory(false);
+        inventory.setRecording(true);
+        List<Vehicle> copy = new ArrayList<>();
+        List<Vehicle> held = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int op = 0; op < 3000; op++) {
+            int choice = held.isEmpty() ? 0 : random.nextInt(10);
+            if (choice < 4) {
+                Vehicle vehicle = new Sedan("V" + op, "Model", 1000L);
+                inventory.add(vehicle, random.nextBoolean());
+                held.add(vehicle);
+            } else if (choice < 6) {
+                inventory.remove(held.remove(random.nextInt(held.size())));
+            } else if (choice < 9) {
+                Vehicle vehicle = held.get(random.nextInt(held.size()));
+                boolean nowRental = inventory.flip(vehicle);
+                List<InventoryChange> changes = inventory.takeChanges();
+                InventoryChange last = changes.get(changes.size() - 1);
+                assertEquals(InventoryChange.Type.STATUS_CHANGED, last.getType());
+                assertEquals(nowRental, last.getIndex() >= inventory.salesSize());
+                replay(changes, copy);
+            } else {
+                Set<Vehicle> removing = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (int i = 0; i < 5 && !held.isEmpty(); i++) {
+                    removing.add(held.remove(random.nextInt(held.size())));
+                }
+                inventory.removeAll(removing);
+            }
+            replay(inventory.takeChanges(), copy);
+            assertEquals(inventory.all(), copy);
+        }
+
+        inventory.setRecording(false);
+        inventory.add(new Sedan("Unrecorded", "Model", 1000L), false);
+        assertEquals(List.of(), inventory.takeChanges());
+    }
+
+    // Expected: A Vehicle with the ID of a held Vehicle is not treated as held.
+    @Test
+    void otherVehicleWithSameIdIsNotHeld() {
+        VehicleInventory inventory = new VehicleInventory(false);
+        Vehicle vehicle = new Sedan("V001", "Model", 1000L);
+        Vehicle sameId = new Sedan(" v001", "Model", 1000L);
+        inventory.add(vehicle, false);
+
+        assertTrue(inventory.containsKey("v001"));
+        assertFalse(inventory.contains(sameId));
+        assertFalse(inventory.remove(sameId));
+        assertThrows(IllegalArgumentException.class, () -> inventory.flip(sameId));
+        assertEquals(List.of(vehicle), inventory.all());
+    }
+}
@@ -0,0 +1,231 @@
+package javafiles.gui;
+
+import javafiles.domainfiles.Company;
+import javafiles.domainfiles.Dealership;
+import javafiles.domainfiles.Vehicle;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedInventoryListTest {
+
+    /**
+     * Creates and returns a Dealership holding count vehicles, with IDs starting at prefix + 0.
+     *
+     * @param id The dealer ID of the Dealership.
+     * @param prefix The start of the ID of each vehicle.
+     * @param count The number of vehicles held.
+     * @return The newly created Dealership.
+     */
+    private static Dealership dealership(String id, String prefix, int count) throws Exception {
+        Dealership dealership = new Dealership(id, "Dealer " + id);
+        for (int i = 0; i < count; i++) {
+            dealership.manualVehicleAdd(prefix + i, "Make", "Model " + (i % 7), (long) (1000 + i), null, "sedan", "dollars");
+        }
+        return dealership;
+    }
+
+    /**
+     * Creates and returns a Company holding the given Dealerships, in order.
+     *
+     * @param dealerships The Dealerships added to the Company.
+     * @return The newly created Company.
+     */
+    private static Company company(List<Dealership> dealerships) {
+        Company company = new Company();
+        for (Dealership dealership : dealerships) {company.addDealership(dealership);}
+        return company;
+    }
+
+    // Expected: The rows of several dealerships, empty ones included, are shown in order across pages.
+    @Test
+    void rowsFollowInventoriesAcrossPages() throws Exception {
+        List<Dealership> dealerships = List.of(dealership("D1", "A", 700), dealership("D2", "B", 0),
+                dealership("D3", "C", 300));
+        PagedInventoryList<ViewInventoryController.VehicleRow> rows = PagedInventoryList.forCompany(company(dealerships), Runnable::run);
+
+        List<Vehicle> expected = new ArrayList<>();
+        for (Dealership dealership : dealerships) {expected.addAll(dealership.getTotalInventory());}
+        assertEquals(expected.size(), rows.size());
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < rows.size(); i++) {
+                assertSame(expected.get(i), rows.get(i).getVehicle());
+                assertEquals(i < 700 ? "D1" : "D3", rows.get(i).getDealershipId());
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> rows.get(1000));
+        assertThrows(UnsupportedOperationException.class, () -> rows.remove(0));
+    }
+
+    /**
+     * Applies the changes a list reports to a copy of the Vehicles it shows, checking that each
+     * removed row is the one in the copy.
+     */
+    private static <E> void replay(ListChangeListener.Change<? extends E> change, List<Vehicle> copy,
+                                   Function<? super E, Vehicle> vehicleOf) {
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                List<Vehicle> old = new ArrayList<>(copy.subList(from, change.getTo()));
+                for (int i = from; i < change.getTo(); i++) {copy.set(change.getPermutation(i), old.get(i - from));}
+                continue;
+            }
+            if (change.wasRemoved()) {
+                List<Vehicle> removed = copy.subList(from, from + change.getRemovedSize());
+                assertEquals(removed, change.getRemoved().stream().map(vehicleOf).toList());
+                removed.clear();
+            }
+            if (change.wasAdded()) {copy.addAll(from, change.getAddedSubList().stream().map(vehicleOf).toList());}
+        }
+    }
+
+    // Expected: Adds, removals, rental changes and transfers between the dealerships of open lists
+    // are applied in place, sorted or not, so a copy kept from their change events matches them.
+    @Test
+    void changesAreAppliedInPlace() throws Exception {
+        Dealership first = dealership("D1", "A", 500);
+        Dealership second = dealership("D2", "B", 0);
+        Dealership third = dealership("D3", "C", 200);
+        first.setRentingVehicles(true);
+        PagedInventoryList<ViewInventoryController.VehicleRow> rows =
+                PagedInventoryList.forCompany(company(List.of(first, second, third)), Runnable::run);
+        PagedInventoryList<Vehicle> vehicles = PagedInventoryList.forDealership(first, Runnable::run);
+        List<Vehicle> rowCopy = new ArrayList<>(rows.stream().map(ViewInventoryController.VehicleRow::getVehicle).toList());
+        List<Vehicle> vehicleCopy = new ArrayList<>(vehicles);
+        rows.addListener((ListChangeListener<ViewInventoryController.VehicleRow>) change ->
+                replay(change, rowCopy, ViewInventoryController.VehicleRow::getVehicle));
+        vehicles.addListener((ListChangeListener<Vehicle>) change -> replay(change, vehicleCopy, vehicle -> vehicle));
+
+        Random random = new Random(3);
+        Comparator<Vehicle> byPrice = Comparator.comparing(Vehicle::getVehiclePrice);
+        Comparator<ViewInventoryController.VehicleRow> rowsByModel = Comparator.comparing(
+                row -> row.getVehicle().getVehicleModel());
+        for (int op = 0; op < 400; op++) {
+            if (op == 100) {
+                vehicles.sort(byPrice);
+                rows.sort(rowsByModel);
+            } else if (op == 300) {
+                vehicles.sort(null);
+            }
+            List<Vehicle> held = first.getTotalInventory();
+            Vehicle vehicle = held.get(random.nextInt(held.size()));
+            switch (random.nextInt(5)) {
+                case 0 -> first.manualVehicleAdd("N" + op, "Make", "Model " + (op % 5), 500L + op, null, "sedan", "dollars");
+                case 1 -> first.removeVehicleFromInventory(vehicle);
+                case 2 -> first.updateVehicleRental(vehicle);
+                case 3 -> first.dealershipVehicleTransfer(random.nextBoolean() ? second : third, vehicle);
+                default -> first.dealershipVehicleTransfer(second, List.of(vehicle, held.get(random.nextInt(held.size()))));
+            }
+
+            assertEquals(new ArrayList<>(vehicles), vehicleCopy);
+            List<Vehicle> shown = new ArrayList<>(rows.stream().map(ViewInventoryController.VehicleRow::getVehicle).toList());
+            assertEquals(shown, rowCopy);
+        }
+
+        List<Vehicle> expected = new ArrayList<>(first.getTotalInventory());
+        assertEquals(expected, vehicleCopy);
+        for (Dealership dealership : List.of(second, third)) {expected.addAll(dealership.getTotalInventory());}
+        expected.sort(Comparator.comparing(Vehicle::getVehicleModel));
+        assertEquals(expected.stream().map(Vehicle::getVehicleModel).toList(),
+                rowCopy.stream().map(Vehicle::getVehicleModel).toList());
+        assertEquals(new HashSet<>(expected), new HashSet<>(rowCopy));
+
+        rows.sort(null);
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.indexOfVehicle(rows.get(i).getVehicle()), i);
+        }
+    }
+
+    // Expected: The rows of a dealership added to the company later are added after the others,
+    // or in order while sorted, and its later changes are followed.
+    @Test
+    void dealershipsAddedLaterAreShown() throws Exception {
+        Company company = company(List.of(dealership("D1", "A", 300)));
+        PagedInventoryList<ViewInventoryController.VehicleRow> rows = PagedInventoryList.forCompany(company, Runnable::run);
+        List<Vehicle> rowCopy = new ArrayList<>(rows.stream().map(ViewInventoryController.VehicleRow::getVehicle).toList());
+        rows.addListener((ListChangeListener<ViewInventoryController.VehicleRow>) change ->
+                replay(change, rowCopy, ViewInventoryController.VehicleRow::getVehicle));
+
+        Dealership second = dealership("D2", "B", 100);
+        company.addDealership(second);
+        assertEquals(400, rows.size());
+        assertEquals("D2", rows.get(399).getDealershipId());
+
+        rows.sort(Comparator.comparing(row -> row.getVehicle().getVehiclePrice()));
+        Dealership third = dealership("D3", "C", 50);
+        company.addDealership(third);
+        third.removeVehicleFromInventory(third.getTotalInventory().get(0));
+        second.manualVehicleAdd("N1", "Make", "Model", 1L, null, "sedan", "dollars");
+
+        assertEquals(450, rows.size());
+        assertEquals("N1", rows.get(0).getVehicleId());
+        List<Vehicle> shown = new ArrayList<>(rows.stream().map(ViewInventoryController.VehicleRow::getVehicle).toList());
+        assertEquals(shown, rowCopy);
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).getVehiclePrice() <= rows.get(i).getVehiclePrice());
+        }
+    }
+
+    // Expected: Changes made on another thread are only applied once the list's executor runs them,
+    // and the rows shown until then are those of the inventory before the changes.
+    @Test
+    void changesFromOtherThreadsWaitForExecutor() throws Exception {
+        Dealership dealership = dealership("D1", "V", 300);
+        List<Runnable> tasks = Collections.synchronizedList(new ArrayList<>());
+        PagedInventoryList<Vehicle> vehicles = PagedInventoryList.forDealership(dealership, tasks::add);
+        List<Vehicle> before = new ArrayList<>(vehicles);
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 50; i++) {
+                    dealership.removeVehicleFromInventory(dealership.getInventorySnapshot().get(i));
+                    dealership.manualVehicleAdd("N" + i, "Make", "Model", 500L + i, null, "sedan", "dollars");
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        writer.start();
+        writer.join();
+
+        assertEquals(before, new ArrayList<>(vehicles));
+        assertFalse(tasks.isEmpty());
+        tasks.forEach(Runnable::run);
+        assertEquals(dealership.getTotalInventory(), new ArrayList<>(vehicles));
+    }
+
+    // Expected: Sorting reorders the rows, reports a permutation, and a null comparator restores inventory order.
+    @Test
+    void sortPermutesRows() throws Exception {
+        Dealership dealership = dealership("D1", "V", 600);
+        PagedInventoryList<Vehicle> vehicles = PagedInventoryList.forDealership(dealership, Runnable::run);
+        List<Vehicle> inventory = new ArrayList<>(dealership.getTotalInventory());
+        List<int[]> permutations = new ArrayList<>();
+        vehicles.addListener((ListChangeListener<Vehicle>) change -> {
+            while (change.next()) {
+                assertTrue(change.wasPermutated());
+                int[] permutation = new int[change.getTo()];
+                for (int i = 0; i < permutation.length; i++) {permutation[i] = change.getPermutation(i);}
+                permutations.add(permutation);
+            }
+        });
+
+        Comparator<Vehicle> byPrice = Comparator.comparing(Vehicle::getVehiclePrice).reversed();
+        vehicles.sort(byPrice);
+        List<Vehicle> sorted = new ArrayList<>(inventory);
+        sorted.sort(byPrice);
+        assertEquals(sorted, new ArrayList<>(vehicles));
+        assertEquals(1, permutations.size());
+        for (int i = 0; i < inventory.size(); i++) {
+            assertSame(inventory.get(i), vehicles.get(permutations.get(0)[i]));
+        }
+
+        vehicles.sort(null);
+        assertEquals(inventory, new ArrayList<>(vehicles));
+        assertEquals(2, permutations.size());
+    }
+}